@@ -0,0 +1,176 @@
+package benchmark;
+
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import binaryHeap.ConcurrentLFUCache;
+import binaryHeap.LFUCache;
+import binaryHeap.LFUCacheBucketed;
+import linkedList.ConcurrentLRUCache;
+import linkedList.EvictionPolicy;
+import linkedList.LRUCache;
+import linkedList.LRUCacheOffHeap;
+import linkedList.LRUCachePlain;
+import linkedList.LRUCacheReadBuffered;
+import linkedList.LRUCacheTinyLFU;
+import linkedList.LoadingLRUCache;
+import utils.IntCache;
+
+/**
+ * JMH benchmark replaying the same access traces against every int cache of the repository, at several capacities, so
+ * that a change to any cache can be checked against the rest.
+ * <p>
+ * Every invocation replays the next access of the trace as "read the key if cached, otherwise set it", with a single
+ * getOrDefault() that tells hits from misses without an exception. The cache lives for the whole trial and the trace
+ * wraps around, so warm-up iterations also fill the cache and measurements see its steady state. Reported are:
+ * - throughput in accesses per second, with the error over forks and iterations
+ * - hits and misses summed over the measured iterations, the hit ratio being hits / (hits + misses)
+ * - allocation per access as gc.alloc.rate.norm, from the GC profiler added by main()
+ * <p>
+ * The cache, capacity and trace parameters take the names below, a trace may also be the path of a text file holding
+ * one key per line, see CacheTraces.read(). Usage, with any JMH options:
+ * java -cp target/classes:[dependencies] benchmark.CacheTraceBenchmark -p cache=LRUCachePlain,ARC -p trace=my.trace
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class CacheTraceBenchmark {
+
+    private static final int TRACE_SIZE = 500_000;
+    private static final int VALUE = 0, MISS = -1;
+
+    private interface CacheFactory {
+        IntCache create(int capacity) throws Exception;
+    }
+
+    private static Map<String, CacheFactory> cacheFactories() {
+        Map<String, CacheFactory> factories = new LinkedHashMap<>();
+        factories.put("LRUCache", LRUCache::new);
+        factories.put("LRUCachePlain", LRUCachePlain::new);
+        factories.put("ARC", capacity -> new LRUCachePlain(capacity, EvictionPolicy.ARC));
+        factories.put("2Q", capacity -> new LRUCachePlain(capacity, EvictionPolicy.TWO_QUEUE));
+        factories.put("CLOCK-Pro", capacity -> new LRUCachePlain(capacity, EvictionPolicy.CLOCK_PRO));
+        factories.put("ConcurrentLRUCache", ConcurrentLRUCache::new);
+        factories.put("LRUCacheReadBuffered", LRUCacheReadBuffered::new);
+        factories.put("LRUCacheOffHeap", LRUCacheOffHeap::new);
+        factories.put("LRUCacheTinyLFU", LRUCacheTinyLFU::new);
+        factories.put("LoadingLRUCache", capacity -> new LoadingLRUCache(capacity, key -> key));
+        factories.put("LFUCache", LFUCache::new);
+        factories.put("LFUCacheBucketed", LFUCacheBucketed::new);
+        factories.put("ConcurrentLFUCache", ConcurrentLFUCache::new);
+        return factories;
+    }
+
+    /**
+     * Synthetic trace of the given name, otherwise the trace file at that path
+     */
+    private static CacheTraces.Trace trace(String name) throws Exception {
+        switch (name) {
+            case "zipf-0.8":
+                return CacheTraces.zipf(TRACE_SIZE, 100_000, 0.8);
+            case "zipf-0.99":
+                return CacheTraces.zipf(TRACE_SIZE, 100_000, 0.99);
+            case "scan":
+                return CacheTraces.scan(TRACE_SIZE, 10_000, 5_000, 2_000);
+            case "loop":
+                return CacheTraces.loop(TRACE_SIZE, 12_000);
+            case "hotspot":
+                return CacheTraces.shiftingHotspot(TRACE_SIZE, 100_000, 2_000, 100_000);
+            default:
+                return CacheTraces.read(Paths.get(name));
+        }
+    }
+
+    @Param({"LRUCache", "LRUCachePlain", "ARC", "2Q", "CLOCK-Pro", "ConcurrentLRUCache", "LRUCacheReadBuffered",
+            "LRUCacheOffHeap", "LRUCacheTinyLFU", "LoadingLRUCache", "LFUCache", "LFUCacheBucketed",
+            "ConcurrentLFUCache"})
+    public String cache;
+
+    @Param({"1000", "10000"})
+    public int capacity;
+
+    @Param({"zipf-0.8", "zipf-0.99", "scan", "loop", "hotspot"})
+    public String trace;
+
+    private IntCache intCache;
+    private int[] keys;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        CacheFactory factory = cacheFactories().get(this.cache);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown cache " + this.cache + ", pick from "
+                    + cacheFactories().keySet());
+        }
+        this.intCache = factory.create(this.capacity);
+        this.keys = trace(this.trace).keys;
+        this.cursor = 0;
+    }
+
+    /**
+     * Hits and misses, reported by JMH next to the throughput. Events are summed, so a ratio cannot be one of them.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class HitCounters {
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.hits = 0;
+            this.misses = 0;
+        }
+    }
+
+    @Benchmark
+    public int access(HitCounters counters) {
+        int key = this.keys[this.cursor];
+        if (++this.cursor == this.keys.length) this.cursor = 0;
+        int value = this.intCache.getOrDefault(key, MISS);
+        if (value == MISS) {
+            this.intCache.set(key, VALUE);
+            counters.misses++;
+        } else {
+            counters.hits++;
+        }
+        return value;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CacheTraceBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
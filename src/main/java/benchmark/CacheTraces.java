@@ -0,0 +1,101 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import utils.FunIntAlgorithm;
+
+/**
+ * Key access traces to replay against caches, synthetic or read from files.
+ * <p>
+ * Each synthetic trace stresses a different weakness of a policy:
+ * - Zipf: a few very popular keys and a long tail, the typical shape of real traffic
+ * - scan: a popular working set interrupted by one-off sequential scans, which flush a pure LRU cache
+ * - loop: the same keys cycled in order, slightly more of them than the cache holds, the worst case of LRU
+ * - shifting hotspot: the popular keys move every phase, so a policy must also forget what was popular
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class CacheTraces {
+
+    /**
+     * A named trace, so that reports say what was replayed
+     */
+    public static final class Trace {
+        public final String name;
+        public final int[] keys;
+
+        public Trace(String name, int[] keys) {
+            this.name = name;
+            this.keys = keys;
+        }
+    }
+
+    public static Trace zipf(int size, int keySpace, double skew) {
+        return new Trace(String.format("Zipf(%.2f) over %,d keys", skew, keySpace),
+                FunIntAlgorithm.genZipfIntArr(size, keySpace, skew));
+    }
+
+    /**
+     * Zipf(0.9) over the hot keys, interrupted every scanEvery accesses by scanLength keys never seen again
+     */
+    public static Trace scan(int size, int hotKeys, int scanEvery, int scanLength) {
+        int[] hot = FunIntAlgorithm.genZipfIntArr(size, hotKeys, 0.9);
+        int[] keys = new int[size];
+        int scanKey = hotKeys, h = 0;
+        for (int i = 0; i < size; ) {
+            if (i > 0 && i % scanEvery == 0) for (int j = 0; j < scanLength && i < size; j++) keys[i++] = scanKey++;
+            else keys[i++] = hot[h++];
+        }
+        return new Trace(String.format("Scan of %,d every %,d", scanLength, scanEvery), keys);
+    }
+
+    public static Trace loop(int size, int loopLength) {
+        int[] keys = new int[size];
+        for (int i = 0; i < size; i++) keys[i] = i % loopLength;
+        return new Trace(String.format("Loop over %,d keys", loopLength), keys);
+    }
+
+    /**
+     * 90% of the accesses go uniformly to a window of hotKeys keys, the rest uniformly to the whole key space. The
+     * window jumps to a random place every phaseLength accesses.
+     */
+    public static Trace shiftingHotspot(int size, int keySpace, int hotKeys, int phaseLength) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] keys = new int[size];
+        int hotStart = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % phaseLength == 0) hotStart = random.nextInt(keySpace - hotKeys + 1);
+            keys[i] = random.nextInt(10) < 9 ? hotStart + random.nextInt(hotKeys) : random.nextInt(keySpace);
+        }
+        return new Trace(String.format("Hotspot of %,d moving every %,d", hotKeys, phaseLength), keys);
+    }
+
+    /**
+     * Read a trace from a text file holding one key per line (the first integer of the line counts, so that logs of
+     * the form "key op ..." work as they are). Blank lines and lines starting with # are skipped.
+     */
+    public static Trace read(Path file) throws IOException {
+        int[] keys = new int[1 << 16];
+        int size = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') continue;
+                int end = 0;
+                while (end < line.length() && !Character.isWhitespace(line.charAt(end)) && line.charAt(end) != ',')
+                    end++;
+                if (size == keys.length) keys = Arrays.copyOf(keys, size << 1);
+                keys[size++] = Integer.parseInt(line.substring(0, end));
+            }
+        }
+        return new Trace(file.getFileName().toString(), Arrays.copyOf(keys, size));
+    }
+}
@@ -0,0 +1,427 @@
+package binaryHeap;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+import utils.CacheStats;
+import utils.FunIntAlgorithm;
+import utils.IntCache;
+import utils.StatsCounter;
+
+/**
+ * A thread-safe, approximate LFU (Least Frequently Used) cache built for throughput.
+ * <p>
+ * LFUCache and LFUCacheBucketed keep an exact usage count per entry and a total order over all entries, behind no
+ * lock at all, and their counts only ever grow: a key popular yesterday stays cached forever. Here, as in Redis:
+ * <p>
+ * - every entry has a one-byte counter, bumped on access and saturating at 255
+ * - all counters of a shard are halved every few accesses per entry, so that old popularity fades away
+ * - the victim is the least used of a few randomly sampled entries, not the least used of all
+ * - the keys are split across shards, each with its own lock
+ * <p>
+ * Sampling five entries finds one among the least used fifth with probability 1 - 0.8^5 = 67%, which is close enough
+ * to LFU in practice while making eviction O(1) without any ordering to maintain on a hit.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://redis.io/docs/latest/develop/reference/eviction/
+ */
+public class ConcurrentLFUCache implements IntCache {
+
+    /**
+     * - Discussion -
+     * A shard keeps its entries in dense parallel arrays (keys, values, counters), so that a random slot below the
+     * size is always an entry and sampling costs one random number per candidate. An evicted entry is replaced by the
+     * last one to keep the arrays dense. Keys are found through an open addressing index from key to slot, with
+     * linear probing and backward shift deletion, twice as long as the capacity, and every slot remembers its position
+     * in the index so that evicting needs no lookup. No node objects are allocated.
+     * <p>
+     * Unlike an LRU hit, an LFU hit does not re-order anything, it only bumps a counter. Reads therefore use the
+     * optimistic mode of a StampedLock: they look the key up without locking and only retry under the read lock if a
+     * writer got in meanwhile. The counter is bumped without any lock, so concurrent bumps may get lost and, rarely, a
+     * bump may land on the entry that just took over the slot. Both only make the counts a little more approximate.
+     * <p>
+     * The shard of a key comes from the low bits of a mixed hash, its home index slot from the high bits, so that the
+     * keys of a shard spread over its whole index.
+     */
+
+    private static final int DEFAULT_SHARD_COUNT = 64;
+    private static final int SAMPLE_SIZE = 5;             // the maxmemory-samples default of Redis
+    private static final int NEW_ENTRY_COUNT = 5;         // a head start so that new entries survive the next samples
+    private static final int MAX_COUNT = 255;
+    private static final int AGING_ACCESSES_PER_ENTRY = 10;
+
+    private static final class Shard {
+        final StampedLock lock = new StampedLock();
+        final int capacity;
+        final int[] keys;
+        final int[] values;
+        final byte[] counts;   // unsigned
+        final int[] index;     // slot + 1 of the key homed at each position, 0 if free
+        final int[] positions; // index position of each slot, so that eviction needs no lookup
+        final int indexShift;  // 32 - log2(index length)
+        final int agingPeriod;
+        int size;
+        int accesses;          // since the last halving, bumped without a lock by readers
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.keys = new int[capacity];
+            this.values = new int[capacity];
+            this.counts = new byte[capacity];
+            this.positions = new int[capacity];
+            int indexLength = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1; // at least twice the capacity
+            this.index = new int[indexLength];
+            this.indexShift = 32 - Integer.numberOfTrailingZeros(indexLength);
+            this.agingPeriod = capacity * AGING_ACCESSES_PER_ENTRY;
+        }
+
+        int home(int hash) {
+            return hash >>> this.indexShift;
+        }
+
+        /**
+         * Slot of the given key, or -1. Never loops forever, even when racing with a writer.
+         */
+        int findSlot(int key, int hash) {
+            int mask = this.index.length - 1;
+            int position = home(hash);
+            for (int probes = 0; probes < this.index.length; probes++) {
+                int slot = this.index[position] - 1;
+                if (slot < 0 || this.keys[slot] == key) return slot;
+                position = (position + 1) & mask;
+            }
+            return -1;
+        }
+
+        void bump(int slot) {
+            int count = this.counts[slot] & 0xFF;
+            if (count < MAX_COUNT) this.counts[slot] = (byte) (count + 1);
+        }
+
+        void insert(int key, int hash, int value) {
+            int slot = this.size++;
+            this.keys[slot] = key;
+            this.values[slot] = value;
+            this.counts[slot] = NEW_ENTRY_COUNT;
+            int mask = this.index.length - 1;
+            int position = home(hash);
+            while (this.index[position] != 0) position = (position + 1) & mask;
+            this.index[position] = slot + 1;
+            this.positions[slot] = position;
+        }
+
+        /**
+         * Evict the least used of a few random entries, moving the last entry into its slot
+         */
+        void evictSampled(ThreadLocalRandom random) {
+            int victim = random.nextInt(this.size);
+            for (int i = 1; i < SAMPLE_SIZE; i++) {
+                int candidate = random.nextInt(this.size);
+                if ((this.counts[candidate] & 0xFF) < (this.counts[victim] & 0xFF)) victim = candidate;
+            }
+            deletePosition(this.positions[victim]);
+            int last = --this.size;
+            if (victim != last) {
+                this.index[this.positions[last]] = victim + 1;
+                this.positions[victim] = this.positions[last];
+                this.keys[victim] = this.keys[last];
+                this.values[victim] = this.values[last];
+                this.counts[victim] = this.counts[last];
+            }
+        }
+
+        /**
+         * Backward shift deletion: pull later entries of the probe run into the hole unless that would move them
+         * before their home
+         */
+        void deletePosition(int position) {
+            int mask = this.index.length - 1;
+            int hole = position;
+            for (int next = (hole + 1) & mask; this.index[next] != 0; next = (next + 1) & mask) {
+                int home = home(mix(this.keys[this.index[next] - 1]));
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    this.index[hole] = this.index[next];
+                    this.positions[this.index[next] - 1] = hole;
+                    hole = next;
+                }
+            }
+            this.index[hole] = 0;
+        }
+
+        /**
+         * Halve every counter once enough accesses went by. Called with the write lock held.
+         */
+        void ageIfDue() {
+            if (this.accesses < this.agingPeriod) return;
+            for (int slot = 0; slot < this.size; slot++) this.counts[slot] = (byte) ((this.counts[slot] & 0xFF) >>> 1);
+            this.accesses = 0;
+        }
+    }
+
+    private final Shard[] shards;
+    private final int capacity;
+    private volatile StatsCounter statsCounter = StatsCounter.disabled();
+
+    public ConcurrentLFUCache(final int capacity) throws Exception {
+        this(capacity, DEFAULT_SHARD_COUNT);
+    }
+
+    public ConcurrentLFUCache(final int capacity, final int shardCount) throws Exception {
+        if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
+        if (shardCount <= 0) throw new Exception("Shard count must be positive!");
+        int shards = Integer.highestOneBit(shardCount * 2 - 1); // rounded up to a power of two
+        while (shards > 1 && shards * SAMPLE_SIZE > capacity) shards >>>= 1; // enough entries per shard to sample
+        this.capacity = capacity;
+        this.shards = new Shard[shards];
+        for (int i = 0; i < shards; i++) { // the first capacity % shards shards take the remainder, one each
+            this.shards[i] = new Shard(capacity / shards + (i < capacity % shards ? 1 : 0));
+        }
+    }
+
+    /* MurmurHash3 finalizer */
+    static int mix(int key) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private Shard shardFor(int hash) {
+        return this.shards[hash & (this.shards.length - 1)];
+    }
+
+    /**
+     * Return the value of the key, or -1 if it is not cached (the LintCode contract of the other LFU caches)
+     */
+    @Override
+    public int get(int key) {
+        return getOrDefault(key, -1);
+    }
+
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        StatsCounter statsCounter = this.statsCounter;
+        long startTime = statsCounter.isRecordingLatency() ? System.nanoTime() : 0L;
+        int hash = mix(key);
+        Shard shard = shardFor(hash);
+        StampedLock lock = shard.lock;
+        long stamp = lock.tryOptimisticRead();
+        int slot = shard.findSlot(key, hash);
+        int value = slot < 0 ? 0 : shard.values[slot];
+        if (!lock.validate(stamp)) { // a writer got in, look again under the read lock
+            stamp = lock.readLock();
+            try {
+                slot = shard.findSlot(key, hash);
+                value = slot < 0 ? 0 : shard.values[slot];
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (slot >= 0) shard.bump(slot); // racy on purpose, see the discussion
+        if (++shard.accesses >= shard.agingPeriod) tryAge(shard);
+        if (slot < 0) statsCounter.recordMiss();
+        else statsCounter.recordHit();
+        if (statsCounter.isRecordingLatency()) statsCounter.recordLatency(System.nanoTime() - startTime);
+        return slot < 0 ? defaultValue : value;
+    }
+
+    @Override
+    public void set(int key, int value) {
+        int hash = mix(key);
+        Shard shard = shardFor(hash);
+        long stamp = shard.lock.writeLock();
+        try {
+            int slot = shard.findSlot(key, hash);
+            if (slot >= 0) {
+                shard.values[slot] = value;
+                shard.bump(slot);
+            } else {
+                if (shard.size == shard.capacity) {
+                    shard.evictSampled(ThreadLocalRandom.current());
+                    this.statsCounter.recordEviction();
+                }
+                shard.insert(key, hash, value);
+            }
+            shard.accesses++;
+            shard.ageIfDue();
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(int key) {
+        int hash = mix(key);
+        Shard shard = shardFor(hash);
+        long stamp = shard.lock.tryOptimisticRead();
+        boolean found = shard.findSlot(key, hash) >= 0;
+        if (shard.lock.validate(stamp)) return found;
+        stamp = shard.lock.readLock();
+        try {
+            return shard.findSlot(key, hash) >= 0;
+        } finally {
+            shard.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sum of the shard sizes, each read under its own lock, so not a point in time view under concurrent writes
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (Shard shard : this.shards) {
+            long stamp = shard.lock.readLock();
+            try {
+                size += shard.size;
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void recordStats(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.statsCounter.snapshot();
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    public int shardCount() {
+        return this.shards.length;
+    }
+
+    /**
+     * Halve the counters from a read, unless a writer holds the lock, in which case the next access tries again
+     */
+    private static void tryAge(Shard shard) {
+        long stamp = shard.lock.tryWriteLock();
+        if (stamp == 0L) return;
+        try {
+            shard.ageIfDue();
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /* Benchmark (start) */
+
+    /**
+     * Replay the Zipf distributed keys (a get, and a set on a miss) split evenly across threads and return the
+     * throughput in operations per second
+     */
+    private static long measureThroughput(IntCache cache, int[] keys, int threads) throws Exception {
+        int opsPerThread = keys.length / threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = t * opsPerThread;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = from; i < from + opsPerThread; i++) {
+                        if (cache.getOrDefault(keys[i], -1) == -1) cache.set(keys[i], keys[i]);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startTime;
+        pool.shutdown();
+        return (long) opsPerThread * threads * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private static double hitRate(IntCache cache, int[] keys) {
+        int hits = 0;
+        for (int key : keys) {
+            if (cache.getOrDefault(key, -1) != -1) hits++;
+            else cache.set(key, key);
+        }
+        return 100.0 * hits / keys.length;
+    }
+
+    /**
+     * LFUCacheBucketed behind one lock, the straightforward way to share it across threads
+     */
+    private static IntCache synchronizedCache(IntCache cache) {
+        return new IntCache() {
+            public synchronized int get(int key) throws Exception {
+                return cache.get(key);
+            }
+
+            public synchronized int getOrDefault(int key, int defaultValue) {
+                return cache.getOrDefault(key, defaultValue);
+            }
+
+            public synchronized void set(int key, int value) {
+                cache.set(key, value);
+            }
+
+            public synchronized boolean contains(int key) {
+                return cache.contains(key);
+            }
+
+            public synchronized int size() {
+                return cache.size();
+            }
+        };
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of concurrent LFU caches.");
+        ConcurrentLFUCache cache = new ConcurrentLFUCache(10, 1);
+        System.out.println("\nSet keys 0 to 9 into a cache of capacity 10, read keys 0 to 4 ten times each ...");
+        for (int key = 0; key < 10; key++) cache.set(key, key * 10);
+        for (int round = 0; round < 10; round++) for (int key = 0; key < 5; key++) cache.get(key);
+        System.out.println("Set keys 10 to 14, evicting among sampled entries ...");
+        for (int key = 10; key < 15; key++) cache.set(key, key * 10);
+        StringBuilder cached = new StringBuilder();
+        for (int key = 0; key < 15; key++) if (cache.contains(key)) cached.append(key).append(' ');
+        System.out.println("Cached keys: " + cached);
+
+        System.out.println("\n/* Hit rate (%), capacity 10,000, Zipf(0.9) over 1,000,000 keys, moving halfway */");
+        int[] keys = FunIntAlgorithm.genZipfIntArr(2_000_000, 1_000_000, 0.9);
+        for (int i = keys.length / 2; i < keys.length; i++) keys[i] += 1_000_000; // a new set of popular keys
+        System.out.printf("%-24s%-24s\n", "LFUCacheBucketed", "ConcurrentLFUCache");
+        System.out.printf("%-24.2f%-24.2f\n", hitRate(new LFUCacheBucketed(10_000), keys),
+                hitRate(new ConcurrentLFUCache(10_000), keys));
+
+        System.out.println("\n/* Throughput (ops/sec), capacity 100,000, Zipf(0.9) over 1,000,000 keys */");
+        keys = FunIntAlgorithm.genZipfIntArr(4_000_000, 1_000_000, 0.9);
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        System.out.printf("%-10s%-32s%-24s\n", "Threads", "synchronized LFUCacheBucketed", "ConcurrentLFUCache");
+        for (int threads : new int[]{1, 4, 16}) {
+            long lockedOps = measureThroughput(synchronizedCache(new LFUCacheBucketed(100_000)), keys, threads);
+            long shardedOps = measureThroughput(new ConcurrentLFUCache(100_000), keys, threads);
+            System.out.printf("%-10d%-32s%-24s\n", threads, formatter.format(lockedOps), formatter.format(shardedOps));
+        }
+        System.out.println("(on " + Runtime.getRuntime().availableProcessors() + " processors)");
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
@@ -0,0 +1,96 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrentLFUCacheTest {
+
+    @Test
+    public final void shouldReturnCachedValuesAndMinusOneOnAMiss() throws Exception {
+        ConcurrentLFUCache cache = new ConcurrentLFUCache(10);
+        cache.set(1, 10);
+        cache.set(2, 20);
+        cache.set(1, 11);
+
+        Assert.assertEquals(11, cache.get(1));
+        Assert.assertEquals(20, cache.get(2));
+        Assert.assertEquals(-1, cache.get(3));
+        Assert.assertEquals(7, cache.getOrDefault(3, 7));
+        Assert.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public final void shouldHoldExactlyItsCapacityWithTheDefaultShardCount() throws Exception {
+        for (int capacity : new int[]{1_000, 1_001, 999}) {
+            ConcurrentLFUCache cache = new ConcurrentLFUCache(capacity);
+            Assert.assertEquals(64, cache.shardCount());
+            for (int key = 0; key < 100_000; key++) {
+                cache.set(key, key);
+                Assert.assertTrue(cache.size() <= capacity);
+            }
+            Assert.assertEquals(capacity, cache.size()); // every shard filled up
+        }
+    }
+
+    @Test
+    public final void shouldKeepFrequentlyUsedEntriesThroughAFloodOfNewOnes() throws Exception {
+        ConcurrentLFUCache cache = new ConcurrentLFUCache(100, 1);
+        for (int key = 0; key < 20; key++) cache.set(key, key);
+        for (int round = 0; round < 30; round++) for (int key = 0; key < 20; key++) cache.get(key);
+        for (int key = 1_000; key < 1_500; key++) cache.set(key, key);
+
+        // a hot entry goes only if all five samples of an eviction are hot, which is rare but not impossible
+        int survivors = 0;
+        for (int key = 0; key < 20; key++) if (cache.contains(key)) survivors++;
+        Assert.assertTrue(survivors + " survivors", survivors >= 18);
+        Assert.assertEquals(100, cache.size());
+    }
+
+    @Test
+    public final void shouldForgetOldPopularityOnceItFades() throws Exception {
+        ConcurrentLFUCache cache = new ConcurrentLFUCache(100, 1);
+        for (int key = 0; key < 100; key++) cache.set(key, key);
+        for (int round = 0; round < 200; round++) for (int key = 0; key < 50; key++) cache.get(key); // old favourites
+        for (int round = 0; round < 200; round++) { // the new favourites need a slot and some reads to prove themselves
+            for (int key = 1_000; key < 1_050; key++) if (cache.getOrDefault(key, -1) == -1) cache.set(key, key);
+        }
+
+        int newFavourites = 0;
+        for (int key = 1_000; key < 1_050; key++) if (cache.contains(key)) newFavourites++;
+        Assert.assertTrue(newFavourites + " new favourites cached", newFavourites >= 45);
+    }
+
+    @Test
+    public final void shouldStayWithinCapacityAndConsistentUnderConcurrentAccess() throws Exception {
+        ConcurrentLFUCache cache = new ConcurrentLFUCache(1_000, 8);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 200_000; i++) {
+                    int key = random.nextInt(5_000);
+                    int value = cache.getOrDefault(key, -1);
+                    if (value == -1) cache.set(key, key * 2);
+                    else if (value != key * 2) throw new AssertionError("key " + key + " read " + value);
+                }
+            });
+            thread.setUncaughtExceptionHandler((failed, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        Assert.assertTrue(failures.toString(), failures.isEmpty());
+        Assert.assertTrue(cache.size() <= 1_000);
+        for (int key = 0; key < 5_000; key++) if (cache.contains(key)) Assert.assertEquals(key * 2, cache.get(key));
+    }
+}
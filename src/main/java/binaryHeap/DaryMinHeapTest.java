@@ -0,0 +1,94 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class DaryMinHeapTest {
+
+    @Test
+    public final void shouldExtractInSortedOrderForAnyArity() throws Exception {
+        Random random = new Random(17);
+        int[] keys = new int[10_000];
+        for (int i = 0; i < keys.length; i++) keys[i] = random.nextInt(1_000) - 500; // plenty of duplicates
+        int[] sorted = keys.clone();
+        Arrays.sort(sorted);
+
+        for (int arity = 2; arity <= 9; arity++) {
+            DaryMinHeap heap = new DaryMinHeap(arity, 1);
+            for (int key : keys) heap.insert(key);
+            Assert.assertEquals(keys.length, heap.size());
+            int[] extracted = new int[keys.length];
+            for (int i = 0; i < extracted.length; i++) extracted[i] = heap.extractMin();
+            Assert.assertArrayEquals(sorted, extracted);
+            Assert.assertTrue(heap.isEmpty());
+
+            DaryMinHeap heapified = new DaryMinHeap(keys, arity);
+            for (int i = 0; i < extracted.length; i++) extracted[i] = heapified.extractMin();
+            Assert.assertArrayEquals(sorted, extracted);
+        }
+    }
+
+    @Test
+    public final void shouldKeepOrderWhenInsertionsAndExtractionsInterleave() throws Exception {
+        Random random = new Random(18);
+        DaryMinHeap heap = new DaryMinHeap();
+        PriorityQueue<Integer> reference = new PriorityQueue<>();
+        for (int op = 0; op < 100_000; op++) {
+            if (reference.isEmpty() || random.nextInt(3) > 0) {
+                int key = random.nextInt();
+                heap.insert(key);
+                reference.add(key);
+            } else if (random.nextBoolean()) {
+                Assert.assertEquals((long) reference.poll(), heap.extractMin());
+            } else {
+                int key = random.nextInt();
+                Assert.assertEquals((long) reference.poll(), heap.replaceMin(key));
+                reference.add(key);
+            }
+            Assert.assertEquals(reference.size(), heap.size());
+        }
+    }
+
+    @Test
+    public final void shouldThrowOnAnEmptyHeap() throws Exception {
+        DaryMinHeap heap = new DaryMinHeap();
+        heap.insert(1);
+        heap.clear();
+        try {
+            heap.getMin();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+        try {
+            heap.extractMin();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test
+    public final void shouldOrderLongAndDoubleKeys() throws Exception {
+        long[] longs = {Long.MAX_VALUE, 3L << 40, -1L, Long.MIN_VALUE, 0L, 3L << 40};
+        LongDaryMinHeap longHeap = new LongDaryMinHeap(3, 1);
+        for (long key : longs) longHeap.insert(key);
+        long[] sortedLongs = longs.clone();
+        Arrays.sort(sortedLongs);
+        for (long key : sortedLongs) Assert.assertEquals(key, longHeap.extractMin());
+
+        double[] doubles = {0.5, Double.NEGATIVE_INFINITY, 1e300, -0.25, Double.MIN_VALUE, 0.5};
+        DoubleDaryMinHeap doubleHeap = new DoubleDaryMinHeap(doubles, 4);
+        double[] sortedDoubles = doubles.clone();
+        Arrays.sort(sortedDoubles);
+        for (double key : sortedDoubles) Assert.assertEquals(key, doubleHeap.extractMin(), 0.0);
+        try {
+            doubleHeap.insert(Double.NaN);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * DaryMinHeap for primitive double keys, e.g. distances in Dijkstra or A*.
+ * Same layout and hole-based sifting, see DaryMinHeap. Keys are compared with plain < and >=, which is what
+ * keeps the loops as cheap as the int version, so NaN is refused: it would compare false both ways and break
+ * the heap order silently. -0.0 and 0.0 count as equal.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class DoubleDaryMinHeap {
+
+    private final int arity;
+    private final int root; // array index of the root, arity - 1
+    private final int shift; // log2(arity) when arity is a power of two, -1 otherwise
+    private double[] heapArray;
+    private int heapSize;
+
+    public DoubleDaryMinHeap() {
+        this(DaryMinHeap.DEFAULT_ARITY, DaryMinHeap.DEFAULT_CAPACITY);
+    }
+
+    public DoubleDaryMinHeap(int arity) {
+        this(arity, DaryMinHeap.DEFAULT_CAPACITY);
+    }
+
+    public DoubleDaryMinHeap(int arity, int initialCapacity) {
+        if (arity < 2) throw new IllegalArgumentException("Arity must be at least 2!");
+        if (initialCapacity < 0) throw new IllegalArgumentException("Capacity cannot be negative!");
+        this.arity = arity;
+        this.root = arity - 1;
+        this.shift = Integer.bitCount(arity) == 1 ? Integer.numberOfTrailingZeros(arity) : -1;
+        this.heapArray = new double[this.root + Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Build a heap from the given elements in O(N), sifting down from the last parent to the root
+     */
+    public DoubleDaryMinHeap(double[] arr, int arity) {
+        this(arity, arr.length);
+        for (double e : arr) if (e != e) throw new IllegalArgumentException("NaN cannot be ordered!");
+        System.arraycopy(arr, 0, this.heapArray, this.root, arr.length);
+        this.heapSize = arr.length;
+        if (arr.length > 1) {
+            for (int i = parentIdx(this.root + arr.length - 1); i >= this.root; i--) siftDown(i, this.heapArray[i]);
+        }
+    }
+
+    /* With the root at d - 1, the node at index i has its children at d * (i - d + 2) ... d * (i - d + 2) + d - 1 */
+    private int parentIdx(int idx) {
+        return (this.shift >= 0 ? idx >>> this.shift : idx / this.arity) + this.root - 1;
+    }
+
+    private int firstChildIdx(int idx) {
+        return this.shift >= 0 ? (idx - this.root + 1) << this.shift : this.arity * (idx - this.root + 1);
+    }
+
+    public int size() {
+        return this.heapSize;
+    }
+
+    public boolean isEmpty() {
+        return this.heapSize == 0;
+    }
+
+    public void clear() {
+        this.heapSize = 0;
+    }
+
+    public void insert(double e) {
+        if (e != e) throw new IllegalArgumentException("NaN cannot be ordered!");
+        if (this.root + this.heapSize == this.heapArray.length) {
+            this.heapArray = Arrays.copyOf(this.heapArray, this.root + 2 * this.heapSize);
+        }
+        siftUp(this.root + this.heapSize++, e);
+    }
+
+    public double getMin() {
+        if (this.heapSize == 0) throw new NoSuchElementException("Heap is empty!");
+        return this.heapArray[this.root];
+    }
+
+    public double extractMin() {
+        double min = getMin();
+        double last = this.heapArray[this.root + --this.heapSize];
+        if (this.heapSize > 0) siftDown(this.root, last);
+        return min;
+    }
+
+    /**
+     * Replace the minimum with the given element in one sift, cheaper than extractMin() followed by insert()
+     */
+    public double replaceMin(double e) {
+        if (e != e) throw new IllegalArgumentException("NaN cannot be ordered!");
+        double min = getMin();
+        siftDown(this.root, e);
+        return min;
+    }
+
+    public String toString() {
+        return Arrays.toString(Arrays.copyOfRange(this.heapArray, this.root, this.root + this.heapSize));
+    }
+
+    /**
+     * Move the hole at idx up until the element fits, then drop the element in
+     */
+    private void siftUp(int idx, double e) {
+        double[] a = this.heapArray;
+        while (idx > this.root) {
+            int parent = parentIdx(idx);
+            if (a[parent] <= e) break;
+            a[idx] = a[parent];
+            idx = parent;
+        }
+        a[idx] = e;
+    }
+
+    /**
+     * Move the hole at idx down to the smallest child until the element fits, then drop the element in
+     */
+    private void siftDown(int idx, double e) {
+        if (this.arity == 2) {
+            siftDownBinary(idx, e);
+            return;
+        }
+        double[] a = this.heapArray;
+        int end = this.root + this.heapSize;
+        while (true) {
+            int child = firstChildIdx(idx);
+            if (child >= end) break;
+            int last = Math.min(child + this.arity, end);
+            int minChild = child;
+            double minValue = a[child];
+            for (int c = child + 1; c < last; c++) {
+                double value = a[c];
+                if (value < minValue) {
+                    minValue = value;
+                    minChild = c;
+                }
+            }
+            if (minValue >= e) break;
+            a[idx] = minValue;
+            idx = minChild;
+        }
+        a[idx] = e;
+    }
+
+    /**
+     * siftDown() for d = 2, where the loop over the children costs more than the two comparisons it makes
+     */
+    private void siftDownBinary(int idx, double e) {
+        double[] a = this.heapArray;
+        int end = this.root + this.heapSize;
+        while (true) {
+            int child = (idx - this.root + 1) << 1;
+            if (child >= end) break;
+            if (child + 1 < end && a[child + 1] < a[child]) child++;
+            double minValue = a[child];
+            if (minValue >= e) break;
+            a[idx] = minValue;
+            idx = child;
+        }
+        a[idx] = e;
+    }
+
+
+    public static void main(String[] args) {
+        System.out.println("Welcome to the rabbit hole of d-ary heaps of doubles!\n");
+        double[] keys = {2.5, -1.0, 3.75, 0.0, 1e-9, Double.POSITIVE_INFINITY};
+        DoubleDaryMinHeap heap = new DoubleDaryMinHeap(keys, 4);
+        System.out.println("Heapified: " + heap);
+        System.out.print("Extracting all: ");
+        while (!heap.isEmpty()) System.out.print(heap.extractMin() + " ");
+        System.out.println();
+        try {
+            heap.insert(Double.NaN);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Inserting NaN: " + e.getMessage());
+        }
+        System.out.println("\nAll rabbits gone.");
+    }
+}
@@ -1,12 +1,21 @@
 package binaryHeap;
 
 import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 
 import utils.FunIntAlgorithm;
 
 /**
  * A sorting algorithm with time complexity of O(NlogN) using the Min Heap data structure.
  * 
+ * The in-place variants below also offer a partial sort: only the k smallest elements get sorted, moved to the front
+ * of the array, in O(N + klogN). Heapifying the whole array bottom up costs O(N), after which each of the k smallest
+ * elements costs one extraction of O(logN). For small k that beats a full sort by far.
+ * 
+ * To extract minimums in place and still end up with them in ascending order at the front, the min heap is stored
+ * mirrored, its root in the last slot of the array: each extraction shrinks the heap by its lowest slot, which is
+ * exactly where the extracted minimum goes.
+ * 
  * @author ruifengm
  * @since 2018-Apr-22
  */
@@ -22,6 +31,193 @@ public class HeapSort extends FunIntAlgorithm {
 		// Extract the min value successively to build up the sorted array
 		for (int i=0; i<a.length; i++) a[i] = heap.extractMin();
 	}
+	
+	private static void checkK(int length, int k) {
+		if (k < 0 || k > length) throw new IllegalArgumentException("k must be within [0, " + length + "]!");
+	}
+	
+	/**
+	 * Sort the whole array in place
+	 */
+	public static void sort(int[] a) {
+		partialSort(a, a.length);
+	}
+	
+	/**
+	 * Move the k smallest elements to a[0] ... a[k-1] in ascending order, in place. The order of the rest is undefined.
+	 */
+	public static void partialSort(int[] a, int k) {
+		checkK(a.length, k);
+		int n = a.length, last = n - 1;
+		for (int i=(n-2)/2; i>=0; i--) siftDown(a, last, n, i, a[last-i]); // heapify bottom up
+		for (int j=0; j<k; j++) { // the heap now holds n-j elements, its lowest slot is a[j]
+			int min = a[last];
+			if (j < last) siftDown(a, last, n-j-1, 0, a[j]);
+			a[j] = min;
+		}
+	}
+	
+	/**
+	 * Sift the element e down from logical position i of a min heap of the given size, stored mirrored from a[last]
+	 * downwards: logical position i is physical position last-i.
+	 */
+	private static void siftDown(int[] a, int last, int size, int i, int e) {
+		while (true) {
+			int child = 2*i + 1;
+			if (child >= size) break;
+			int c = a[last-child];
+			if (child+1 < size && a[last-child-1] < c) c = a[last - ++child];
+			if (c >= e) break;
+			a[last-i] = c; // move the hole down instead of swapping
+			i = child;
+		}
+		a[last-i] = e;
+	}
+	
+	public static void sort(long[] a) {
+		partialSort(a, a.length);
+	}
+	
+	public static void partialSort(long[] a, int k) {
+		checkK(a.length, k);
+		int n = a.length, last = n - 1;
+		for (int i=(n-2)/2; i>=0; i--) siftDown(a, last, n, i, a[last-i]);
+		for (int j=0; j<k; j++) {
+			long min = a[last];
+			if (j < last) siftDown(a, last, n-j-1, 0, a[j]);
+			a[j] = min;
+		}
+	}
+	
+	private static void siftDown(long[] a, int last, int size, int i, long e) {
+		while (true) {
+			int child = 2*i + 1;
+			if (child >= size) break;
+			long c = a[last-child];
+			if (child+1 < size && a[last-child-1] < c) c = a[last - ++child];
+			if (c >= e) break;
+			a[last-i] = c;
+			i = child;
+		}
+		a[last-i] = e;
+	}
+	
+	/**
+	 * Doubles are compared with plain < and >=, so NaN, which has no place in that order, is refused up front. 
+	 * Unlike Arrays.sort, -0.0 and 0.0 count as equal.
+	 */
+	public static void sort(double[] a) {
+		partialSort(a, a.length);
+	}
+	
+	public static void partialSort(double[] a, int k) {
+		checkK(a.length, k);
+		for (double e: a) if (e != e) throw new IllegalArgumentException("NaN cannot be sorted!");
+		int n = a.length, last = n - 1;
+		for (int i=(n-2)/2; i>=0; i--) siftDown(a, last, n, i, a[last-i]);
+		for (int j=0; j<k; j++) {
+			double min = a[last];
+			if (j < last) siftDown(a, last, n-j-1, 0, a[j]);
+			a[j] = min;
+		}
+	}
+	
+	private static void siftDown(double[] a, int last, int size, int i, double e) {
+		while (true) {
+			int child = 2*i + 1;
+			if (child >= size) break;
+			double c = a[last-child];
+			if (child+1 < size && a[last-child-1] < c) c = a[last - ++child];
+			if (c >= e) break;
+			a[last-i] = c;
+			i = child;
+		}
+		a[last-i] = e;
+	}
+	
+	/**
+	 * Index permutation sort: reorder the indices (into keys) so that keys[indices[0]] <= keys[indices[1]] <= ...,
+	 * leaving keys untouched. Handy to sort several parallel arrays by one of them, or to rank without moving data.
+	 */
+	public static void sortIndices(int[] indices, int[] keys) {
+		partialSortIndices(indices, keys, indices.length);
+	}
+	
+	/**
+	 * Move the indices of the k smallest keys to indices[0] ... indices[k-1], ordered by key
+	 */
+	public static void partialSortIndices(int[] indices, int[] keys, int k) {
+		checkK(indices.length, k);
+		int n = indices.length, last = n - 1;
+		for (int i=(n-2)/2; i>=0; i--) siftDownIndex(indices, keys, last, n, i, indices[last-i]);
+		for (int j=0; j<k; j++) {
+			int min = indices[last];
+			if (j < last) siftDownIndex(indices, keys, last, n-j-1, 0, indices[j]);
+			indices[j] = min;
+		}
+	}
+	
+	private static void siftDownIndex(int[] a, int[] keys, int last, int size, int i, int e) {
+		int key = keys[e];
+		while (true) {
+			int child = 2*i + 1;
+			if (child >= size) break;
+			int c = a[last-child];
+			if (child+1 < size && keys[a[last-child-1]] < keys[c]) c = a[last - ++child];
+			if (keys[c] >= key) break;
+			a[last-i] = c;
+			i = child;
+		}
+		a[last-i] = e;
+	}
+	
+	public static void sortIndices(int[] indices, double[] keys) {
+		partialSortIndices(indices, keys, indices.length);
+	}
+	
+	public static void partialSortIndices(int[] indices, double[] keys, int k) {
+		checkK(indices.length, k);
+		for (int i: indices) if (keys[i] != keys[i]) throw new IllegalArgumentException("NaN cannot be sorted!");
+		int n = indices.length, last = n - 1;
+		for (int i=(n-2)/2; i>=0; i--) siftDownIndex(indices, keys, last, n, i, indices[last-i]);
+		for (int j=0; j<k; j++) {
+			int min = indices[last];
+			if (j < last) siftDownIndex(indices, keys, last, n-j-1, 0, indices[j]);
+			indices[j] = min;
+		}
+	}
+	
+	private static void siftDownIndex(int[] a, double[] keys, int last, int size, int i, int e) {
+		double key = keys[e];
+		while (true) {
+			int child = 2*i + 1;
+			if (child >= size) break;
+			int c = a[last-child];
+			if (child+1 < size && keys[a[last-child-1]] < keys[c]) c = a[last - ++child];
+			if (keys[c] >= key) break;
+			a[last-i] = c;
+			i = child;
+		}
+		a[last-i] = e;
+	}
+	
+	/* Benchmark (start) */
+	private static long timeArraysSort(int[] a, int k) {
+		long startTime = System.nanoTime();
+		int[] copy = a.clone();
+		Arrays.sort(copy);
+		if (copy[k-1] == 42) System.out.println();
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+	}
+	
+	private static long timePartialSort(int[] a, int k) {
+		long startTime = System.nanoTime();
+		int[] copy = a.clone();
+		partialSort(copy, k);
+		if (copy[k-1] == 42) System.out.println();
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+	}
+	/* Benchmark (end) */
 
 	public static void main(String[] args) {
 		int[] intArray = genRanIntArr(20, -50, 50);
@@ -29,10 +225,28 @@ public class HeapSort extends FunIntAlgorithm {
 		System.out.println("Welcome to the rabbit hole of heap sorting!\n"
 				+ "The integer array is \n" + Arrays.toString(intArray) + "\n");
 		
+		int[] copy = intArray.clone();
+		partialSort(copy, 5);
+		System.out.println("[O(N+klogN)] 5 smallest after partial sort: " + Arrays.toString(Arrays.copyOf(copy, 5)));
 		heapSort(intArray);
 		System.out.println("[O(NlogN) After heap sort: " + Arrays.toString(intArray));
-
 		
-		System.out.println("All rabbits gone.");
+		double[] scores = {0.25, 3.5, -1.0, 2.75, 0.5};
+		String[] names = {"alpha", "bravo", "charlie", "delta", "echo"};
+		int[] ranking = {0, 1, 2, 3, 4};
+		sortIndices(ranking, scores);
+		System.out.print("Names ranked by score through an index sort: ");
+		for (int i: ranking) System.out.print(names[i] + "(" + scores[i] + ") ");
+		System.out.println("\n");
+		
+		intArray = genRanIntArr(10_000_000, Integer.MIN_VALUE, Integer.MAX_VALUE);
+		System.out.println("/* k smallest of " + intArray.length + " random ints, including the copy (time in ms) */");
+		System.out.printf("%-12s%-16s%-16s\n", "k", "Arrays.sort", "partialSort");
+		timeArraysSort(intArray, 1); timePartialSort(intArray, 1); // so that the table does not measure the JIT
+		for (int k: new int[]{10, 1_000, 100_000, 1_000_000, intArray.length}) {
+			System.out.printf("%-12d%-16d%-16d\n", k, timeArraysSort(intArray, k), timePartialSort(intArray, k));
+		}
+		
+		System.out.println("\nAll rabbits gone.");
 	}
 }
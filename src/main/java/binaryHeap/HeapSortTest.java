@@ -0,0 +1,80 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class HeapSortTest {
+
+    @Test
+    public final void shouldPartiallySortEveryPrefixLength() throws Exception {
+        Random random = new Random(23);
+        for (int n : new int[]{0, 1, 2, 3, 10, 257}) {
+            int[] a = new int[n];
+            for (int i = 0; i < n; i++) a[i] = random.nextInt(20) - 10;
+            int[] sorted = a.clone();
+            Arrays.sort(sorted);
+            for (int k = 0; k <= n; k++) {
+                int[] copy = a.clone();
+                HeapSort.partialSort(copy, k);
+                Assert.assertArrayEquals(Arrays.copyOf(sorted, k), Arrays.copyOf(copy, k));
+                Arrays.sort(copy);
+                Assert.assertArrayEquals(sorted, copy); // a permutation of the input
+            }
+        }
+    }
+
+    @Test
+    public final void shouldSortLongsAndDoubles() throws Exception {
+        Random random = new Random(24);
+        long[] longs = new long[1_000];
+        double[] doubles = new double[1_000];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = random.nextLong();
+            doubles[i] = random.nextGaussian();
+        }
+        longs[0] = Long.MIN_VALUE;
+        doubles[0] = Double.NEGATIVE_INFINITY;
+        long[] sortedLongs = longs.clone();
+        Arrays.sort(sortedLongs);
+        double[] sortedDoubles = doubles.clone();
+        Arrays.sort(sortedDoubles);
+
+        HeapSort.sort(longs);
+        HeapSort.partialSort(doubles, 10);
+        Assert.assertArrayEquals(sortedLongs, longs);
+        Assert.assertArrayEquals(Arrays.copyOf(sortedDoubles, 10), Arrays.copyOf(doubles, 10), 0.0);
+        try {
+            HeapSort.sort(new double[]{1.0, Double.NaN});
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public final void shouldSortIndicesByKeyWithoutMovingTheKeys() throws Exception {
+        Random random = new Random(25);
+        int[] keys = new int[500];
+        double[] doubleKeys = new double[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextInt(100);
+            doubleKeys[i] = random.nextDouble();
+        }
+        int[] keysBefore = keys.clone();
+        int[] indices = new int[keys.length], doubleIndices = new int[keys.length];
+        for (int i = 0; i < indices.length; i++) indices[i] = doubleIndices[i] = i;
+
+        HeapSort.sortIndices(indices, keys);
+        HeapSort.partialSortIndices(doubleIndices, doubleKeys, 50);
+        Assert.assertArrayEquals(keysBefore, keys);
+        for (int i = 1; i < indices.length; i++) Assert.assertTrue(keys[indices[i - 1]] <= keys[indices[i]]);
+        int[] seen = indices.clone();
+        Arrays.sort(seen);
+        for (int i = 0; i < seen.length; i++) Assert.assertEquals(i, seen[i]);
+        double[] sortedDoubleKeys = doubleKeys.clone();
+        Arrays.sort(sortedDoubleKeys);
+        for (int i = 0; i < 50; i++) Assert.assertEquals(sortedDoubleKeys[i], doubleKeys[doubleIndices[i]], 0.0);
+    }
+}
@@ -0,0 +1,282 @@
+package binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An indexed min priority queue: a binary min heap of ids 0 ... capacity-1, each holding an int key.
+ * <p>
+ * MinHeap.delete(idx) takes a position in the heap array, which callers cannot keep track of since elements move
+ * whenever the heap is repaired. Here the heap holds ids, and a second array maps every id to its current position,
+ * updated on every move. That makes it possible to find an element in O(1) and to change or remove it in O(logN):
+ * - decreaseKey(): the element can only go up, sift up from its position
+ * - increaseKey(): the element can only go down, sift down from its position
+ * - remove(): move the last element into the hole, then sift it up or down, whichever applies
+ * <p>
+ * Algorithms like Dijkstra otherwise insert a vertex again each time its distance improves and skip outdated entries
+ * when they come out, so the heap can grow up to the number of edges instead of the number of vertices.
+ * <p>
+ * Everything lives in three int arrays sized by capacity: heap (position to id), positions (id to position, -1 when
+ * absent) and keys (id to key). Sifting moves a hole like DaryMinHeap does.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://algs4.cs.princeton.edu/24pq/IndexMinPQ.java.html
+ */
+public class IndexedMinHeap {
+
+    private final int[] heap;      // ids, in heap order
+    private final int[] positions; // position of each id in heap, -1 when not queued
+    private final int[] keys;      // key of each id, meaningful only while queued
+    private int heapSize;
+
+    public IndexedMinHeap(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Capacity cannot be negative!");
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(this.positions, -1);
+    }
+
+    public int capacity() {
+        return this.heap.length;
+    }
+
+    public int size() {
+        return this.heapSize;
+    }
+
+    public boolean isEmpty() {
+        return this.heapSize == 0;
+    }
+
+    public boolean contains(int id) {
+        checkId(id);
+        return this.positions[id] >= 0;
+    }
+
+    public void insert(int id, int key) {
+        if (contains(id)) throw new IllegalArgumentException("Id " + id + " is already queued!");
+        this.keys[id] = key;
+        siftUp(this.heapSize++, id);
+    }
+
+    public int keyOf(int id) {
+        checkQueued(id);
+        return this.keys[id];
+    }
+
+    public int minId() {
+        if (this.heapSize == 0) throw new NoSuchElementException("Heap is empty!");
+        return this.heap[0];
+    }
+
+    public int minKey() {
+        return this.keys[minId()];
+    }
+
+    /**
+     * Remove the element with the smallest key and return its id
+     */
+    public int extractMin() {
+        int id = minId();
+        removeAt(0);
+        return id;
+    }
+
+    public void decreaseKey(int id, int key) {
+        checkQueued(id);
+        if (key > this.keys[id]) throw new IllegalArgumentException(key + " is greater than the key of id " + id);
+        this.keys[id] = key;
+        siftUp(this.positions[id], id);
+    }
+
+    public void increaseKey(int id, int key) {
+        checkQueued(id);
+        if (key < this.keys[id]) throw new IllegalArgumentException(key + " is smaller than the key of id " + id);
+        this.keys[id] = key;
+        siftDown(this.positions[id], id);
+    }
+
+    public void remove(int id) {
+        checkQueued(id);
+        removeAt(this.positions[id]);
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.heapSize; i++) this.positions[this.heap[i]] = -1;
+        this.heapSize = 0;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < this.heapSize; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(this.heap[i]).append('=').append(this.keys[this.heap[i]]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= this.heap.length) {
+            throw new IndexOutOfBoundsException("Id " + id + " is out of [0, " + this.heap.length + ")");
+        }
+    }
+
+    private void checkQueued(int id) {
+        if (!contains(id)) throw new NoSuchElementException("Id " + id + " is not queued!");
+    }
+
+    /**
+     * Fill the hole at position pos with the last element, which may belong either above or below it
+     */
+    private void removeAt(int pos) {
+        this.positions[this.heap[pos]] = -1;
+        int last = this.heap[--this.heapSize];
+        if (pos == this.heapSize) return;
+        if (pos > 0 && this.keys[last] < this.keys[this.heap[(pos - 1) >>> 1]]) siftUp(pos, last);
+        else siftDown(pos, last);
+    }
+
+    /**
+     * Move the hole at pos up until the id fits, then drop the id in
+     */
+    private void siftUp(int pos, int id) {
+        int key = this.keys[id];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentId = this.heap[parent];
+            if (this.keys[parentId] <= key) break;
+            this.heap[pos] = parentId;
+            this.positions[parentId] = pos;
+            pos = parent;
+        }
+        this.heap[pos] = id;
+        this.positions[id] = pos;
+    }
+
+    /**
+     * Move the hole at pos down to the smaller child until the id fits, then drop the id in
+     */
+    private void siftDown(int pos, int id) {
+        int key = this.keys[id];
+        while (true) {
+            int child = 2 * pos + 1;
+            if (child >= this.heapSize) break;
+            if (child + 1 < this.heapSize && this.keys[this.heap[child + 1]] < this.keys[this.heap[child]]) child++;
+            int childId = this.heap[child];
+            if (this.keys[childId] >= key) break;
+            this.heap[pos] = childId;
+            this.positions[childId] = pos;
+            pos = child;
+        }
+        this.heap[pos] = id;
+        this.positions[id] = pos;
+    }
+
+    /* Dijkstra on a random graph (start) */
+    /**
+     * Random directed graph in compressed form: the edges of vertex v are targets/weights[offsets[v] ... offsets[v+1])
+     */
+    private static int[][] randomGraph(int vertexNum, int edgesPerVertex, Random random) {
+        int[] offsets = new int[vertexNum + 1];
+        int[] targets = new int[vertexNum * edgesPerVertex];
+        int[] weights = new int[targets.length];
+        for (int v = 0; v < vertexNum; v++) {
+            offsets[v + 1] = offsets[v] + edgesPerVertex;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                targets[e] = random.nextInt(vertexNum);
+                weights[e] = 1 + random.nextInt(1_000);
+            }
+        }
+        return new int[][]{offsets, targets, weights};
+    }
+
+    private static int[] dijkstraIndexed(int[][] graph, int source, int[] peakSize) {
+        int[] offsets = graph[0], targets = graph[1], weights = graph[2];
+        int[] dist = new int[offsets.length - 1];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        IndexedMinHeap heap = new IndexedMinHeap(dist.length);
+        dist[source] = 0;
+        heap.insert(source, 0);
+        while (!heap.isEmpty()) {
+            peakSize[0] = Math.max(peakSize[0], heap.size());
+            int v = heap.extractMin();
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e], d = dist[v] + weights[e];
+                if (d >= dist[w]) continue;
+                if (dist[w] == Integer.MAX_VALUE) heap.insert(w, d);
+                else heap.decreaseKey(w, d);
+                dist[w] = d;
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Insertion-only variant: (distance, vertex) packed in a long, outdated entries skipped when extracted
+     */
+    private static int[] dijkstraLazy(int[][] graph, int source, int[] peakSize) {
+        int[] offsets = graph[0], targets = graph[1], weights = graph[2];
+        int[] dist = new int[offsets.length - 1];
+        Arrays.fill(dist, Integer.MAX_VALUE);
+        LongDaryMinHeap heap = new LongDaryMinHeap(2);
+        dist[source] = 0;
+        heap.insert(source);
+        while (!heap.isEmpty()) {
+            peakSize[0] = Math.max(peakSize[0], heap.size());
+            long entry = heap.extractMin();
+            int v = (int) entry, d = (int) (entry >>> 32);
+            if (d > dist[v]) continue;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int w = targets[e], dw = d + weights[e];
+                if (dw >= dist[w]) continue;
+                dist[w] = dw;
+                heap.insert((long) dw << 32 | w);
+            }
+        }
+        return dist;
+    }
+    /* Dijkstra on a random graph (end) */
+
+    public static void main(String[] args) {
+        System.out.println("Welcome to the rabbit hole of indexed priority queues!\n");
+        IndexedMinHeap heap = new IndexedMinHeap(10);
+        int[] keys = {40, 50, 20, 80, 30, 70, 60, 90, 10};
+        for (int id = 0; id < keys.length; id++) heap.insert(id, keys[id]);
+        System.out.println("Heap as id=key: " + heap);
+        heap.decreaseKey(7, 5);
+        System.out.println("Decreasing key of id 7 to 5: " + heap);
+        heap.increaseKey(8, 100);
+        System.out.println("Increasing key of id 8 to 100: " + heap);
+        heap.remove(2);
+        System.out.println("Removing id 2: " + heap);
+        System.out.println("Contains id 2? " + heap.contains(2) + "; contains id 3? " + heap.contains(3));
+        System.out.print("Extracting all ids: ");
+        while (!heap.isEmpty()) System.out.print(heap.extractMin() + " ");
+        System.out.println();
+
+        int vertexNum = 1_000_000, edgesPerVertex = 8;
+        System.out.printf("\n/* Dijkstra on a random graph of %d vertices and %d edges */\n", vertexNum,
+                vertexNum * edgesPerVertex);
+        int[][] graph = randomGraph(vertexNum, edgesPerVertex, new Random(42));
+        System.out.printf("%-10s%-24s%-24s%-24s%-24s\n", "Round", "Indexed (ms)", "Indexed peak size",
+                "Insertion-only (ms)", "Insertion-only peak size");
+        for (int round = 1; round <= 3; round++) {
+            int[] indexedPeak = new int[1], lazyPeak = new int[1];
+            long startTime = System.nanoTime();
+            int[] indexedDist = dijkstraIndexed(graph, 0, indexedPeak);
+            long indexedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            startTime = System.nanoTime();
+            int[] lazyDist = dijkstraLazy(graph, 0, lazyPeak);
+            long lazyTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            if (!Arrays.equals(indexedDist, lazyDist)) throw new AssertionError("Distances differ!");
+            System.out.printf("%-10d%-24d%-24d%-24d%-24d\n", round, indexedTime, indexedPeak[0], lazyTime, lazyPeak[0]);
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
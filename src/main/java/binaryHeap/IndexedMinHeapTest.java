@@ -0,0 +1,106 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class IndexedMinHeapTest {
+
+    /**
+     * Smallest key among the queued ids, found by scanning them all
+     */
+    private static int referenceMinKey(int[] keys, boolean[] queued) {
+        int min = Integer.MAX_VALUE;
+        for (int id = 0; id < keys.length; id++) if (queued[id]) min = Math.min(min, keys[id]);
+        return min;
+    }
+
+    @Test
+    public final void shouldAgreeWithABruteForceQueueUnderRandomOperations() throws Exception {
+        Random random = new Random(18);
+        int capacity = 200;
+        IndexedMinHeap heap = new IndexedMinHeap(capacity);
+        int[] keys = new int[capacity];
+        boolean[] queued = new boolean[capacity];
+        int size = 0;
+        for (int op = 0; op < 200_000; op++) {
+            int id = random.nextInt(capacity);
+            int choice = random.nextInt(5);
+            if (!queued[id]) {
+                keys[id] = random.nextInt(1_000);
+                heap.insert(id, keys[id]);
+                queued[id] = true;
+                size++;
+            } else if (choice == 0) {
+                keys[id] -= random.nextInt(100);
+                heap.decreaseKey(id, keys[id]);
+            } else if (choice == 1) {
+                keys[id] += random.nextInt(100);
+                heap.increaseKey(id, keys[id]);
+            } else if (choice == 2) {
+                heap.remove(id);
+                queued[id] = false;
+                size--;
+            } else if (choice == 3) {
+                int minKey = heap.minKey();
+                int minId = heap.extractMin();
+                Assert.assertEquals(referenceMinKey(keys, queued), minKey);
+                Assert.assertEquals(keys[minId], minKey);
+                Assert.assertTrue(queued[minId]);
+                queued[minId] = false;
+                size--;
+            } else {
+                Assert.assertEquals(keys[id], heap.keyOf(id));
+            }
+            Assert.assertEquals(size, heap.size());
+            Assert.assertEquals(queued[id], heap.contains(id));
+        }
+    }
+
+    @Test
+    public final void shouldRejectKeyChangesInTheWrongDirection() throws Exception {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(1, 10);
+        try {
+            heap.decreaseKey(1, 11);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            heap.increaseKey(1, 9);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        Assert.assertEquals(10, heap.keyOf(1));
+    }
+
+    @Test
+    public final void shouldRejectUnknownAndDuplicateIds() throws Exception {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(0, 1);
+        try {
+            heap.insert(0, 2);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            heap.remove(3);
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+        try {
+            heap.contains(4);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException expected) {
+        }
+        heap.clear();
+        Assert.assertFalse(heap.contains(0));
+        try {
+            heap.extractMin();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+    }
+}
@@ -4,6 +4,10 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.PriorityQueue;
 
+import utils.CacheStats;
+import utils.IntCache;
+import utils.StatsCounter;
+
 /**
  * LFU (Least Frequently Used) is a famous cache eviction algorithm.
  * For a cache with capacity k, if the cache is full and need to evict a key in it, the key with the
@@ -18,7 +22,7 @@ import java.util.PriorityQueue;
  * https://www.lintcode.com/problem/lfu-cache/description
  */
 
-public class LFUCache {
+public class LFUCache implements IntCache {
 
 
     /**
@@ -49,6 +53,7 @@ public class LFUCache {
     private int accessSeqNum;
     private HashMap<Integer, CacheNode> cacheData;
     private PriorityQueue<CacheNode> evictionQueue;
+    private StatsCounter statsCounter = StatsCounter.disabled();
 
     public LFUCache(int capacity) {
         this.capacity = capacity;
@@ -67,8 +72,10 @@ public class LFUCache {
         });
     }
 
+    @Override
     public void set(int key, int value) {
         if (capacity <= 0) return;
+        long startTime = startTimer();
         CacheNode cacheNode = this.cacheData.get(key);
         if (cacheNode != null) { // existing entry
             this.evictionQueue.remove(cacheNode);
@@ -80,23 +87,61 @@ public class LFUCache {
                 CacheNode nodeToEvict = this.evictionQueue.poll();
                 this.cacheData.remove(nodeToEvict.key);
                 this.occupancy--;
+                this.statsCounter.recordEviction();
             }
             this.cacheData.put(key, cacheNode);
             this.occupancy++;
         }
         this.evictionQueue.add(cacheNode);
+        recordLatency(startTime);
     }
 
+    @Override
     public int get(int key) {
+        long startTime = startTimer();
         CacheNode cacheNode = this.cacheData.get(key);
-        if (cacheNode == null) return -1;
+        if (cacheNode == null) {
+            this.statsCounter.recordMiss();
+            recordLatency(startTime);
+            return -1;
+        }
         this.evictionQueue.remove(cacheNode);
         cacheNode.usage++;
         cacheNode.seqNum = this.accessSeqNum++;
         this.evictionQueue.add(cacheNode);
+        this.statsCounter.recordHit();
+        recordLatency(startTime);
         return cacheNode.value;
     }
 
+    @Override
+    public boolean contains(int key) {
+        return this.cacheData.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.occupancy;
+    }
+
+    @Override
+    public void recordStats(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.statsCounter.snapshot();
+    }
+
+    private long startTimer() {
+        return this.statsCounter.isRecordingLatency() ? System.nanoTime() : 0L;
+    }
+
+    private void recordLatency(long startTime) {
+        if (this.statsCounter.isRecordingLatency()) this.statsCounter.recordLatency(System.nanoTime() - startTime);
+    }
+
     public static void main(String[] args) {
         int capacity = 3;
         System.out.println("Welcome to the rabbit hole of LFU caches!\n"
@@ -0,0 +1,253 @@
+package binaryHeap;
+
+import java.text.DecimalFormat;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import utils.IntCache;
+
+/**
+ * LFU (Least Frequently Used) cache with strict O(1) get, set and eviction.
+ * <p>
+ * The PriorityQueue based LFUCache pays O(N) on every access because PriorityQueue.remove(Object) has to scan the
+ * heap array to find the node before it can be re-positioned. Since the usage count of an entry only ever grows by one
+ * at a time, a total order on (usage, seqNum) is not needed at all. It is enough to group entries by usage count.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * http://dhruvbird.com/lfu.pdf
+ */
+
+public class LFUCacheBucketed implements IntCache {
+
+    /**
+     * - Discussion -
+     * A doubly linked list of frequency buckets is kept in ascending usage order, and every bucket holds a doubly
+     * linked list of the cache entries with exactly that usage count.
+     * <p>
+     * - An accessed entry moves from bucket f to bucket f+1, which is either the next bucket or a new one spliced in
+     * right after bucket f: O(1)
+     * - The LFU entry always lives in the first bucket: O(1)
+     * <p>
+     * Entries inside a bucket are ordered by access sequence number (oldest at head), so evicting the head of the
+     * first bucket keeps the first-in-first-out tie-breaking of LFUCache. To keep every operation O(1) an entry is
+     * always appended to the tail of its new bucket with a fresh sequence number. This matches LFUCache for get() and
+     * new entries; for set() on an existing key LFUCache keeps the old sequence number, which would require an ordered
+     * insertion into the bucket instead.
+     */
+    private class CacheNode {
+        int key, usage, value;
+        int seqNum; // used to maintain access sequence so as to apply first-in-first-out tie-breaking
+        FrequencyBucket bucket;
+        CacheNode prev, next;
+
+        public CacheNode(int key, int value, int seqNum) {
+            this.key = key;
+            this.value = value;
+            this.usage = 0;
+            this.seqNum = seqNum;
+        }
+    }
+
+    private class FrequencyBucket {
+        int usage;
+        CacheNode head, tail; // oldest access at head
+        FrequencyBucket prev, next;
+
+        public FrequencyBucket(int usage) {
+            this.usage = usage;
+        }
+
+        boolean isEmpty() {
+            return this.head == null;
+        }
+
+        void append(CacheNode node) {
+            node.bucket = this;
+            node.prev = this.tail;
+            node.next = null;
+            if (this.tail != null) this.tail.next = node;
+            else this.head = node;
+            this.tail = node;
+        }
+
+        void unlink(CacheNode node) {
+            if (node.prev != null) node.prev.next = node.next;
+            else this.head = node.next;
+            if (node.next != null) node.next.prev = node.prev;
+            else this.tail = node.prev;
+            node.prev = node.next = null;
+            node.bucket = null;
+        }
+    }
+
+    private int capacity;
+    private int occupancy;
+    private int accessSeqNum;
+    private HashMap<Integer, CacheNode> cacheData;
+    private FrequencyBucket lowestBucket; // head of the bucket list, holding the LFU entries
+
+    public LFUCacheBucketed(int capacity) {
+        this.capacity = capacity;
+        this.occupancy = 0;
+        this.accessSeqNum = 0;
+        this.cacheData = new HashMap<>((int) Math.ceil(this.capacity / 0.75)); // to avoid rehash
+        this.lowestBucket = null;
+    }
+
+    public void set(int key, int value) {
+        if (capacity <= 0) return;
+        CacheNode cacheNode = this.cacheData.get(key);
+        if (cacheNode != null) { // existing entry
+            cacheNode.value = value;
+            promote(cacheNode);
+        } else { // new entry
+            if (this.occupancy == this.capacity) { // evict LFU data entry
+                CacheNode nodeToEvict = this.lowestBucket.head;
+                removeFromBucket(nodeToEvict);
+                this.cacheData.remove(nodeToEvict.key);
+                this.occupancy--;
+            }
+            cacheNode = new CacheNode(key, value, this.accessSeqNum++);
+            if (this.lowestBucket == null || this.lowestBucket.usage != 0) {
+                FrequencyBucket bucket = new FrequencyBucket(0);
+                bucket.next = this.lowestBucket;
+                if (this.lowestBucket != null) this.lowestBucket.prev = bucket;
+                this.lowestBucket = bucket;
+            }
+            this.lowestBucket.append(cacheNode);
+            this.cacheData.put(key, cacheNode);
+            this.occupancy++;
+        }
+    }
+
+    public int get(int key) {
+        CacheNode cacheNode = this.cacheData.get(key);
+        if (cacheNode == null) return -1;
+        promote(cacheNode);
+        return cacheNode.value;
+    }
+
+    public boolean contains(int key) {
+        return this.cacheData.containsKey(key);
+    }
+
+    public int size() {
+        return this.occupancy;
+    }
+
+    /**
+     * Move a node from its bucket to the bucket of the next usage count, creating that bucket if it does not exist
+     * and dropping the old one if it becomes empty.
+     */
+    private void promote(CacheNode node) {
+        FrequencyBucket current = node.bucket;
+        int usage = current.usage + 1;
+        FrequencyBucket target = current.next;
+        if (target == null || target.usage != usage) { // splice in a new bucket right after the current one
+            target = new FrequencyBucket(usage);
+            target.prev = current;
+            target.next = current.next;
+            if (current.next != null) current.next.prev = target;
+            current.next = target;
+        }
+        removeFromBucket(node);
+        node.usage = usage;
+        node.seqNum = this.accessSeqNum++;
+        target.append(node);
+    }
+
+    private void removeFromBucket(CacheNode node) {
+        FrequencyBucket bucket = node.bucket;
+        bucket.unlink(node);
+        if (bucket.isEmpty()) { // drop empty buckets so the first bucket always holds the LFU entry
+            if (bucket.prev != null) bucket.prev.next = bucket.next;
+            else this.lowestBucket = bucket.next;
+            if (bucket.next != null) bucket.next.prev = bucket.prev;
+            bucket.prev = bucket.next = null;
+        }
+    }
+
+    public void printBuckets() {
+        for (FrequencyBucket bucket = this.lowestBucket; bucket != null; bucket = bucket.next) {
+            System.out.print("Usage " + bucket.usage + ":");
+            for (CacheNode node = bucket.head; node != null; node = node.next)
+                System.out.print(" {" + node.key + ": " + node.value + "}");
+            System.out.println();
+        }
+    }
+
+    /**
+     * Replay the same random access sequence (80% get, 20% set over a key space twice the capacity) against both
+     * caches and report the elapsed time for each.
+     */
+    private static void runBenchmark(int capacity, int operations) {
+        int[] keys = new int[operations];
+        boolean[] isRead = new boolean[operations];
+        for (int i = 0; i < operations; i++) {
+            keys[i] = ThreadLocalRandom.current().nextInt(capacity * 2);
+            isRead[i] = ThreadLocalRandom.current().nextInt(100) < 80;
+        }
+        DecimalFormat formatter = new DecimalFormat("#,###");
+
+        LFUCache heapCache = new LFUCache(capacity);
+        for (int i = 0; i < capacity; i++) heapCache.set(i, i);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            if (isRead[i]) heapCache.get(keys[i]);
+            else heapCache.set(keys[i], i);
+        }
+        long heapTime = TimeUnit.MICROSECONDS.convert(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+        LFUCacheBucketed bucketCache = new LFUCacheBucketed(capacity);
+        for (int i = 0; i < capacity; i++) bucketCache.set(i, i);
+        startTime = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            if (isRead[i]) bucketCache.get(keys[i]);
+            else bucketCache.set(keys[i], i);
+        }
+        long bucketTime = TimeUnit.MICROSECONDS.convert(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+
+        System.out.printf("%-12s%-14s%-30s%-30s\n", formatter.format(capacity), formatter.format(operations),
+                formatter.format(heapTime), formatter.format(bucketTime));
+    }
+
+    public static void main(String[] args) {
+        int capacity = 3;
+        System.out.println("Welcome to the rabbit hole of O(1) LFU caches!\n"
+                + "The capacity of the cache is " + capacity + ".\n");
+
+        LFUCacheBucketed cache = new LFUCacheBucketed(capacity);
+        System.out.println("Set first three entries and query the first entry...");
+        cache.set(1, 1);
+        cache.set(2, 2);
+        cache.set(3, 3);
+        System.out.println(cache.get(1));
+        cache.printBuckets();
+        System.out.println("Set the fourth entry (the second entry is evicted) and query all in reverse order ...");
+        cache.set(4, 4);
+        System.out.println(cache.get(4));
+        System.out.println(cache.get(3));
+        System.out.println(cache.get(2));
+        System.out.println(cache.get(1));
+        cache.printBuckets();
+        cache.set(5, 5);
+        System.out.println("Set the fifth entry (the fourth entry is evicted since it was accessed first in previous query) and query all in normal order ...");
+        System.out.println(cache.get(1));
+        System.out.println(cache.get(2));
+        System.out.println(cache.get(3));
+        System.out.println(cache.get(4));
+        System.out.println(cache.get(5));
+        cache.printBuckets();
+
+        System.out.println("\n/* Benchmark against the PriorityQueue based LFUCache (time in micro-seconds) */");
+        System.out.printf("%-12s%-14s%-30s%-30s\n", "Capacity", "Operations", "LFUCache (PriorityQueue)", "LFUCacheBucketed");
+        int operations = 200_000;
+        for (int cap = 1_000; cap <= 1_000_000; cap *= 10) runBenchmark(cap, operations);
+
+        System.out.println("\nAll rabbits gone.");
+    }
+
+}
@@ -0,0 +1,79 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class LFUCacheBucketedTest {
+
+    @Test
+    public final void shouldEvictTheLeastFrequentlyUsedEntry() {
+        LFUCacheBucketed cache = new LFUCacheBucketed(3);
+        cache.set(1, 1);
+        cache.set(2, 2);
+        cache.set(3, 3);
+        cache.get(1);
+        cache.get(2);
+
+        cache.set(4, 4);
+
+        Assert.assertTrue(cache.contains(1));
+        Assert.assertTrue(cache.contains(2));
+        Assert.assertFalse(cache.contains(3));
+        Assert.assertTrue(cache.contains(4));
+    }
+
+    @Test
+    public final void shouldBreakUsageTiesFirstInFirstOut() {
+        LFUCacheBucketed cache = new LFUCacheBucketed(3);
+        cache.set(1, 1);
+        cache.set(2, 2);
+        cache.set(3, 3);
+        cache.get(3);
+        cache.get(2);
+        cache.get(1);
+
+        cache.set(4, 4);
+
+        Assert.assertFalse(cache.contains(3));
+        Assert.assertEquals(-1, cache.get(3));
+        Assert.assertEquals(1, cache.get(1));
+        Assert.assertEquals(2, cache.get(2));
+    }
+
+    @Test
+    public final void shouldReturnUpdatedValueAfterSetOnExistingKey() {
+        LFUCacheBucketed cache = new LFUCacheBucketed(2);
+        cache.set(1, 1);
+        cache.set(1, 11);
+
+        Assert.assertEquals(11, cache.get(1));
+    }
+
+    @Test
+    public final void shouldIgnoreSetWhenCapacityIsZero() {
+        LFUCacheBucketed cache = new LFUCacheBucketed(0);
+        cache.set(1, 1);
+
+        Assert.assertEquals(-1, cache.get(1));
+    }
+
+    @Test
+    public final void shouldMatchHeapBasedCacheOnGetsAndInserts() {
+        // set on an existing key is left out as it is the one case where the two caches tie-break differently
+        int capacity = 50;
+        LFUCache expected = new LFUCache(capacity);
+        LFUCacheBucketed actual = new LFUCacheBucketed(capacity);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextInt(capacity * 3);
+            if (random.nextInt(10) < 7 || actual.contains(key)) {
+                Assert.assertEquals(expected.get(key), actual.get(key));
+            } else {
+                expected.set(key, i);
+                actual.set(key, i);
+            }
+        }
+    }
+}
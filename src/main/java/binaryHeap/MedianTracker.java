@@ -0,0 +1,95 @@
+package binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The running median of a stream of ints, with two heaps: O(logN) per insertion and O(1) per median.
+ * <p>
+ * The values seen are split into a lower half, in a max heap, and an upper half, in a min heap, such that every value
+ * of the lower half is at most every value of the upper half, and the lower half holds as many values as the upper
+ * one or one more. The median is then the root of the lower half, or the mean of both roots when the count is even.
+ * <p>
+ * An insertion goes to the lower half when it does not exceed its root, to the upper half otherwise, and one root moves
+ * across if that breaks the size balance. The max heap is a DaryMinHeap of ~value, since bitwise NOT reverses the int
+ * order without overflowing on MIN_VALUE.
+ * <p>
+ * Both heaps are DaryMinHeaps rather than MinHeaps: a MinHeap has a fixed capacity and prints and drops whatever is
+ * inserted beyond it, whereas a stream has no known length. A DaryMinHeap grows as needed.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class MedianTracker {
+
+    private final DaryMinHeap lower = new DaryMinHeap(); // ~value of the lower half, whose root is the largest
+    private final DaryMinHeap upper = new DaryMinHeap();
+
+    public int size() {
+        return this.lower.size() + this.upper.size();
+    }
+
+    public boolean isEmpty() {
+        return this.lower.isEmpty();
+    }
+
+    public void insert(int value) {
+        if (this.lower.isEmpty() || value <= ~this.lower.getMin()) this.lower.insert(~value);
+        else this.upper.insert(value);
+        if (this.lower.size() > this.upper.size() + 1) this.upper.insert(~this.lower.extractMin());
+        else if (this.upper.size() > this.lower.size()) this.lower.insert(~this.upper.extractMin());
+    }
+
+    /**
+     * The middle value, or the mean of both middle values when the count is even
+     */
+    public double median() {
+        if (this.lower.isEmpty()) throw new NoSuchElementException("No value seen yet!");
+        if (this.lower.size() > this.upper.size()) return ~this.lower.getMin();
+        return ((double) ~this.lower.getMin() + this.upper.getMin()) / 2;
+    }
+
+    /**
+     * The middle value, or the smaller of both middle values when the count is even
+     */
+    public int lowerMedian() {
+        if (this.lower.isEmpty()) throw new NoSuchElementException("No value seen yet!");
+        return ~this.lower.getMin();
+    }
+
+    public void clear() {
+        this.lower.clear();
+        this.upper.clear();
+    }
+
+    public static void main(String[] args) {
+        System.out.println("Welcome to the rabbit hole of running medians!\n");
+        MedianTracker tracker = new MedianTracker();
+        for (int value : new int[]{5, 15, 1, 3, 8, 7, 9, 10, 20, Integer.MIN_VALUE}) {
+            tracker.insert(value);
+            System.out.println("Inserted " + value + ", median: " + tracker.median());
+        }
+
+        int n = 10_000_000;
+        System.out.println("\n/* Running median of " + n + " random ints, checked against a sort at the end */");
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = ThreadLocalRandom.current().nextInt();
+        tracker.clear();
+        long startTime = System.nanoTime();
+        double sum = 0;
+        for (int value : values) {
+            tracker.insert(value);
+            sum += tracker.median();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        Arrays.sort(values);
+        System.out.println("Insertions and medians took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms, "
+                + elapsed / n + " ns per value" + (sum == 42 ? "!" : ""));
+        System.out.println("Final median " + tracker.median() + ", from the sorted values "
+                + ((double) values[n / 2 - 1] + values[n / 2]) / 2);
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
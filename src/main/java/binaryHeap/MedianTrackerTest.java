@@ -0,0 +1,63 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class MedianTrackerTest {
+
+    private static double sortedMedian(int[] values, int to) {
+        int[] copy = Arrays.copyOf(values, to);
+        Arrays.sort(copy);
+        return to % 2 == 1 ? copy[to / 2] : ((double) copy[to / 2 - 1] + copy[to / 2]) / 2;
+    }
+
+    @Test
+    public final void shouldTrackTheRunningMedianOfEverything() throws Exception {
+        Random random = new Random(23);
+        MedianTracker tracker = new MedianTracker();
+        int[] values = new int[2_001];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt();
+            tracker.insert(values[i]);
+            if (i % 100 == 0) Assert.assertEquals(sortedMedian(values, i + 1), tracker.median(), 0.0);
+        }
+        Assert.assertEquals(values.length, tracker.size());
+    }
+
+    @Test
+    public final void shouldTrackTheMedianOfDuplicatesAndSortedRuns() throws Exception {
+        MedianTracker tracker = new MedianTracker();
+        int[] values = new int[3_000];
+        for (int i = 0; i < values.length; i++) { // a rising run, a falling run, then a single value over and over
+            values[i] = i < 1_000 ? i : i < 2_000 ? 3_000 - i : 7;
+            tracker.insert(values[i]);
+            Assert.assertEquals(sortedMedian(values, i + 1), tracker.median(), 0.0);
+        }
+    }
+
+    @Test
+    public final void shouldHandleExtremeValuesAnEmptyTrackerAndClear() throws Exception {
+        MedianTracker tracker = new MedianTracker();
+        try {
+            tracker.median();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+        tracker.insert(Integer.MAX_VALUE);
+        tracker.insert(Integer.MIN_VALUE);
+        Assert.assertEquals(-0.5, tracker.median(), 0.0);
+        Assert.assertEquals(Integer.MIN_VALUE, tracker.lowerMedian());
+        tracker.insert(Integer.MAX_VALUE);
+        Assert.assertEquals(Integer.MAX_VALUE, tracker.median(), 0.0);
+
+        tracker.clear();
+        Assert.assertTrue(tracker.isEmpty());
+        Assert.assertEquals(0, tracker.size());
+        tracker.insert(3);
+        Assert.assertEquals(3, tracker.median(), 0.0);
+    }
+}
@@ -0,0 +1,249 @@
+package binaryHeap;
+
+import java.text.DecimalFormat;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntSupplier;
+
+/**
+ * A thread-safe, relaxed min priority queue of ints for many producers and consumers: a MultiQueue.
+ * <p>
+ * A heap behind one lock lets one thread in at a time, and every operation touches the root, so adding threads only
+ * adds contention. A MultiQueue spreads the elements over c * p sequential heaps (p the number of threads, c a small
+ * constant), each with its own lock:
+ * <p>
+ * - insert() puts the element into a random heap
+ * - extractMin() looks at the minimum of two random heaps and extracts the smaller one
+ * - a heap that is locked by another thread is not waited for, another random one is picked instead
+ * <p>
+ * The element extracted is therefore not always the global minimum, but one of the O(c * p) smallest on average,
+ * which is what a scheduler needs: it does not matter which of the most urgent tasks runs first, as long as they all
+ * run before the less urgent ones. In exchange, threads almost never wait for each other.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://arxiv.org/abs/1411.1209
+ */
+public class MultiQueue {
+
+    /**
+     * - Discussion -
+     * Every heap publishes its minimum in a volatile field, updated under its lock, so that choosing between two heaps
+     * takes no lock at all. The value read may be stale by the time the lock is taken, which only relaxes the order a
+     * little more. Keys are ints and the field a long, so that an empty heap can publish Long.MAX_VALUE.
+     * <p>
+     * When both sampled heaps look empty, the queue may still hold elements elsewhere, so extraction falls back to a
+     * scan over all heaps, this time waiting for their locks. Only a scan that finds every heap empty reports the
+     * queue as empty. Under concurrent insertions that answer can of course be outdated as soon as it is returned.
+     */
+
+    private static final int QUEUES_PER_THREAD = 2;
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    private static final class SubQueue {
+        final ReentrantLock lock = new ReentrantLock();
+        final DaryMinHeap heap = new DaryMinHeap();
+        volatile long min = EMPTY;
+        int size; // read without the lock by size(), which is approximate anyway
+
+        /* Both must be called with the lock held */
+        void insert(int e) {
+            this.heap.insert(e);
+            this.min = this.heap.getMin();
+            this.size++;
+        }
+
+        int extractMin() {
+            int e = this.heap.extractMin();
+            this.min = this.heap.isEmpty() ? EMPTY : this.heap.getMin();
+            this.size--;
+            return e;
+        }
+    }
+
+    private final SubQueue[] queues;
+
+    public MultiQueue() {
+        this(QUEUES_PER_THREAD * Runtime.getRuntime().availableProcessors());
+    }
+
+    public MultiQueue(int queueNum) {
+        if (queueNum < 2) throw new IllegalArgumentException("A MultiQueue needs at least 2 queues!");
+        this.queues = new SubQueue[queueNum];
+        for (int i = 0; i < queueNum; i++) this.queues[i] = new SubQueue();
+    }
+
+    public void insert(int e) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < this.queues.length; attempt++) {
+            SubQueue q = this.queues[random.nextInt(this.queues.length)];
+            if (q.lock.tryLock()) {
+                try {
+                    q.insert(e);
+                    return;
+                } finally {
+                    q.lock.unlock();
+                }
+            }
+        }
+        SubQueue q = this.queues[random.nextInt(this.queues.length)]; // heavily contended, wait for one
+        q.lock.lock();
+        try {
+            q.insert(e);
+        } finally {
+            q.lock.unlock();
+        }
+    }
+
+    /**
+     * Extract one of the smallest elements, not necessarily the smallest
+     */
+    public int extractMin() {
+        long e = tryExtractMin();
+        if (e == EMPTY) throw new NoSuchElementException("Queue is empty!");
+        return (int) e;
+    }
+
+    public int extractMinOrDefault(int defaultValue) {
+        long e = tryExtractMin();
+        return e == EMPTY ? defaultValue : (int) e;
+    }
+
+    /**
+     * Approximate under concurrent updates
+     */
+    public int size() {
+        int size = 0;
+        for (SubQueue q : this.queues) size += q.size;
+        return size;
+    }
+
+    public boolean isEmpty() {
+        for (SubQueue q : this.queues) if (q.min != EMPTY) return false;
+        return true;
+    }
+
+    private long tryExtractMin() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < this.queues.length; attempt++) {
+            SubQueue q1 = this.queues[random.nextInt(this.queues.length)];
+            SubQueue q2 = this.queues[random.nextInt(this.queues.length)];
+            SubQueue q = q2.min < q1.min ? q2 : q1;
+            if (q.min == EMPTY) break;
+            if (q.lock.tryLock()) {
+                try {
+                    if (!q.heap.isEmpty()) return q.extractMin();
+                } finally {
+                    q.lock.unlock();
+                }
+            }
+        }
+        return scanExtractMin(random.nextInt(this.queues.length));
+    }
+
+    /**
+     * Go over all queues from the given one on, waiting for their locks, and extract from the first non-empty one
+     */
+    private long scanExtractMin(int from) {
+        for (int i = 0; i < this.queues.length; i++) {
+            SubQueue q = this.queues[(from + i) % this.queues.length];
+            if (q.min == EMPTY) continue;
+            q.lock.lock();
+            try {
+                if (!q.heap.isEmpty()) return q.extractMin();
+            } finally {
+                q.lock.unlock();
+            }
+        }
+        return EMPTY;
+    }
+
+    /* Benchmark (start) */
+
+    /**
+     * Prefill the queue, then let every thread alternate insertions of random keys and extractions, and return the
+     * throughput in operations per second
+     */
+    private static long measureThroughput(IntConsumer insert, IntSupplier extractMin, int prefill, int opsPerThread,
+                                          int threads) throws Exception {
+        for (int i = 0; i < prefill; i++) insert.accept(ThreadLocalRandom.current().nextInt());
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long sum = 0;
+                    for (int i = 0; i < opsPerThread; i += 2) {
+                        insert.accept(random.nextInt());
+                        sum += extractMin.getAsInt();
+                    }
+                    if (sum == 42) System.out.println();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startTime;
+        pool.shutdown();
+        return (long) opsPerThread * threads * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of MultiQueues.");
+        MultiQueue queue = new MultiQueue(4);
+        System.out.println("\nInserting 0 to 19 in random order into a MultiQueue of 4 heaps ...");
+        int[] keys = new int[20];
+        for (int i = 0; i < keys.length; i++) keys[i] = i;
+        for (int i = keys.length - 1; i > 0; i--) { // Fisher-Yates shuffle
+            int j = ThreadLocalRandom.current().nextInt(i + 1), tmp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = tmp;
+        }
+        for (int key : keys) queue.insert(key);
+        System.out.print("Extracting all, roughly in order: ");
+        while (!queue.isEmpty()) System.out.print(queue.extractMin() + " ");
+        System.out.println("\nExtracting from the empty queue with default -1: " + queue.extractMinOrDefault(-1));
+
+        System.out.println("\n/* Throughput (ops/sec), 1,000,000 prefilled keys, 2,000,000 insertions/extractions per "
+                + "thread */");
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        System.out.printf("%-10s%-24s%-24s\n", "Threads", "synchronized MinHeap", "MultiQueue");
+        int prefill = 1_000_000, opsPerThread = 2_000_000;
+        for (int threads : new int[]{1, 1, 2, 4, 8}) { // the first row mostly measures the JIT
+            MinHeap lockedHeap = new MinHeap(prefill + threads);
+            long lockedOps = measureThroughput(key -> {
+                synchronized (lockedHeap) {
+                    lockedHeap.insert(key);
+                }
+            }, () -> {
+                synchronized (lockedHeap) {
+                    return lockedHeap.extractMin();
+                }
+            }, prefill, opsPerThread, threads);
+            MultiQueue multiQueue = new MultiQueue(QUEUES_PER_THREAD * threads);
+            long multiQueueOps = measureThroughput(multiQueue::insert, multiQueue::extractMin, prefill, opsPerThread,
+                    threads);
+            System.out.printf("%-10d%-24s%-24s\n", threads, formatter.format(lockedOps),
+                    formatter.format(multiQueueOps));
+        }
+        System.out.println("(on " + Runtime.getRuntime().availableProcessors() + " processors)");
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
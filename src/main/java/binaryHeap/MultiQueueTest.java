@@ -0,0 +1,57 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class MultiQueueTest {
+
+    @Test
+    public final void shouldExtractEveryInsertedElementExactlyOnceAcrossThreads() throws Exception {
+        MultiQueue queue = new MultiQueue(8);
+        int threads = 4, perThread = 50_000;
+        AtomicIntegerArray extracted = new AtomicIntegerArray(threads * perThread);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            int from = t * perThread;
+            new Thread(() -> {
+                for (int i = from; i < from + perThread; i++) {
+                    queue.insert(i);
+                    if (i % 2 == 1) extracted.incrementAndGet(queue.extractMin());
+                }
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        Assert.assertEquals(threads * perThread / 2, queue.size());
+        while (!queue.isEmpty()) extracted.incrementAndGet(queue.extractMin());
+        for (int i = 0; i < extracted.length(); i++) Assert.assertEquals("element " + i, 1, extracted.get(i));
+    }
+
+    @Test
+    public final void shouldExtractRoughlyInOrder() throws Exception {
+        MultiQueue queue = new MultiQueue(4);
+        int n = 10_000;
+        for (int i = n - 1; i >= 0; i--) queue.insert(i);
+        long displacement = 0;
+        for (int i = 0; i < n; i++) displacement += Math.abs(queue.extractMin() - i);
+        Assert.assertTrue("mean displacement " + displacement / n, displacement / n < 100);
+    }
+
+    @Test
+    public final void shouldReportAnEmptyQueue() throws Exception {
+        MultiQueue queue = new MultiQueue(2);
+        queue.insert(7);
+        Assert.assertEquals(7, queue.extractMin());
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(-1, queue.extractMinOrDefault(-1));
+        try {
+            queue.extractMin();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+    }
+}
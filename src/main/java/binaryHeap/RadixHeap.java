@@ -0,0 +1,220 @@
+package binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A radix heap: a monotone min priority queue of ints, where no key inserted may be smaller than the last key
+ * extracted. That is the case for event timestamps, or for distances in Dijkstra.
+ * <p>
+ * Instead of comparing keys, a radix heap sorts them into 33 buckets by their highest bit that differs from the last
+ * key extracted (last): bucket 0 holds keys equal to last, bucket i keys whose highest bit differing from last is bit
+ * i-1. The smallest key is always in the lowest non-empty bucket. When bucket 0 runs empty, the lowest non-empty
+ * bucket i is scanned for its minimum, which becomes the new last, and its keys are distributed again: relative to the
+ * new last, each of them lands in a bucket below i. A key can therefore only move down, at most 32 times, and all
+ * operations are amortized O(log C) where C is the span of keys held, independently of their number.
+ * <p>
+ * Keys may be negative: flipping the sign bit of two ints maps the signed order to the unsigned one, and cancels out
+ * in the XOR that picks the bucket.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://www.cs.princeton.edu/courses/archive/spr04/cos423/handouts/faster%20algorithms.pdf
+ */
+public class RadixHeap {
+
+    private static final int BUCKET_NUM = Integer.SIZE + 1;
+    private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+    private final int[][] buckets = new int[BUCKET_NUM][];
+    private final int[] bucketSizes = new int[BUCKET_NUM];
+    private int last = Integer.MIN_VALUE; // last key extracted, or the smallest int before the first extraction
+    private int heapSize;
+
+    public RadixHeap() {
+        for (int i = 0; i < BUCKET_NUM; i++) this.buckets[i] = new int[INITIAL_BUCKET_CAPACITY];
+    }
+
+    public int size() {
+        return this.heapSize;
+    }
+
+    public boolean isEmpty() {
+        return this.heapSize == 0;
+    }
+
+    /**
+     * The last key extracted, below which no key can be inserted any more
+     */
+    public int lastExtracted() {
+        return this.last;
+    }
+
+    public void insert(int e) {
+        if (e < this.last) {
+            throw new IllegalArgumentException(e + " is smaller than the last key extracted " + this.last);
+        }
+        add(bucketOf(e), e);
+        this.heapSize++;
+    }
+
+    /**
+     * O(1) when keys equal to the last one extracted remain, otherwise a scan of the lowest non-empty bucket
+     */
+    public int getMin() {
+        if (this.heapSize == 0) throw new NoSuchElementException("Heap is empty!");
+        if (this.bucketSizes[0] > 0) return this.last;
+        int b = lowestNonEmptyBucket();
+        return min(this.buckets[b], this.bucketSizes[b]);
+    }
+
+    public int extractMin() {
+        if (this.heapSize == 0) throw new NoSuchElementException("Heap is empty!");
+        if (this.bucketSizes[0] == 0) redistribute(lowestNonEmptyBucket());
+        this.bucketSizes[0]--;
+        this.heapSize--;
+        return this.last;
+    }
+
+    public String toString() {
+        int[] keys = new int[this.heapSize];
+        int n = 0;
+        for (int b = 0; b < BUCKET_NUM; b++) {
+            System.arraycopy(this.buckets[b], 0, keys, n, this.bucketSizes[b]);
+            n += this.bucketSizes[b];
+        }
+        Arrays.sort(keys);
+        return Arrays.toString(keys);
+    }
+
+    private int bucketOf(int e) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(e ^ this.last);
+    }
+
+    private void add(int b, int e) {
+        if (this.bucketSizes[b] == this.buckets[b].length) {
+            this.buckets[b] = Arrays.copyOf(this.buckets[b], 2 * this.buckets[b].length);
+        }
+        this.buckets[b][this.bucketSizes[b]++] = e;
+    }
+
+    private int lowestNonEmptyBucket() {
+        int b = 1;
+        while (this.bucketSizes[b] == 0) b++;
+        return b;
+    }
+
+    private static int min(int[] keys, int size) {
+        int min = keys[0];
+        for (int i = 1; i < size; i++) if (keys[i] < min) min = keys[i];
+        return min;
+    }
+
+    /**
+     * Make the minimum of bucket b the new last and move all keys of b to lower buckets relative to it
+     */
+    private void redistribute(int b) {
+        int[] keys = this.buckets[b];
+        int size = this.bucketSizes[b];
+        this.last = min(keys, size);
+        this.bucketSizes[b] = 0;
+        for (int i = 0; i < size; i++) add(bucketOf(keys[i]), keys[i]);
+    }
+
+    /* Benchmark (start) */
+    private interface IntMinQueue {
+        void insert(int e);
+
+        int extractMin();
+    }
+
+    /**
+     * Hold model of a discrete event simulation: the queue holds a fixed number of pending events, and every step
+     * extracts the earliest one and schedules a new one at that time plus a random delay in [0, maxDelay)
+     */
+    private static long timeHoldModel(IntMinQueue queue, int pending, int steps, int maxDelay) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < pending; i++) queue.insert(random.nextInt(maxDelay));
+        long startTime = System.nanoTime();
+        for (int i = 0; i < steps; i++) queue.insert(queue.extractMin() + random.nextInt(maxDelay));
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    private static void benchmarkHoldModel(int pending, int maxDelay) {
+        int steps = 5_000_000; // one extraction and one insertion each, 10M operations
+        RadixHeap radixHeap = new RadixHeap();
+        DaryMinHeap daryHeap = new DaryMinHeap();
+        MinHeap minHeap = new MinHeap(pending + 1);
+        PriorityQueue<Integer> priorityQueue = new PriorityQueue<>();
+        System.out.printf("%-12d%-14d%-12d%-12d%-12d%-16d\n", pending, maxDelay,
+                timeHoldModel(new IntMinQueue() {
+                    public void insert(int e) {
+                        minHeap.insert(e);
+                    }
+
+                    public int extractMin() {
+                        return minHeap.extractMin();
+                    }
+                }, pending, steps, maxDelay),
+                timeHoldModel(new IntMinQueue() {
+                    public void insert(int e) {
+                        daryHeap.insert(e);
+                    }
+
+                    public int extractMin() {
+                        return daryHeap.extractMin();
+                    }
+                }, pending, steps, maxDelay),
+                timeHoldModel(new IntMinQueue() {
+                    public void insert(int e) {
+                        radixHeap.insert(e);
+                    }
+
+                    public int extractMin() {
+                        return radixHeap.extractMin();
+                    }
+                }, pending, steps, maxDelay),
+                timeHoldModel(new IntMinQueue() {
+                    public void insert(int e) {
+                        priorityQueue.add(e);
+                    }
+
+                    public int extractMin() {
+                        return priorityQueue.poll();
+                    }
+                }, pending, steps, maxDelay));
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) {
+        System.out.println("Welcome to the rabbit hole of radix heaps!\n");
+        RadixHeap heap = new RadixHeap();
+        System.out.println("Inserting 40 -5 20 80 30 70 ...");
+        for (int e : new int[]{40, -5, 20, 80, 30, 70}) heap.insert(e);
+        System.out.println("Heap: " + heap + ", extracting " + heap.extractMin() + " and " + heap.extractMin());
+        System.out.println("Inserting 25, 20 and 90 ...");
+        for (int e : new int[]{25, 20, 90}) heap.insert(e);
+        try {
+            heap.insert(19);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Inserting 19: " + e.getMessage());
+        }
+        System.out.print("Extracting all: ");
+        while (!heap.isEmpty()) System.out.print(heap.extractMin() + " ");
+        System.out.println();
+
+        System.out.println("\n/* Hold model, 5M extractions and 5M insertions of later keys (time in ms) */");
+        System.out.printf("%-12s%-14s%-12s%-12s%-12s%-16s\n", "Pending", "Max delay", "MinHeap", "4-ary", "RadixHeap",
+                "PriorityQueue");
+        benchmarkHoldModel(1_000, 100); // the first row mostly measures the JIT
+        for (int pending : new int[]{1_000, 100_000, 1_000_000}) {
+            for (int maxDelay : new int[]{100, 100_000}) benchmarkHoldModel(pending, maxDelay);
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
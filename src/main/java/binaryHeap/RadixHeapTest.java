@@ -0,0 +1,53 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+public class RadixHeapTest {
+
+    @Test
+    public final void shouldAgreeWithAPriorityQueueOnMonotoneOperations() throws Exception {
+        Random random = new Random(20);
+        RadixHeap heap = new RadixHeap();
+        PriorityQueue<Integer> reference = new PriorityQueue<>();
+        int last = Integer.MIN_VALUE + 1_000;
+        for (int op = 0; op < 200_000; op++) {
+            if (reference.isEmpty() || random.nextInt(5) < 3) {
+                int key = last + (random.nextBoolean() ? random.nextInt(10) : random.nextInt(Integer.MAX_VALUE));
+                if (key < last) key = Integer.MAX_VALUE; // overflowed
+                heap.insert(key);
+                reference.add(key);
+            } else {
+                Assert.assertEquals((long) reference.peek(), heap.getMin());
+                last = heap.extractMin();
+                Assert.assertEquals((long) reference.poll(), last);
+            }
+            Assert.assertEquals(reference.size(), heap.size());
+        }
+    }
+
+    @Test
+    public final void shouldRejectKeysBelowTheLastExtracted() throws Exception {
+        RadixHeap heap = new RadixHeap();
+        heap.insert(-3);
+        heap.insert(10);
+        Assert.assertEquals(-3, heap.extractMin());
+        heap.insert(-3); // equal to the last key extracted is fine
+        try {
+            heap.insert(-4);
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        Assert.assertEquals(-3, heap.extractMin());
+        Assert.assertEquals(10, heap.extractMin());
+        try {
+            heap.extractMin();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package binaryHeap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The median of the last N ints of a stream, e.g. the p50 latency of the last N requests, in O(logN) amortized per
+ * value and O(1) per median.
+ * <p>
+ * As in MedianTracker, a max heap holds the lower half of the window and a min heap the upper half. The value leaving
+ * the window, however, can sit anywhere inside either heap, and a heap only removes its root cheaply. It is therefore
+ * deleted lazily: it stays where it is, uncounted, and is only thrown away once it surfaces at a root. The halves are
+ * balanced on their counts of live values, never on their physical sizes.
+ * <p>
+ * - Discussion -
+ * Lazy deletion usually keeps a hash map from value to the number of copies pending deletion. Here every value enters
+ * the heaps packed in a long together with its sequence number, value in the high half and sequence number in the low
+ * half. That keeps the order of values, makes every element unique, and tells whether an element left the window by
+ * its sequence number alone, without any map. Uniqueness also tells in which half the leaving value sits: in the lower
+ * one exactly when it is not above the root of the lower half. The packed longs are why the heaps are LongDaryMinHeaps,
+ * MinHeap holding ints only, and in a fixed capacity that the dead elements could overflow.
+ * <p>
+ * Values that never surface could pile up, so both heaps are rebuilt from the window once they hold more dead elements
+ * than the window size. That costs O(NlogN) after at least N values, which keeps the memory at O(N) and the time at
+ * O(logN) amortized.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://leetcode.com/problems/sliding-window-median/
+ */
+public class SlidingWindowMedian {
+
+    private final int window;
+    private final int[] ring; // the values of the window, the oldest at ringPos once the window is full
+    private int ringPos;
+    private int filled;       // values in the window, up to its size
+    private int nextSeq;      // sequence number of the next value, wrapping around
+    private LongDaryMinHeap lower = new LongDaryMinHeap(); // ~packed of the lower half, whose root is the largest
+    private LongDaryMinHeap upper = new LongDaryMinHeap();
+    private int lowerLive;
+    private int upperLive;
+
+    public SlidingWindowMedian(int window) {
+        if (window < 1) throw new IllegalArgumentException("Window must hold at least one value!");
+        this.window = window;
+        this.ring = new int[window];
+    }
+
+    private static long pack(int value, int seq) {
+        return (long) value << 32 | seq & 0xFFFFFFFFL;
+    }
+
+    private static int valueOf(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    private boolean expired(long packed) {
+        return this.nextSeq - (int) packed > this.window; // wraps around like the sequence numbers themselves
+    }
+
+    public int size() {
+        return this.filled;
+    }
+
+    public void add(int value) {
+        int seq = this.nextSeq++;
+        if (this.filled == this.window) { // the oldest value leaves the window, already expired by nextSeq++
+            long leaving = pack(this.ring[this.ringPos], seq - this.window);
+            if (this.lowerLive > 0 && leaving <= ~this.lower.getMin()) this.lowerLive--;
+            else this.upperLive--;
+            pruneLower();
+            pruneUpper();
+        } else {
+            this.filled++;
+        }
+        this.ring[this.ringPos] = value;
+        this.ringPos = this.ringPos + 1 == this.window ? 0 : this.ringPos + 1;
+
+        long packed = pack(value, seq);
+        boolean toLower = this.lowerLive > 0 ? packed <= ~this.lower.getMin()
+                : this.upperLive == 0 || packed < this.upper.getMin(); // the lower half may just have lost its last
+        if (toLower) {
+            this.lower.insert(~packed);
+            this.lowerLive++;
+        } else {
+            this.upper.insert(packed);
+            this.upperLive++;
+        }
+        while (this.lowerLive > this.upperLive + 1) { // up to twice, when the leaving value was in the other half
+            this.upper.insert(~this.lower.extractMin());
+            this.lowerLive--;
+            this.upperLive++;
+            pruneLower();
+        }
+        while (this.upperLive > this.lowerLive) {
+            this.lower.insert(~this.upper.extractMin());
+            this.upperLive--;
+            this.lowerLive++;
+            pruneUpper();
+        }
+        if (this.lower.size() + this.upper.size() > 2 * this.window) rebuild();
+    }
+
+    /**
+     * The middle value of the window, or the mean of both middle values when it holds an even count
+     */
+    public double median() {
+        if (this.filled == 0) throw new NoSuchElementException("No value seen yet!");
+        int lowerMedian = valueOf(~this.lower.getMin());
+        if (this.lowerLive > this.upperLive) return lowerMedian;
+        return ((double) lowerMedian + valueOf(this.upper.getMin())) / 2;
+    }
+
+    /**
+     * The middle value of the window, or the smaller of both middle values when it holds an even count
+     */
+    public int lowerMedian() {
+        if (this.filled == 0) throw new NoSuchElementException("No value seen yet!");
+        return valueOf(~this.lower.getMin());
+    }
+
+    /* Throw away dead elements at the roots, so that both roots are live or their heap is empty */
+    private void pruneLower() {
+        while (!this.lower.isEmpty() && expired(~this.lower.getMin())) this.lower.extractMin();
+    }
+
+    private void pruneUpper() {
+        while (!this.upper.isEmpty() && expired(this.upper.getMin())) this.upper.extractMin();
+    }
+
+    /**
+     * Rebuild both heaps from the window alone, dropping every dead element
+     */
+    private void rebuild() {
+        long[] packed = new long[this.filled];
+        int pos = this.filled == this.window ? this.ringPos : 0; // the oldest value
+        for (int i = 0; i < this.filled; i++) {
+            packed[i] = pack(this.ring[pos], this.nextSeq - this.filled + i);
+            pos = pos + 1 == this.window ? 0 : pos + 1;
+        }
+        Arrays.sort(packed);
+        this.lowerLive = (this.filled + 1) / 2;
+        this.upperLive = this.filled - this.lowerLive;
+        long[] lowerHalf = new long[this.lowerLive];
+        for (int i = 0; i < this.lowerLive; i++) lowerHalf[i] = ~packed[i];
+        this.lower = new LongDaryMinHeap(lowerHalf, 4);
+        this.upper = new LongDaryMinHeap(Arrays.copyOfRange(packed, this.lowerLive, this.filled), 4);
+    }
+
+    /* Benchmark (start) */
+
+    /**
+     * Median of every window by copying and sorting it, the straightforward way
+     */
+    private static double[] mediansBySorting(int[] values, int window) {
+        double[] medians = new double[values.length];
+        int[] copy = new int[window];
+        for (int i = 0; i < values.length; i++) {
+            int from = Math.max(0, i - window + 1), n = i - from + 1;
+            System.arraycopy(values, from, copy, 0, n);
+            Arrays.sort(copy, 0, n);
+            medians[i] = n % 2 == 1 ? copy[n / 2] : ((double) copy[n / 2 - 1] + copy[n / 2]) / 2;
+        }
+        return medians;
+    }
+
+    private static double[] mediansByHeaps(int[] values, int window) {
+        double[] medians = new double[values.length];
+        SlidingWindowMedian slidingMedian = new SlidingWindowMedian(window);
+        for (int i = 0; i < values.length; i++) {
+            slidingMedian.add(values[i]);
+            medians[i] = slidingMedian.median();
+        }
+        return medians;
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) {
+        System.out.println("Welcome to the rabbit hole of sliding window medians!\n");
+        SlidingWindowMedian slidingMedian = new SlidingWindowMedian(3);
+        for (int value : new int[]{1, 3, -1, -3, 5, 3, 6, 7}) {
+            slidingMedian.add(value);
+            System.out.println("Added " + value + ", median of the last 3: " + slidingMedian.median());
+        }
+
+        System.out.println("\n/* Median after every value of a stream of simulated latencies (time in ms) */");
+        int[] latencies = new int[1_000_000];
+        for (int i = 0; i < latencies.length; i++) { // mostly fast, with a long tail
+            latencies[i] = (int) (1_000 / (1 - ThreadLocalRandom.current().nextDouble() * 0.999));
+        }
+        mediansByHeaps(latencies, 1_001); // so that the table does not measure the JIT
+        System.out.printf("%-10s%-10s%-16s%-16s\n", "Window", "Values", "Sorting", "Dual heaps");
+        for (int window : new int[]{101, 1_001, 10_001}) {
+            int sortedNum = window > 1_001 ? 20_000 : 200_000; // sorting every window takes too long beyond
+            int[] values = Arrays.copyOf(latencies, sortedNum);
+            long startTime = System.nanoTime();
+            double[] bySorting = mediansBySorting(values, window);
+            long sortingTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            if (!Arrays.equals(bySorting, mediansByHeaps(values, window))) throw new AssertionError("Medians differ!");
+            startTime = System.nanoTime();
+            mediansByHeaps(values, window);
+            long heapsTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            System.out.printf("%-10d%-10d%-16d%-16d\n", window, sortedNum, sortingTime, heapsTime);
+            startTime = System.nanoTime();
+            mediansByHeaps(latencies, window);
+            heapsTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            System.out.printf("%-10d%-10d%-16s%-16d\n", window, latencies.length, "-", heapsTime);
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
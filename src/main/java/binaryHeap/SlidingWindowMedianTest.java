@@ -0,0 +1,64 @@
+package binaryHeap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class SlidingWindowMedianTest {
+
+    private static double sortedMedian(int[] values, int from, int to) {
+        int[] copy = Arrays.copyOfRange(values, from, to);
+        Arrays.sort(copy);
+        int n = copy.length;
+        return n % 2 == 1 ? copy[n / 2] : ((double) copy[n / 2 - 1] + copy[n / 2]) / 2;
+    }
+
+    @Test
+    public final void shouldMatchTheMedianOfTheSortedWindow() throws Exception {
+        Random random = new Random(22);
+        for (int window : new int[]{1, 2, 3, 10, 101}) {
+            int[] values = new int[5_000];
+            for (int i = 0; i < values.length; i++) values[i] = random.nextInt(50) - 25; // plenty of duplicates
+            SlidingWindowMedian slidingMedian = new SlidingWindowMedian(window);
+            for (int i = 0; i < values.length; i++) {
+                slidingMedian.add(values[i]);
+                int from = Math.max(0, i - window + 1);
+                Assert.assertEquals(sortedMedian(values, from, i + 1), slidingMedian.median(), 0.0);
+                Assert.assertEquals(i + 1 - from, slidingMedian.size());
+            }
+        }
+    }
+
+    @Test
+    public final void shouldStayCorrectOnMonotoneInputThatLeavesDeadValuesBuried() throws Exception {
+        int window = 50;
+        int[] values = new int[20_000];
+        for (int i = 0; i < values.length; i++) { // two rising trends, the old lows sink to the bottom of the max heap
+            values[i] = i % 2 == 0 ? i : Integer.MIN_VALUE + i;
+        }
+        SlidingWindowMedian slidingMedian = new SlidingWindowMedian(window);
+        for (int i = 0; i < values.length; i++) {
+            slidingMedian.add(values[i]);
+            Assert.assertEquals(sortedMedian(values, Math.max(0, i - window + 1), i + 1), slidingMedian.median(), 0.0);
+        }
+    }
+
+    @Test
+    public final void shouldHandleExtremeValuesAndAnEmptyWindow() throws Exception {
+        SlidingWindowMedian slidingMedian = new SlidingWindowMedian(2);
+        try {
+            slidingMedian.median();
+            Assert.fail();
+        } catch (NoSuchElementException expected) {
+        }
+        slidingMedian.add(Integer.MAX_VALUE);
+        slidingMedian.add(Integer.MAX_VALUE);
+        Assert.assertEquals(Integer.MAX_VALUE, slidingMedian.median(), 0.0);
+        slidingMedian.add(Integer.MIN_VALUE);
+        Assert.assertEquals(-0.5, slidingMedian.median(), 0.0);
+        Assert.assertEquals(Integer.MIN_VALUE, slidingMedian.lowerMedian());
+    }
+}
@@ -0,0 +1,339 @@
+package graph.entities;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable graph (directed) in Compressed Sparse Row (CSR) form: two int arrays and no object per edge. 
+ * 
+ * The targets of all edges are laid out in one array, grouped by source vertex, and offsets[v] tells where the group 
+ * of vertex v starts, offsets[v+1] where it ends. Visiting the neighbours of a vertex is then a scan over a contiguous 
+ * run of ints, where Graph follows the nodes of a LinkedList and unboxes an Integer per neighbour. 
+ * 
+ * [Graph (LinkedList<Integer>[])]
+ * - Space per edge: a 24-byte list node plus a 16-byte Integer beyond the cached -128 ... 127, about 40 bytes
+ * - Add an edge: O(1)
+ * 
+ * [CSRGraph]
+ * - Space per edge: 4 bytes, plus 4 bytes per vertex for the offsets
+ * - Add an edge: only through the Builder, before the graph is built
+ * 
+ * Edges are added to a Builder with the same addEdge calls as Graph, then build() sorts them by source vertex with a 
+ * counting sort in O(V+E). The sort is stable, so neighbours keep the order they were added in, and BFS/DFS visit 
+ * vertices in the very same order as Graph does. 
+ * 
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * 
+ * https://en.wikipedia.org/wiki/Sparse_matrix#Compressed_sparse_row_(CSR,_CRS_or_Yale_format)
+ */
+public class CSRGraph {
+	final int numberOfVertices;
+	final int[] offsets; // edges of vertex v are targets[offsets[v]] ... targets[offsets[v+1]-1]
+	final int[] targets;
+	
+	private CSRGraph(int numberOfVertices, int[] offsets, int[] targets) {
+		this.numberOfVertices = numberOfVertices;
+		this.offsets = offsets;
+		this.targets = targets;
+	}
+	
+	/**
+	 * Collects edges in two growable int arrays until build() lays them out in CSR form
+	 */
+	public static class Builder {
+		private final int numberOfVertices;
+		private int[] starts;
+		private int[] ends;
+		private int numberOfEdges;
+		
+		public Builder(int numberOfVertices) {
+			this(numberOfVertices, 16);
+		}
+		
+		/**
+		 * Size the edge arrays up front when the number of edges is known, saving the copies made while growing
+		 */
+		public Builder(int numberOfVertices, int expectedEdges) {
+			if (numberOfVertices < 0) throw new IllegalArgumentException("Number of vertices cannot be negative!");
+			this.numberOfVertices = numberOfVertices;
+			this.starts = new int[Math.max(1, expectedEdges)];
+			this.ends = new int[Math.max(1, expectedEdges)];
+		}
+		
+		/**
+		 * Like Graph.addEdge(), an edge from or to a vertex out of range is ignored
+		 */
+		public Builder addEdge(int start, int end) {
+			if (start < 0 || start > this.numberOfVertices-1 || end < 0 || end > this.numberOfVertices-1) return this;
+			if (this.numberOfEdges == this.starts.length) {
+				int capacity = (int) Math.min(Integer.MAX_VALUE - 8, 2L * this.starts.length);
+				if (capacity == this.numberOfEdges) throw new IllegalStateException("Too many edges!");
+				this.starts = Arrays.copyOf(this.starts, capacity);
+				this.ends = Arrays.copyOf(this.ends, capacity);
+			}
+			this.starts[this.numberOfEdges] = start;
+			this.ends[this.numberOfEdges++] = end;
+			return this;
+		}
+		
+		/**
+		 * Counting sort of the edges by start vertex: count the edges of every vertex, turn the counts into offsets 
+		 * by a prefix sum, then drop every edge at the next free slot of its start vertex. 
+		 */
+		public CSRGraph build() {
+			int[] offsets = new int[this.numberOfVertices + 1];
+			for (int e=0; e<this.numberOfEdges; e++) offsets[this.starts[e] + 1]++;
+			for (int v=0; v<this.numberOfVertices; v++) offsets[v+1] += offsets[v];
+			int[] next = Arrays.copyOf(offsets, this.numberOfVertices);
+			int[] targets = new int[this.numberOfEdges];
+			for (int e=0; e<this.numberOfEdges; e++) targets[next[this.starts[e]]++] = this.ends[e];
+			return new CSRGraph(this.numberOfVertices, offsets, targets);
+		}
+	}
+	
+	/**
+	 * The CSR form of a Graph, with the neighbours of every vertex in the order of its adjacency list
+	 */
+	public static CSRGraph fromGraph(Graph graph) {
+		int edgeNum = 0;
+		for (LinkedList<Integer> adjList: graph.adjListArray) edgeNum += adjList.size();
+		Builder builder = new Builder(graph.numberOfVertices, edgeNum);
+		for (int v=0; v<graph.numberOfVertices; v++) {
+			for (int next: graph.adjListArray[v]) builder.addEdge(v, next);
+		}
+		return builder.build();
+	}
+	
+	/**
+	 * The graph with every edge reversed, whose neighbours of a vertex are the vertices with an edge to it. Built by 
+	 * the same counting sort as build(), this time by target vertex. 
+	 */
+	public CSRGraph transpose() {
+		int[] reverseOffsets = new int[this.numberOfVertices + 1];
+		for (int target: this.targets) reverseOffsets[target + 1]++;
+		for (int v=0; v<this.numberOfVertices; v++) reverseOffsets[v+1] += reverseOffsets[v];
+		int[] next = Arrays.copyOf(reverseOffsets, this.numberOfVertices);
+		int[] sources = new int[this.targets.length];
+		for (int v=0; v<this.numberOfVertices; v++) {
+			for (int e=this.offsets[v]; e<this.offsets[v+1]; e++) sources[next[this.targets[e]]++] = v;
+		}
+		return new CSRGraph(this.numberOfVertices, reverseOffsets, sources);
+	}
+	
+	public int numberOfVertices() {
+		return this.numberOfVertices;
+	}
+	
+	public int numberOfEdges() {
+		return this.targets.length;
+	}
+	
+	public int outDegree(int vertex) {
+		return this.offsets[vertex+1] - this.offsets[vertex];
+	}
+	
+	/**
+	 * The i-th neighbour of the vertex, for 0 <= i < outDegree(vertex)
+	 */
+	public int neighbour(int vertex, int i) {
+		if (i < 0 || i >= outDegree(vertex)) {
+			throw new IndexOutOfBoundsException("Vertex " + vertex + " has no neighbour " + i);
+		}
+		return this.targets[this.offsets[vertex] + i];
+	}
+	
+	public void print() {
+		for (int v=0; v<this.numberOfVertices; v++) {
+			System.out.print("Vertex " + v + ": ");
+			for (int e=this.offsets[v]; e<this.offsets[v+1]; e++) System.out.print(" " + this.targets[e]);
+			System.out.println();
+		}
+	}
+	
+	/**
+	 * Breadth First Search over the whole graph, restarting from every vertex left unvisited, as Graph.BFS() does. 
+	 * Returns the vertices in visiting order instead of printing them. The queue is a plain int array: every vertex 
+	 * enters it once, so it never holds more than V vertices and needs no wrap around. 
+	 */
+	public int[] BFS() {
+		int[] order = new int[this.numberOfVertices]; // doubles as the queue: head chases tail
+		boolean[] visited = new boolean[this.numberOfVertices];
+		int head = 0, tail = 0;
+		for (int i=0; i<this.numberOfVertices; i++) {
+			if (visited[i]) continue;
+			visited[i] = true;
+			order[tail++] = i;
+			while (head < tail) {
+				int vertex = order[head++];
+				for (int e=this.offsets[vertex]; e<this.offsets[vertex+1]; e++) {
+					int next = this.targets[e];
+					if (!visited[next]) {
+						visited[next] = true;
+						order[tail++] = next;
+					}
+				}
+			}
+		}
+		return order;
+	}
+	
+	/**
+	 * Depth First Search over the whole graph in the pre-order of Graph.DFS(), returning the vertices in visiting 
+	 * order. Recursion would overflow the call stack on long paths, so the recursion is unrolled into an explicit 
+	 * stack of vertices, each with the position of the next edge to follow. 
+	 */
+	public int[] DFS() {
+		int[] order = new int[this.numberOfVertices];
+		boolean[] visited = new boolean[this.numberOfVertices];
+		int[] vertexStack = new int[this.numberOfVertices];
+		int[] edgeStack = new int[this.numberOfVertices];
+		int visitedNum = 0;
+		for (int i=0; i<this.numberOfVertices; i++) {
+			if (visited[i]) continue;
+			visited[i] = true;
+			order[visitedNum++] = i;
+			int top = 0;
+			vertexStack[0] = i;
+			edgeStack[0] = this.offsets[i];
+			while (top >= 0) {
+				int vertex = vertexStack[top];
+				if (edgeStack[top] == this.offsets[vertex+1]) { // all edges followed
+					top--;
+					continue;
+				}
+				int next = this.targets[edgeStack[top]++];
+				if (visited[next]) continue;
+				visited[next] = true;
+				order[visitedNum++] = next;
+				vertexStack[++top] = next;
+				edgeStack[top] = this.offsets[next];
+			}
+		}
+		return order;
+	}
+	
+	/* Benchmark (start) */
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i=0; i<3; i++) System.gc();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+	
+	/**
+	 * Graph.BFS() without the printing, to time the traversal of the adjacency lists alone
+	 */
+	private static int[] bfsOfGraph(Graph graph) {
+		int[] order = new int[graph.numberOfVertices];
+		java.util.Queue<Integer> vertexQ = new java.util.LinkedList<>();
+		boolean[] visited = new boolean[graph.numberOfVertices];
+		int visitedNum = 0;
+		for (int i=0; i<graph.numberOfVertices; i++) {
+			if (visited[i]) continue;
+			visited[i] = true;
+			vertexQ.add(i);
+			while (!vertexQ.isEmpty()) {
+				int head = vertexQ.poll();
+				order[visitedNum++] = head;
+				for (Integer vertex: graph.adjListArray[head]) {
+					if (!visited[vertex]) {
+						visited[vertex] = true;
+						vertexQ.add(vertex);
+					}
+				}
+			}
+		}
+		return order;
+	}
+	
+	/**
+	 * Every vertex gets the given number of edges to uniformly random vertices
+	 */
+	private static int[][] randomEdges(int vertexNum, int edgesPerVertex) {
+		int[] starts = new int[vertexNum * edgesPerVertex], ends = new int[starts.length];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int e=0; e<starts.length; e++) {
+			starts[e] = e / edgesPerVertex;
+			ends[e] = random.nextInt(vertexNum);
+		}
+		return new int[][]{starts, ends};
+	}
+	
+	private static void compareWithGraph(int vertexNum, int edgesPerVertex) {
+		int[][] edges = randomEdges(vertexNum, edgesPerVertex);
+		long before = usedMemory();
+		Graph graph = new Graph(vertexNum);
+		for (int e=0; e<edges[0].length; e++) graph.addEdge(edges[0][e], edges[1][e]);
+		long graphBytes = usedMemory() - before;
+		long startTime = System.nanoTime();
+		int[] graphOrder = bfsOfGraph(graph);
+		long graphTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		graph = null; // let it go before building the CSR graph
+		
+		before = usedMemory();
+		CSRGraph csrGraph = buildCSRGraph(vertexNum, edges);
+		long csrBytes = usedMemory() - before;
+		startTime = System.nanoTime();
+		int[] csrOrder = csrGraph.BFS();
+		long csrTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		if (!Arrays.equals(graphOrder, csrOrder)) throw new AssertionError("Visiting orders differ!");
+		System.out.printf("%-12d%-12d%-20s%-20d%-20s%-20d\n", vertexNum, edges[0].length, 
+				String.format("%.1f", (double) graphBytes / edges[0].length), graphTime, 
+				String.format("%.1f", (double) csrBytes / edges[0].length), csrTime);
+	}
+	
+	private static CSRGraph buildCSRGraph(int vertexNum, int[][] edges) {
+		Builder builder = new Builder(vertexNum, edges[0].length);
+		for (int e=0; e<edges[0].length; e++) builder.addEdge(edges[0][e], edges[1][e]);
+		return builder.build();
+	}
+	/* Benchmark (end) */
+	
+	public static void main(String[] args) {
+		System.out.println("Welcome to the rabbit hole of graphs in compressed sparse row form!");
+		
+		Builder builder = new Builder(7);
+		int[][] edges = {{0, 1}, {0, 4}, {0, 5}, {4, 0}, {5, 0}, {1, 2}, {1, 4}, {1, 5}, {2, 1}, {2, 3}, {3, 4}, {4, 5}, 
+				{6, 0}, {6, 1}, {6, 2}}; // the graph of GraphAdjacencyList
+		for (int[] edge: edges) builder.addEdge(edge[0], edge[1]);
+		CSRGraph graph = builder.build();
+		System.out.println("\n/* Print out the graph by listing out every vertex and its connected adjacents. */");
+		graph.print();
+		System.out.println("offsets: " + Arrays.toString(graph.offsets));
+		System.out.println("targets: " + Arrays.toString(graph.targets));
+		System.out.println("\n/* Breadth First Search (Traverse) */");
+		System.out.println(Arrays.toString(graph.BFS()));
+		System.out.println("\n/* Depth First Search (Traverse) */");
+		System.out.println(Arrays.toString(graph.DFS()));
+		
+		System.out.println("\n/* Memory and BFS time of random graphs, Graph against CSRGraph */");
+		System.out.printf("%-12s%-12s%-20s%-20s%-20s%-20s\n", "Vertices", "Edges", "Graph bytes/edge", "Graph BFS (ms)", 
+				"CSR bytes/edge", "CSR BFS (ms)");
+		compareWithGraph(100_000, 10); // so that the table does not measure the JIT
+		compareWithGraph(1_000_000, 10);
+		compareWithGraph(2_000_000, 10);
+		
+		int vertexNum = 10_000_000, edgesPerVertex = 10;
+		System.out.println("\n/* CSRGraph alone with " + vertexNum + " vertices and " + (long) vertexNum * edgesPerVertex 
+				+ " edges, Graph would need about 40 bytes per edge */");
+		long before = usedMemory();
+		edges = randomEdges(vertexNum, edgesPerVertex);
+		long startTime = System.nanoTime();
+		graph = buildCSRGraph(vertexNum, edges);
+		long buildTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		edges = null; // count the graph alone
+		long csrBytes = usedMemory() - before;
+		startTime = System.nanoTime();
+		graph.BFS();
+		long bfsTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		startTime = System.nanoTime();
+		graph.DFS();
+		long dfsTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+		System.out.println("Built in " + buildTime + " ms, " + csrBytes / (1 << 20) + " MB, BFS in " + bfsTime 
+				+ " ms, DFS in " + dfsTime + " ms");
+		
+		System.out.println("\nAll rabbits gone.");
+	}
+}
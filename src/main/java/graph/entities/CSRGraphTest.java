@@ -0,0 +1,83 @@
+package graph.entities;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class CSRGraphTest {
+
+	private static CSRGraph build(int vertexNum, int[][] edges) {
+		CSRGraph.Builder builder = new CSRGraph.Builder(vertexNum);
+		for (int[] edge: edges) builder.addEdge(edge[0], edge[1]);
+		return builder.build();
+	}
+
+	@Test
+	public final void shouldKeepNeighboursInInsertionOrder() throws Exception {
+		CSRGraph graph = build(4, new int[][]{{2, 3}, {0, 2}, {2, 0}, {0, 1}, {2, 1}});
+		Assert.assertEquals(4, graph.numberOfVertices());
+		Assert.assertEquals(5, graph.numberOfEdges());
+		Assert.assertArrayEquals(new int[]{0, 2, 2, 5, 5}, graph.offsets);
+		Assert.assertArrayEquals(new int[]{2, 1, 3, 0, 1}, graph.targets);
+		Assert.assertEquals(0, graph.outDegree(1));
+		Assert.assertEquals(0, graph.neighbour(2, 1));
+	}
+
+	@Test
+	public final void shouldIgnoreEdgesOutOfRange() throws Exception {
+		CSRGraph graph = build(3, new int[][]{{0, 1}, {-1, 0}, {0, 3}, {3, 0}, {1, -1}, {1, 2}});
+		Assert.assertEquals(2, graph.numberOfEdges());
+		Assert.assertArrayEquals(new int[]{0, 1, 2, 2}, graph.offsets);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public final void shouldRejectMissingNeighbour() throws Exception {
+		build(2, new int[][]{{0, 1}}).neighbour(0, 1);
+	}
+
+	@Test
+	public final void shouldTraverseLikeGraphAdjacencyList() throws Exception {
+		CSRGraph graph = build(7, new int[][]{{0, 1}, {0, 4}, {0, 5}, {4, 0}, {5, 0}, {1, 2}, {1, 4}, {1, 5}, {2, 1},
+				{2, 3}, {3, 4}, {4, 5}, {6, 0}, {6, 1}, {6, 2}});
+		Assert.assertArrayEquals(new int[]{0, 1, 4, 5, 2, 3, 6}, graph.BFS());
+		Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6}, graph.DFS());
+	}
+
+	@Test
+	public final void shouldMatchRecursiveDFSOnRandomGraphs() throws Exception {
+		Random random = new Random(24);
+		for (int round = 0; round < 50; round++) {
+			int vertexNum = 1 + random.nextInt(60);
+			Graph reference = new Graph(vertexNum);
+			CSRGraph.Builder builder = new CSRGraph.Builder(vertexNum);
+			for (int e = random.nextInt(4 * vertexNum); e > 0; e--) {
+				int start = random.nextInt(vertexNum), end = random.nextInt(vertexNum);
+				reference.addEdge(start, end);
+				builder.addEdge(start, end);
+			}
+			int[] expected = new int[vertexNum];
+			boolean[] visited = new boolean[vertexNum];
+			int visitedNum = 0;
+			for (int i = 0; i < vertexNum; i++) visitedNum = recursiveDFS(reference, i, visited, expected, visitedNum);
+			Assert.assertArrayEquals(expected, builder.build().DFS());
+		}
+	}
+
+	private static int recursiveDFS(Graph graph, int vertex, boolean[] visited, int[] order, int visitedNum) {
+		if (visited[vertex]) return visitedNum;
+		visited[vertex] = true;
+		order[visitedNum++] = vertex;
+		for (int next: graph.adjListArray[vertex]) visitedNum = recursiveDFS(graph, next, visited, order, visitedNum);
+		return visitedNum;
+	}
+
+	@Test
+	public final void shouldNotOverflowTheStackOnALongPath() throws Exception {
+		int vertexNum = 1_000_000;
+		CSRGraph.Builder builder = new CSRGraph.Builder(vertexNum, vertexNum - 1);
+		for (int v = vertexNum - 1; v > 0; v--) builder.addEdge(v - 1, v);
+		int[] order = builder.build().DFS();
+		for (int v = 0; v < vertexNum; v++) Assert.assertEquals(v, order[v]);
+	}
+}
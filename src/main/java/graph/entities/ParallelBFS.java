@@ -0,0 +1,426 @@
+package graph.entities;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Breadth First Search engine over a CSRGraph, which returns the level (distance from the source) and the parent of
+ * every vertex instead of printing them, and expands one level at a time in parallel on a fork-join pool.
+ *
+ * Every level is expanded in one of two directions (direction-optimizing BFS, by Beamer et al.):
+ * - Top-down: every vertex of the frontier looks at its out-neighbours and claims those not visited yet, with a CAS on
+ * their parent so that each vertex is claimed exactly once. The work is the number of edges out of the frontier.
+ * - Bottom-up: every vertex not visited yet looks at its in-neighbours, in the transposed graph, until it finds one in
+ * the frontier, and then stops. Nobody else writes that vertex, so no CAS is needed, and the frontier is a bitmap.
+ *
+ * Top-down is the cheaper way while the frontier is small. Once it grows to a big share of the graph, as it does after
+ * a few levels on power-law graphs, most of the edges it checks lead to vertices already visited, whereas bottom-up
+ * stops at the first in-neighbour found in the frontier. With mf the edges out of the frontier, mu the edges out of
+ * the vertices not visited yet, nf the frontier size and n the number of vertices:
+ * - switch to bottom-up when mf > mu / alpha and the frontier grows
+ * - switch back to top-down when nf < n / beta and the frontier shrinks
+ *
+ * An instance holds the graph, its transpose and the pool, and can run any number of searches, even concurrently.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ *
+ * https://scottbeamer.net/pubs/beamer-sc2012.pdf
+ */
+public class ParallelBFS {
+	public static final int DEFAULT_ALPHA = 14; // values tuned by Beamer et al.
+	public static final int DEFAULT_BETA = 24;
+	private static final int TOP_DOWN_GRAIN = 1 << 10; // frontier vertices per task
+	private static final int BOTTOM_UP_GRAIN = 1 << 6; // bitmap words, of 64 vertices each, per task
+
+	private final CSRGraph graph;
+	private final CSRGraph reverse;
+	private final ForkJoinPool pool;
+	private final int alpha;
+	private final int beta;
+
+	/**
+	 * Search the graph on the common pool, with the transpose computed here
+	 */
+	public ParallelBFS(CSRGraph graph) {
+		this(graph, graph.transpose(), ForkJoinPool.commonPool(), DEFAULT_ALPHA, DEFAULT_BETA);
+	}
+
+	/**
+	 * @param reverse the transpose of the graph, or the graph itself when every edge comes with its way back
+	 * @param alpha 0 to search top-down only
+	 */
+	public ParallelBFS(CSRGraph graph, CSRGraph reverse, ForkJoinPool pool, int alpha, int beta) {
+		if (reverse.numberOfVertices != graph.numberOfVertices || reverse.numberOfEdges() != graph.numberOfEdges()) {
+			throw new IllegalArgumentException("The reverse graph is not the transpose of the graph!");
+		}
+		if (alpha < 0 || beta < 1) throw new IllegalArgumentException("Alpha cannot be negative nor beta below 1!");
+		this.graph = graph;
+		this.reverse = reverse;
+		this.pool = pool;
+		this.alpha = alpha;
+		this.beta = beta;
+	}
+
+	/**
+	 * Levels and parents of all vertices, -1 for those the source does not reach. The parent of the source is itself.
+	 */
+	public static class Result {
+		private final int[] levels;
+		private final int[] parents;
+		private final int depth;
+		private final int reachedNum;
+		private final int bottomUpLevels;
+
+		private Result(int[] levels, int[] parents, int depth, int reachedNum, int bottomUpLevels) {
+			this.levels = levels;
+			this.parents = parents;
+			this.depth = depth;
+			this.reachedNum = reachedNum;
+			this.bottomUpLevels = bottomUpLevels;
+		}
+
+		public int[] levels() {
+			return this.levels;
+		}
+
+		public int[] parents() {
+			return this.parents;
+		}
+
+		/**
+		 * The highest level reached
+		 */
+		public int depth() {
+			return this.depth;
+		}
+
+		public int reachedNum() {
+			return this.reachedNum;
+		}
+
+		/**
+		 * How many levels were expanded bottom-up
+		 */
+		public int bottomUpLevels() {
+			return this.bottomUpLevels;
+		}
+	}
+
+	/**
+	 * State of one search, shared by its tasks. Levels are written once per vertex, by the task that claimed it, and
+	 * only read in later levels: the join at the end of every level makes them visible.
+	 */
+	private class Search {
+		final int[] levels = new int[graph.numberOfVertices];
+		final AtomicIntegerArray parents = new AtomicIntegerArray(graph.numberOfVertices);
+		int[] frontier = new int[graph.numberOfVertices]; // top-down frontier, as a queue
+		int[] next = new int[graph.numberOfVertices];
+		long[] frontierBits = new long[(graph.numberOfVertices + 63) >>> 6]; // bottom-up frontier, as a bitmap
+		long[] nextBits = new long[frontierBits.length];
+		int frontierSize;
+		int level;
+		final AtomicInteger nextSize = new AtomicInteger();
+		final AtomicLong nextEdges = new AtomicLong(); // edges out of the next frontier
+
+		Search() {
+			Arrays.fill(this.levels, -1);
+			for (int v=0; v<graph.numberOfVertices; v++) this.parents.lazySet(v, -1);
+		}
+	}
+
+	/**
+	 * Expand the frontier vertices search.frontier[from] ... search.frontier[to-1] top-down
+	 */
+	private class TopDownTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final Search search;
+		private final int from, to;
+
+		TopDownTask(Search search, int from, int to) {
+			this.search = search;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from > TOP_DOWN_GRAIN) {
+				int mid = (this.from + this.to) >>> 1;
+				invokeAll(new TopDownTask(this.search, this.from, mid), new TopDownTask(this.search, mid, this.to));
+				return;
+			}
+			int[] offsets = graph.offsets, targets = graph.targets, levels = this.search.levels;
+			AtomicIntegerArray parents = this.search.parents;
+			int nextLevel = this.search.level + 1;
+			int[] claimed = new int[64];
+			int claimedNum = 0;
+			long edges = 0;
+			for (int i=this.from; i<this.to; i++) {
+				int vertex = this.search.frontier[i];
+				for (int e=offsets[vertex]; e<offsets[vertex+1]; e++) {
+					int neighbour = targets[e];
+					if (parents.get(neighbour) < 0 && parents.compareAndSet(neighbour, -1, vertex)) {
+						levels[neighbour] = nextLevel;
+						if (claimedNum == claimed.length) claimed = Arrays.copyOf(claimed, 2 * claimedNum);
+						claimed[claimedNum++] = neighbour;
+						edges += offsets[neighbour+1] - offsets[neighbour];
+					}
+				}
+			}
+			if (claimedNum == 0) return;
+			int pos = this.search.nextSize.getAndAdd(claimedNum);
+			System.arraycopy(claimed, 0, this.search.next, pos, claimedNum);
+			this.search.nextEdges.addAndGet(edges);
+		}
+	}
+
+	/**
+	 * Expand to the unvisited vertices of bitmap words search.nextBits[from] ... search.nextBits[to-1] bottom-up.
+	 * Each task owns its words of the next frontier, so it writes them whole without any clearing beforehand.
+	 */
+	private class BottomUpTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final Search search;
+		private final int from, to;
+
+		BottomUpTask(Search search, int from, int to) {
+			this.search = search;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.to - this.from > BOTTOM_UP_GRAIN) {
+				int mid = (this.from + this.to) >>> 1;
+				invokeAll(new BottomUpTask(this.search, this.from, mid), new BottomUpTask(this.search, mid, this.to));
+				return;
+			}
+			int[] offsets = reverse.offsets, sources = reverse.targets, levels = this.search.levels;
+			long[] frontierBits = this.search.frontierBits;
+			int nextLevel = this.search.level + 1;
+			int claimedNum = 0;
+			long edges = 0;
+			for (int word=this.from; word<this.to; word++) {
+				long bits = 0;
+				int last = Math.min(graph.numberOfVertices, (word + 1) << 6);
+				for (int vertex=word<<6; vertex<last; vertex++) {
+					if (levels[vertex] >= 0) continue;
+					for (int e=offsets[vertex]; e<offsets[vertex+1]; e++) {
+						int source = sources[e];
+						if ((frontierBits[source >>> 6] & 1L << source) != 0) { // shifts of a long only take 6 bits
+							this.search.parents.lazySet(vertex, source);
+							levels[vertex] = nextLevel;
+							bits |= 1L << vertex;
+							claimedNum++;
+							edges += graph.offsets[vertex+1] - graph.offsets[vertex];
+							break;
+						}
+					}
+				}
+				this.search.nextBits[word] = bits;
+			}
+			if (claimedNum == 0) return;
+			this.search.nextSize.addAndGet(claimedNum);
+			this.search.nextEdges.addAndGet(edges);
+		}
+	}
+
+	public Result search(int source) {
+		int vertexNum = this.graph.numberOfVertices;
+		if (source < 0 || source >= vertexNum) throw new IndexOutOfBoundsException("No vertex " + source);
+		Search search = new Search();
+		search.levels[source] = 0;
+		search.parents.set(source, source);
+		search.frontier[0] = source;
+		search.frontierSize = 1;
+		long frontierEdges = this.graph.outDegree(source);
+		long unvisitedEdges = this.graph.numberOfEdges() - frontierEdges;
+		int reachedNum = 1, bottomUpLevels = 0;
+		int previousSize = 0;
+		boolean bottomUp = false;
+		while (search.frontierSize > 0) {
+			if (!bottomUp && this.alpha > 0 && frontierEdges * this.alpha > unvisitedEdges
+					&& search.frontierSize > previousSize) {
+				bottomUp = true;
+				toBitmap(search);
+			}
+			search.nextSize.set(0);
+			search.nextEdges.set(0);
+			if (bottomUp) {
+				this.pool.invoke(new BottomUpTask(search, 0, search.nextBits.length));
+				long[] bits = search.frontierBits;
+				search.frontierBits = search.nextBits;
+				search.nextBits = bits;
+				bottomUpLevels++;
+			} else {
+				TopDownTask task = new TopDownTask(search, 0, search.frontierSize);
+				if (search.frontierSize > TOP_DOWN_GRAIN) this.pool.invoke(task);
+				else task.compute(); // a single task, not worth the trip to the pool
+				int[] queue = search.frontier;
+				search.frontier = search.next;
+				search.next = queue;
+			}
+			int nextSize = search.nextSize.get();
+			if (bottomUp && (long) nextSize * this.beta < vertexNum && nextSize < search.frontierSize) {
+				bottomUp = false;
+				toQueue(search);
+			}
+			previousSize = search.frontierSize;
+			search.frontierSize = nextSize;
+			frontierEdges = search.nextEdges.get();
+			unvisitedEdges -= frontierEdges;
+			reachedNum += nextSize;
+			search.level++;
+		}
+		int[] parents = new int[vertexNum];
+		for (int v=0; v<vertexNum; v++) parents[v] = search.parents.get(v);
+		return new Result(search.levels, parents, search.level - 1, reachedNum, bottomUpLevels);
+	}
+
+	private static void toBitmap(Search search) {
+		Arrays.fill(search.frontierBits, 0);
+		for (int i=0; i<search.frontierSize; i++) {
+			int vertex = search.frontier[i];
+			search.frontierBits[vertex >>> 6] |= 1L << vertex;
+		}
+	}
+
+	private static void toQueue(Search search) {
+		int size = 0;
+		for (int word=0; word<search.frontierBits.length; word++) {
+			for (long bits=search.frontierBits[word]; bits != 0; bits &= bits - 1) {
+				search.frontier[size++] = word << 6 | Long.numberOfTrailingZeros(bits);
+			}
+		}
+	}
+
+	/* Benchmark (start) */
+
+	/**
+	 * Levels the way Graph.BFS() traverses: one thread, a LinkedList<Integer> queue
+	 */
+	private static int[] levelsByLinkedList(CSRGraph graph, int source) {
+		int[] levels = new int[graph.numberOfVertices];
+		Arrays.fill(levels, -1);
+		levels[source] = 0;
+		Queue<Integer> vertexQ = new LinkedList<>();
+		vertexQ.add(source);
+		while (!vertexQ.isEmpty()) {
+			int head = vertexQ.poll();
+			for (int e=graph.offsets[head]; e<graph.offsets[head+1]; e++) {
+				int next = graph.targets[e];
+				if (levels[next] < 0) {
+					levels[next] = levels[head] + 1;
+					vertexQ.add(next);
+				}
+			}
+		}
+		return levels;
+	}
+
+	/**
+	 * R-MAT generator of power-law graphs (Chakrabarti et al.): every edge picks one quadrant of the adjacency matrix
+	 * with probabilities 0.57, 0.19, 0.19 and 0.05, then a quadrant of that quadrant, and so on down to one cell. Edges
+	 * are added both ways.
+	 */
+	private static CSRGraph rmatGraph(int scale, int edgeFactor) {
+		int vertexNum = 1 << scale, pairNum = edgeFactor << scale;
+		CSRGraph.Builder builder = new CSRGraph.Builder(vertexNum, 2 * pairNum);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int p=0; p<pairNum; p++) {
+			int start = 0, end = 0;
+			for (int bit=0; bit<scale; bit++) {
+				double r = random.nextDouble();
+				if (r >= 0.57) {
+					if (r < 0.76) end |= 1 << bit;
+					else if (r < 0.95) start |= 1 << bit;
+					else {
+						start |= 1 << bit;
+						end |= 1 << bit;
+					}
+				}
+			}
+			builder.addEdge(start, end);
+			builder.addEdge(end, start);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * A side x side grid, every vertex linked both ways to its right and lower neighbours
+	 */
+	private static CSRGraph gridGraph(int side) {
+		CSRGraph.Builder builder = new CSRGraph.Builder(side * side, 4 * side * side);
+		for (int row=0; row<side; row++) {
+			for (int col=0; col<side; col++) {
+				int vertex = row * side + col;
+				if (col+1 < side) builder.addEdge(vertex, vertex+1).addEdge(vertex+1, vertex);
+				if (row+1 < side) builder.addEdge(vertex, vertex+side).addEdge(vertex+side, vertex);
+			}
+		}
+		return builder.build();
+	}
+
+	private static void benchmark(String name, CSRGraph graph, int source, ForkJoinPool pool) {
+		ParallelBFS topDown = new ParallelBFS(graph, graph, pool, 0, DEFAULT_BETA); // undirected, its own transpose
+		ParallelBFS directionOptimizing = new ParallelBFS(graph, graph, pool, DEFAULT_ALPHA, DEFAULT_BETA);
+		for (int round=0; round<2; round++) { // the first round mostly measures the JIT
+			long startTime = System.nanoTime();
+			int[] expected = levelsByLinkedList(graph, source);
+			long linkedListTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			startTime = System.nanoTime();
+			Result byTopDown = topDown.search(source);
+			long topDownTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			startTime = System.nanoTime();
+			Result byDirectionOptimizing = directionOptimizing.search(source);
+			long directionOptimizingTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+			if (!Arrays.equals(expected, byTopDown.levels()) || !Arrays.equals(expected, byDirectionOptimizing.levels())) {
+				throw new AssertionError("Levels differ!");
+			}
+			if (round == 0) continue;
+			System.out.printf("%-14s%-12d%-12d%-8d%-14s%-16d%-16d%-16d\n", name, graph.numberOfVertices,
+					graph.numberOfEdges(), byDirectionOptimizing.depth(),
+					byDirectionOptimizing.bottomUpLevels() + "/" + (byDirectionOptimizing.depth() + 1),
+					linkedListTime, topDownTime, directionOptimizingTime);
+		}
+	}
+	/* Benchmark (end) */
+
+	public static void main(String[] args) {
+		System.out.println("Welcome to the rabbit hole of parallel breadth first search!");
+
+		CSRGraph.Builder builder = new CSRGraph.Builder(7);
+		int[][] edges = {{0, 1}, {0, 4}, {0, 5}, {4, 0}, {5, 0}, {1, 2}, {1, 4}, {1, 5}, {2, 1}, {2, 3}, {3, 4}, {4, 5},
+				{6, 0}, {6, 1}, {6, 2}}; // the graph of GraphAdjacencyList
+		for (int[] edge: edges) builder.addEdge(edge[0], edge[1]);
+		Result result = new ParallelBFS(builder.build()).search(0);
+		System.out.println("\n/* Search from vertex 0, -1 for vertices out of reach */");
+		System.out.println("Levels:  " + Arrays.toString(result.levels()));
+		System.out.println("Parents: " + Arrays.toString(result.parents()));
+
+		ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		System.out.println("\n/* Search on " + pool.getParallelism() + " thread(s), bottom-up levels out of all levels "
+				+ "(time in ms) */");
+		System.out.printf("%-14s%-12s%-12s%-8s%-14s%-16s%-16s%-16s\n", "Graph", "Vertices", "Edges", "Depth",
+				"Bottom-up", "LinkedList", "Top-down", "Direction-opt");
+		CSRGraph graph = rmatGraph(21, 8);
+		benchmark("R-MAT", graph, 0, pool);
+		graph = null;
+		graph = gridGraph(2048);
+		benchmark("Grid corner", graph, 0, pool);
+		benchmark("Grid centre", graph, 1024 * 2048 + 1024, pool);
+		pool.shutdown();
+
+		System.out.println("\nAll rabbits gone.");
+	}
+}
@@ -0,0 +1,122 @@
+package graph.entities;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class ParallelBFSTest {
+
+	private static int[] sequentialLevels(CSRGraph graph, int source) {
+		int[] levels = new int[graph.numberOfVertices()];
+		Arrays.fill(levels, -1);
+		levels[source] = 0;
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		queue.add(source);
+		while (!queue.isEmpty()) {
+			int vertex = queue.poll();
+			for (int i = 0; i < graph.outDegree(vertex); i++) {
+				int next = graph.neighbour(vertex, i);
+				if (levels[next] < 0) {
+					levels[next] = levels[vertex] + 1;
+					queue.add(next);
+				}
+			}
+		}
+		return levels;
+	}
+
+	private static CSRGraph randomGraph(Random random, int vertexNum, int edgeNum, int hubNum) {
+		CSRGraph.Builder builder = new CSRGraph.Builder(vertexNum);
+		for (int e = 0; e < edgeNum; e++) { // half of the edges touch a few hubs, to grow big frontiers
+			int start = random.nextInt(vertexNum), end = random.nextInt(vertexNum);
+			if (random.nextBoolean()) end = random.nextInt(hubNum);
+			builder.addEdge(start, end);
+			if (random.nextBoolean()) builder.addEdge(end, start);
+		}
+		return builder.build();
+	}
+
+	private static void assertValid(CSRGraph graph, int source, ParallelBFS.Result result) {
+		int[] expected = sequentialLevels(graph, source), levels = result.levels(), parents = result.parents();
+		Assert.assertArrayEquals(expected, levels);
+		int reachedNum = 0, depth = 0;
+		for (int v = 0; v < graph.numberOfVertices(); v++) {
+			if (levels[v] < 0) {
+				Assert.assertEquals(-1, parents[v]);
+				continue;
+			}
+			reachedNum++;
+			depth = Math.max(depth, levels[v]);
+			if (v == source) {
+				Assert.assertEquals(source, parents[v]);
+				continue;
+			}
+			int parent = parents[v];
+			Assert.assertEquals(levels[v] - 1, levels[parent]);
+			boolean edge = false;
+			for (int i = 0; i < graph.outDegree(parent); i++) edge |= graph.neighbour(parent, i) == v;
+			Assert.assertTrue("No edge from parent " + parent + " to " + v, edge);
+		}
+		Assert.assertEquals(reachedNum, result.reachedNum());
+		Assert.assertEquals(depth, result.depth());
+	}
+
+	@Test
+	public final void shouldFindLevelsAndParentsOnTheGraphOfGraphAdjacencyList() throws Exception {
+		Graph graph = new Graph(7);
+		int[][] edges = {{0, 1}, {0, 4}, {0, 5}, {4, 0}, {5, 0}, {1, 2}, {1, 4}, {1, 5}, {2, 1}, {2, 3}, {3, 4},
+				{4, 5}, {6, 0}, {6, 1}, {6, 2}};
+		for (int[] edge : edges) graph.addEdge(edge[0], edge[1]);
+		ParallelBFS.Result result = new ParallelBFS(CSRGraph.fromGraph(graph)).search(0);
+		Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 1, 1, -1}, result.levels());
+		Assert.assertArrayEquals(new int[]{0, 0, 1, 2, 0, 0, -1}, result.parents());
+		Assert.assertEquals(3, result.depth());
+		Assert.assertEquals(6, result.reachedNum());
+	}
+
+	@Test
+	public final void shouldAgreeWithASequentialSearchInEveryDirection() throws Exception {
+		Random random = new Random(25);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		for (int round = 0; round < 10; round++) {
+			int vertexNum = 1 + random.nextInt(200_000);
+			CSRGraph graph = randomGraph(random, vertexNum, random.nextInt(8 * vertexNum), 1 + random.nextInt(100));
+			CSRGraph reverse = graph.transpose();
+			int source = random.nextInt(vertexNum);
+			ParallelBFS topDown = new ParallelBFS(graph, reverse, pool, 0, ParallelBFS.DEFAULT_BETA);
+			ParallelBFS defaults = new ParallelBFS(graph, reverse, pool, ParallelBFS.DEFAULT_ALPHA,
+					ParallelBFS.DEFAULT_BETA);
+			ParallelBFS bottomUp = new ParallelBFS(graph, reverse, pool, Integer.MAX_VALUE, Integer.MAX_VALUE);
+			assertValid(graph, source, topDown.search(source));
+			assertValid(graph, source, defaults.search(source));
+			ParallelBFS.Result result = bottomUp.search(source);
+			assertValid(graph, source, result);
+			if (graph.outDegree(source) > 0) Assert.assertEquals(result.depth() + 1, result.bottomUpLevels());
+		}
+		pool.shutdown();
+	}
+
+	@Test
+	public final void shouldTransposeEveryEdge() throws Exception {
+		CSRGraph.Builder builder = new CSRGraph.Builder(4);
+		builder.addEdge(0, 1).addEdge(0, 2).addEdge(3, 1).addEdge(1, 1);
+		CSRGraph reverse = builder.build().transpose();
+		Assert.assertArrayEquals(new int[]{0, 0, 3, 4, 4}, reverse.offsets);
+		Assert.assertArrayEquals(new int[]{0, 1, 3, 0}, reverse.targets);
+	}
+
+	@Test(expected = IndexOutOfBoundsException.class)
+	public final void shouldRejectASourceOutOfRange() throws Exception {
+		new ParallelBFS(new CSRGraph.Builder(3).build()).search(3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void shouldRejectAReverseGraphOfAnotherSize() throws Exception {
+		CSRGraph graph = new CSRGraph.Builder(3).addEdge(0, 1).build();
+		new ParallelBFS(graph, new CSRGraph.Builder(4).build(), ForkJoinPool.commonPool(), 14, 24);
+	}
+}
@@ -0,0 +1,258 @@
+package integerArray.kthSmallestElementInArray;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import binaryHeap.DaryMinHeap;
+import utils.FunIntAlgorithm;
+
+/**
+ * The k largest (top-K) or k smallest (bottom-K) values of a stream of ints of any length, in O(K) memory.
+ * <p>
+ * kthSmallestElementInArray filters an array through a heap of k elements, but needs the whole array up front, and
+ * boxes every element into a PriorityQueue. Here values arrive one at a time or in chunks, the result is available at
+ * any moment, and the heap is a primitive DaryMinHeap of at most k elements:
+ * <p>
+ * - top-K keeps a min heap of the k largest values seen, whose root is the bar a new value has to clear. Most values
+ * of a long stream do not, and cost a single comparison against the bar, cached in a local variable for chunks
+ * - bottom-K is top-K on ~value: bitwise NOT reverses the int order without the overflow of negating MIN_VALUE
+ * <p>
+ * An instance is not thread-safe. To spread a stream over threads, give each thread its own instance and merge them
+ * at the end: the top-K of a union is the top-K of the partial top-Ks.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class StreamingTopK extends FunIntAlgorithm {
+
+    private final int k;
+    private final boolean largest;
+    private final DaryMinHeap heap; // top-K of the encoded values
+    private long count;             // values seen, including merged ones
+
+    private StreamingTopK(int k, boolean largest) {
+        if (k < 1) throw new IllegalArgumentException("K must be at least 1!");
+        this.k = k;
+        this.largest = largest;
+        this.heap = new DaryMinHeap(4, k);
+    }
+
+    /**
+     * Keep the k largest values
+     */
+    public static StreamingTopK topK(int k) {
+        return new StreamingTopK(k, true);
+    }
+
+    /**
+     * Keep the k smallest values
+     */
+    public static StreamingTopK bottomK(int k) {
+        return new StreamingTopK(k, false);
+    }
+
+    private int encode(int value) {
+        return this.largest ? value : ~value;
+    }
+
+    public int k() {
+        return this.k;
+    }
+
+    /**
+     * Number of values kept, k once at least k values were seen
+     */
+    public int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * Number of values seen so far
+     */
+    public long count() {
+        return this.count;
+    }
+
+    public void accept(int value) {
+        this.count++;
+        int e = encode(value);
+        if (this.heap.size() < this.k) this.heap.insert(e);
+        else if (e > this.heap.getMin()) this.heap.replaceMin(e);
+    }
+
+    public void accept(int[] values) {
+        accept(values, 0, values.length);
+    }
+
+    /**
+     * Accept values[from] ... values[to-1]
+     */
+    public void accept(int[] values, int from, int to) {
+        if (from < 0 || to > values.length || from > to) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") is out of [0, " + values.length + ")");
+        }
+        this.count += to - from;
+        int i = from;
+        while (i < to && this.heap.size() < this.k) this.heap.insert(encode(values[i++]));
+        if (i == to) return;
+        int bar = this.heap.getMin();
+        if (this.largest) {
+            for (; i < to; i++) {
+                if (values[i] > bar) {
+                    this.heap.replaceMin(values[i]);
+                    bar = this.heap.getMin();
+                }
+            }
+        } else {
+            for (; i < to; i++) {
+                if (~values[i] > bar) {
+                    this.heap.replaceMin(~values[i]);
+                    bar = this.heap.getMin();
+                }
+            }
+        }
+    }
+
+    /**
+     * Fold the values kept by another instance of the same kind (top or bottom, same k) into this one
+     */
+    public void merge(StreamingTopK other) {
+        if (other.k != this.k || other.largest != this.largest) {
+            throw new IllegalArgumentException("Only a " + (this.largest ? "top" : "bottom") + "-" + this.k
+                    + " can be merged!");
+        }
+        long seen = this.count + other.count;
+        for (int e : other.heap.toArray()) accept(encode(e));
+        this.count = seen;
+    }
+
+    /**
+     * The values kept, the largest first for top-K and the smallest first for bottom-K
+     */
+    public int[] toSortedArray() {
+        int[] encoded = this.heap.toArray();
+        Arrays.sort(encoded);
+        int[] values = new int[encoded.length];
+        for (int i = 0; i < encoded.length; i++) values[i] = encode(encoded[encoded.length - 1 - i]);
+        return values;
+    }
+
+    /**
+     * The k-th largest value for top-K, the k-th smallest for bottom-K, once k values were seen
+     */
+    public int kth() {
+        if (this.heap.size() < this.k) throw new IllegalStateException("Fewer than " + this.k + " values seen!");
+        return encode(this.heap.getMin());
+    }
+
+    public void clear() {
+        this.heap.clear();
+        this.count = 0;
+    }
+
+    /* Benchmark (start) */
+
+    /**
+     * The bounded heap of kthSmallestElementInArray.findkthSmallestByMaxHeap, returning the k smallest values
+     */
+    private static int[] bottomKByPriorityQueue(int[] a, int k) {
+        PriorityQueue<Integer> maxHeap = new PriorityQueue<>(Collections.reverseOrder());
+        for (int i = 0; i < k; i++) maxHeap.add(a[i]);
+        for (int i = k; i < a.length; i++) {
+            if (a[i] < maxHeap.peek()) {
+                maxHeap.poll();
+                maxHeap.add(a[i]);
+            }
+        }
+        int[] values = new int[k];
+        for (int i = k - 1; i >= 0; i--) values[i] = maxHeap.poll();
+        return values;
+    }
+
+    /**
+     * Every thread generates its share of random values chunk by chunk into its own bottom-K, merged at the end
+     */
+    private static StreamingTopK parallelBottomK(long total, int k, int threads) throws Exception {
+        StreamingTopK[] partials = new StreamingTopK[threads];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            StreamingTopK partial = partials[t] = bottomK(k);
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                int[] chunk = new int[1 << 16];
+                for (long left = total / threads; left > 0; left -= chunk.length) {
+                    int n = (int) Math.min(left, chunk.length);
+                    for (int i = 0; i < n; i++) chunk[i] = random.nextInt();
+                    partial.accept(chunk, 0, n);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+        pool.shutdown();
+        for (int t = 1; t < threads; t++) partials[0].merge(partials[t]);
+        return partials[0];
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of streaming top-K!\n");
+        StreamingTopK top3 = topK(3), bottom3 = bottomK(3);
+        int[] stream = {5, -1, 12, 7, Integer.MIN_VALUE, 12, 3, 9};
+        System.out.println("Stream: " + Arrays.toString(stream));
+        for (int value : stream) {
+            top3.accept(value);
+            bottom3.accept(value);
+        }
+        System.out.println("Top-3: " + Arrays.toString(top3.toSortedArray()) + ", bottom-3: "
+                + Arrays.toString(bottom3.toSortedArray()) + ", 3rd smallest: " + bottom3.kth());
+
+        int k = 100;
+        int[] randomArray = genRanIntArr(10_000_000, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        int[] descendingArray = new int[randomArray.length]; // every value enters the bottom-K
+        for (int i = 0; i < descendingArray.length; i++) descendingArray[i] = descendingArray.length - i;
+        System.out.println("\n/* Bottom-" + k + " of " + randomArray.length + " ints (time in ms) */");
+        System.out.printf("%-14s%-20s%-20s%-20s\n", "Input", "Arrays.sort", "PriorityQueue", "StreamingTopK");
+        for (int round = 1; round <= 4; round++) { // the first two rounds mostly measure the JIT
+            int[] intArray = round % 2 == 1 ? randomArray : descendingArray;
+            long startTime = System.nanoTime();
+            int[] sorted = intArray.clone();
+            Arrays.sort(sorted);
+            int[] expected = Arrays.copyOf(sorted, k);
+            long sortTime = System.nanoTime() - startTime;
+            startTime = System.nanoTime();
+            int[] byPriorityQueue = bottomKByPriorityQueue(intArray, k);
+            long priorityQueueTime = System.nanoTime() - startTime;
+            startTime = System.nanoTime();
+            StreamingTopK bottomK = bottomK(k);
+            bottomK.accept(intArray);
+            int[] byStreaming = bottomK.toSortedArray();
+            long streamingTime = System.nanoTime() - startTime;
+            if (!Arrays.equals(expected, byPriorityQueue) || !Arrays.equals(expected, byStreaming)) {
+                throw new AssertionError("Results differ!");
+            }
+            System.out.printf("%-14s%-20d%-20d%-20d\n", round % 2 == 1 ? "random" : "descending",
+                    TimeUnit.NANOSECONDS.toMillis(sortTime), TimeUnit.NANOSECONDS.toMillis(priorityQueueTime),
+                    TimeUnit.NANOSECONDS.toMillis(streamingTime));
+        }
+
+        long total = 1L << 30;
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        System.out.println("\n/* Bottom-" + k + " of " + total + " random ints generated on the fly by " + threads
+                + " threads */");
+        long startTime = System.nanoTime();
+        StreamingTopK merged = parallelBottomK(total, k, threads);
+        System.out.println("Seen " + merged.count() + " values in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms, keeping " + merged.size()
+                + "; the 5 smallest: " + Arrays.toString(Arrays.copyOf(merged.toSortedArray(), 5)));
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
@@ -0,0 +1,76 @@
+package integerArray.kthSmallestElementInArray;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class StreamingTopKTest {
+
+    private static int[] randomValues(int n, int bound, long seed) {
+        Random random = new Random(seed);
+        int[] values = new int[n];
+        for (int i = 0; i < n; i++) values[i] = bound > 0 ? random.nextInt(bound) : random.nextInt();
+        return values;
+    }
+
+    @Test
+    public final void shouldKeepTheLargestAndSmallestValuesWithDuplicates() throws Exception {
+        int[] values = randomValues(100_000, 1_000, 21);
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        StreamingTopK top = StreamingTopK.topK(50), bottom = StreamingTopK.bottomK(50);
+        for (int value : values) top.accept(value);
+        bottom.accept(values);
+
+        int[] expectedTop = new int[50];
+        for (int i = 0; i < 50; i++) expectedTop[i] = sorted[sorted.length - 1 - i];
+        Assert.assertArrayEquals(expectedTop, top.toSortedArray());
+        Assert.assertArrayEquals(Arrays.copyOf(sorted, 50), bottom.toSortedArray());
+        Assert.assertEquals(sorted[49], bottom.kth());
+        Assert.assertEquals(values.length, top.count());
+    }
+
+    @Test
+    public final void shouldHandleExtremeValues() throws Exception {
+        StreamingTopK top = StreamingTopK.topK(2), bottom = StreamingTopK.bottomK(2);
+        int[] values = {0, Integer.MAX_VALUE, Integer.MIN_VALUE, -1, Integer.MIN_VALUE, Integer.MAX_VALUE};
+        top.accept(values);
+        bottom.accept(values);
+        Assert.assertArrayEquals(new int[]{Integer.MAX_VALUE, Integer.MAX_VALUE}, top.toSortedArray());
+        Assert.assertArrayEquals(new int[]{Integer.MIN_VALUE, Integer.MIN_VALUE}, bottom.toSortedArray());
+    }
+
+    @Test
+    public final void shouldMergePartialResultsIntoTheResultOfTheWholeStream() throws Exception {
+        int[] values = randomValues(50_000, 0, 22);
+        StreamingTopK whole = StreamingTopK.bottomK(20);
+        whole.accept(values);
+        StreamingTopK merged = StreamingTopK.bottomK(20);
+        for (int from = 0; from < values.length; from += 7_000) {
+            StreamingTopK partial = StreamingTopK.bottomK(20);
+            partial.accept(values, from, Math.min(from + 7_000, values.length));
+            merged.merge(partial);
+        }
+        Assert.assertArrayEquals(whole.toSortedArray(), merged.toSortedArray());
+        Assert.assertEquals(values.length, merged.count());
+        try {
+            merged.merge(StreamingTopK.topK(20));
+            Assert.fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public final void shouldAnswerBeforeKValuesWereSeen() throws Exception {
+        StreamingTopK top = StreamingTopK.topK(5);
+        top.accept(new int[]{3, 1, 2});
+        Assert.assertArrayEquals(new int[]{3, 2, 1}, top.toSortedArray());
+        try {
+            top.kth();
+            Assert.fail();
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package linkedList;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+/**
+ * ARC (Adaptive Replacement Cache) eviction.
+ * <p>
+ * Resident entries are split into T1, entries seen once recently, and T2, entries seen at least twice recently, both
+ * LRU ordered. Keys evicted from T1 are remembered in the ghost list B1, keys evicted from T2 in B2. The target size p
+ * of T1 is learnt from the ghosts: a miss on a key in B1 means T1 was too small, so p grows; a miss on a key in B2
+ * means T2 was too small, so p shrinks. Evictions come from T1 while it is above its target, from T2 otherwise.
+ * <p>
+ * Resident and ghost entries together stay within twice the capacity, with T1 + B1 within the capacity.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://www.usenix.org/legacy/events/fast03/tech/full_papers/megiddo/megiddo.pdf
+ */
+class ARCEvictionQueue implements EvictionQueue {
+
+    private static final int T1 = 0, T2 = 1;
+
+    private final NodeList t1 = new NodeList(); // most recently used at head
+    private final NodeList t2 = new NodeList();
+    private final LinkedHashSet<Integer> b1 = new LinkedHashSet<>(); // ghost keys, least recently evicted first
+    private final LinkedHashSet<Integer> b2 = new LinkedHashSet<>();
+    private final int capacity;
+    private int p; // target size of T1
+
+    // victimFor() adapts p for the key about to be inserted, recordInsertion() must not adapt it twice
+    private boolean adapted;
+    private int adaptedKey;
+
+    ARCEvictionQueue(int capacity) {
+        this.capacity = capacity;
+        this.p = 0;
+    }
+
+    @Override
+    public void recordInsertion(LRUCacheNode node) {
+        boolean inB1 = this.b1.contains(node.key), inB2 = !inB1 && this.b2.contains(node.key);
+        if (!(this.adapted && this.adaptedKey == node.key)) adapt(inB1, inB2);
+        this.adapted = false;
+        if (inB1 || inB2) { // seen before, recently enough to be remembered
+            if (inB1) this.b1.remove(node.key);
+            else this.b2.remove(node.key);
+            node.queue = T2;
+            this.t2.addFirst(node);
+        } else {
+            node.queue = T1;
+            this.t1.addFirst(node);
+        }
+        trimGhosts();
+    }
+
+    @Override
+    public void recordAccess(LRUCacheNode node) {
+        if (node.queue == T1) {
+            this.t1.remove(node);
+            node.queue = T2;
+            this.t2.addFirst(node);
+        } else {
+            this.t2.moveToFront(node);
+        }
+    }
+
+    @Override
+    public LRUCacheNode victimFor(int key) {
+        boolean inB1 = this.b1.contains(key), inB2 = !inB1 && this.b2.contains(key);
+        adapt(inB1, inB2);
+        this.adapted = true;
+        this.adaptedKey = key;
+        // REPLACE of the paper
+        if (this.t1.size > 0 && (this.t1.size > this.p || (inB2 && this.t1.size == this.p)) || this.t2.size == 0)
+            return this.t1.tail;
+        return this.t2.tail;
+    }
+
+    @Override
+    public void recordRemoval(LRUCacheNode node, boolean evicted) {
+        if (node.queue == T1) {
+            this.t1.remove(node);
+            if (evicted) this.b1.add(node.key);
+        } else {
+            this.t2.remove(node);
+            if (evicted) this.b2.add(node.key);
+        }
+        trimGhosts();
+    }
+
+    @Override
+    public void recordRestored(LRUCacheNode node) {
+        node.queue = T1;
+        this.t1.addLast(node);
+    }
+
+    @Override
+    public Iterator<LRUCacheNode> iterator() {
+        return EvictionQueue.concat(this.t2, this.t1);
+    }
+
+    private void adapt(boolean inB1, boolean inB2) {
+        if (inB1) this.p = Math.min(this.capacity, this.p + Math.max(this.b2.size() / this.b1.size(), 1));
+        else if (inB2) this.p = Math.max(0, this.p - Math.max(this.b1.size() / this.b2.size(), 1));
+    }
+
+    /**
+     * Forget the oldest ghosts once T1 + B1 exceeds the capacity, or everything together exceeds twice the capacity
+     */
+    private void trimGhosts() {
+        while (this.t1.size + this.b1.size() > this.capacity && !this.b1.isEmpty()) removeOldest(this.b1);
+        while (this.t1.size + this.t2.size + this.b1.size() + this.b2.size() > 2 * this.capacity) {
+            if (!this.b2.isEmpty()) removeOldest(this.b2);
+            else if (!this.b1.isEmpty()) removeOldest(this.b1);
+            else break;
+        }
+    }
+
+    private static void removeOldest(LinkedHashSet<Integer> ghosts) {
+        Iterator<Integer> oldest = ghosts.iterator();
+        oldest.next();
+        oldest.remove();
+    }
+}
@@ -0,0 +1,252 @@
+package linkedList;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+/**
+ * CLOCK-Pro eviction.
+ * <p>
+ * LRU judges an entry by how recently it was used, which a single scan defeats. LIRS judges it by its reuse distance
+ * instead, how long it went between its last two uses, and CLOCK-Pro approximates LIRS with clocks so that a hit only
+ * sets a reference bit and never re-orders a list.
+ * <p>
+ * Entries are hot (short reuse distance) or cold. A new entry starts cold and in its test period. If it is used
+ * again during the test period its reuse distance proved short and it turns hot. Cold entries are evicted first, and
+ * a cold entry evicted during its test period stays on the clock as a non-resident ghost until the test ends, so that
+ * coming back soon still counts. All entries sit on one circular list in insertion order, swept by three hands:
+ * <p>
+ * - HAND_cold looks for a cold entry to evict, giving referenced ones a second chance (or promoting them when tested)
+ * - HAND_hot turns unreferenced hot entries cold when there are too many hot entries, ending test periods on its way
+ * - HAND_test ends test periods and drops ghosts when there are more ghosts than the capacity
+ * <p>
+ * The target number of cold entries adapts: a re-use during a test period raises it, a test period ending unused
+ * lowers it.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://www.usenix.org/legacy/event/usenix05/tech/general/full_papers/jiang/jiang.pdf
+ */
+class ClockProEvictionQueue implements EvictionQueue {
+
+    private static final int HOT = 0, COLD = 1, NON_RESIDENT = 2;
+
+    private final int capacity;
+    private final Map<Integer, LRUCacheNode> ghosts; // non-resident cold entries still in their test period
+    private int coldTarget;
+    private int hotCount, coldCount;
+
+    private LRUCacheNode handHot, handCold, handTest; // all null while the clock is empty
+
+    ClockProEvictionQueue(int capacity) {
+        this.capacity = capacity;
+        this.ghosts = new HashMap<>();
+        this.coldTarget = Math.max(1, capacity / 100);
+    }
+
+    @Override
+    public void recordInsertion(LRUCacheNode node) {
+        node.referenced = false;
+        LRUCacheNode ghost = this.ghosts.remove(node.key);
+        if (ghost != null) { // re-used during its test period, hence a short reuse distance
+            unlink(ghost);
+            this.coldTarget = Math.min(this.capacity - 1, this.coldTarget + 1);
+            node.queue = HOT;
+            node.inTest = false;
+            this.hotCount++;
+            insertAtHead(node);
+            runHandHot();
+        } else {
+            node.queue = COLD;
+            node.inTest = true;
+            this.coldCount++;
+            insertAtHead(node);
+        }
+    }
+
+    @Override
+    public void recordAccess(LRUCacheNode node) {
+        node.referenced = true;
+    }
+
+    @Override
+    public LRUCacheNode victimFor(int key) {
+        if (this.coldCount == 0) demoteOneHot();
+        while (true) {
+            LRUCacheNode node = this.handCold;
+            if (node.queue != COLD) {
+                this.handCold = node.next;
+            } else if (!node.referenced) {
+                this.handCold = node.next;
+                return node;
+            } else if (node.inTest) { // re-used during its test period
+                node.referenced = false;
+                this.coldTarget = Math.min(this.capacity - 1, this.coldTarget + 1);
+                node.queue = HOT;
+                node.inTest = false;
+                this.coldCount--;
+                this.hotCount++;
+                moveToHead(node);
+                runHandHot();
+                if (this.coldCount == 0) demoteOneHot();
+            } else { // second chance, with a test period this time
+                node.referenced = false;
+                node.inTest = true;
+                moveToHead(node);
+            }
+        }
+    }
+
+    @Override
+    public void recordRemoval(LRUCacheNode node, boolean evicted) {
+        if (node.queue == HOT) this.hotCount--;
+        else this.coldCount--;
+        if (evicted && node.queue == COLD && node.inTest) { // keep it around as a ghost until its test ends
+            node.queue = NON_RESIDENT;
+            this.ghosts.put(node.key, node);
+            runHandTest();
+        } else {
+            unlink(node);
+        }
+    }
+
+    @Override
+    public void recordRestored(LRUCacheNode node) {
+        // insert in front of the hands, so that the least worth keeping, restored last, is swept first
+        node.queue = COLD;
+        node.inTest = false;
+        node.referenced = false;
+        this.coldCount++;
+        if (this.handHot == null) {
+            node.prev = node.next = node;
+        } else {
+            node.next = this.handHot;
+            node.prev = this.handHot.prev;
+            this.handHot.prev.next = node;
+            this.handHot.prev = node;
+        }
+        this.handHot = this.handCold = this.handTest = node;
+    }
+
+    /**
+     * Resident entries, from the one the cold hand reaches last to the one it reaches first
+     */
+    @Override
+    public Iterator<LRUCacheNode> iterator() {
+        return new Iterator<LRUCacheNode>() {
+            final LRUCacheNode last = ClockProEvictionQueue.this.handCold;
+            LRUCacheNode cursor = this.last == null ? null : this.last.prev;
+
+            {
+                skipGhosts();
+            }
+
+            private void skipGhosts() {
+                while (this.cursor != null && this.cursor.queue == NON_RESIDENT)
+                    this.cursor = this.cursor == this.last ? null : this.cursor.prev;
+            }
+
+            public boolean hasNext() {
+                return this.cursor != null;
+            }
+
+            public LRUCacheNode next() {
+                if (this.cursor == null) throw new NoSuchElementException();
+                LRUCacheNode node = this.cursor;
+                this.cursor = node == this.last ? null : node.prev;
+                skipGhosts();
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Sweep HAND_hot until hot entries are within their share of the capacity
+     */
+    private void runHandHot() {
+        while (this.hotCount > this.capacity - this.coldTarget) demoteOneHot();
+    }
+
+    /**
+     * Sweep HAND_hot until one hot entry turned cold, ending the test periods of the cold entries it passes
+     */
+    private void demoteOneHot() {
+        if (this.hotCount == 0) return;
+        while (true) {
+            LRUCacheNode node = this.handHot;
+            this.handHot = node.next;
+            if (node.queue == HOT) {
+                if (node.referenced) {
+                    node.referenced = false;
+                } else {
+                    node.queue = COLD;
+                    node.inTest = false;
+                    this.hotCount--;
+                    this.coldCount++;
+                    return;
+                }
+            } else if (node.inTest || node.queue == NON_RESIDENT) {
+                endTestPeriod(node);
+            }
+        }
+    }
+
+    /**
+     * Sweep HAND_test until ghosts are within the capacity
+     */
+    private void runHandTest() {
+        while (this.ghosts.size() > this.capacity) {
+            LRUCacheNode node = this.handTest;
+            this.handTest = node.next;
+            if (node.queue != HOT && (node.inTest || node.queue == NON_RESIDENT)) endTestPeriod(node);
+        }
+    }
+
+    /**
+     * A cold entry went through its test period without being re-used: fewer cold entries would have done
+     */
+    private void endTestPeriod(LRUCacheNode node) {
+        node.inTest = false;
+        this.coldTarget = Math.max(1, this.coldTarget - 1);
+        if (node.queue == NON_RESIDENT) {
+            this.ghosts.remove(node.key);
+            unlink(node);
+        }
+    }
+
+    /* Circular doubly linked list, the head sits right behind HAND_hot (start) */
+    private void insertAtHead(LRUCacheNode node) {
+        if (this.handHot == null) {
+            node.prev = node.next = node;
+            this.handHot = this.handCold = this.handTest = node;
+            return;
+        }
+        node.next = this.handHot;
+        node.prev = this.handHot.prev;
+        this.handHot.prev.next = node;
+        this.handHot.prev = node;
+    }
+
+    private void moveToHead(LRUCacheNode node) {
+        unlink(node);
+        insertAtHead(node);
+    }
+
+    private void unlink(LRUCacheNode node) {
+        if (node.next == node) { // last one on the clock
+            this.handHot = this.handCold = this.handTest = null;
+        } else {
+            if (this.handHot == node) this.handHot = node.next;
+            if (this.handCold == node) this.handCold = node.next;
+            if (this.handTest == node) this.handTest = node.next;
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+        node.prev = node.next = null;
+    }
+    /* Circular doubly linked list, the head sits right behind HAND_hot (end) */
+}
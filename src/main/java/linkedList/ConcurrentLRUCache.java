@@ -0,0 +1,219 @@
+package linkedList;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import utils.IntCache;
+
+/**
+ * A thread-safe LRU cache whose key space is split into independently locked segments.
+ * <p>
+ * Wrapping LRUCachePlain in a single lock makes every thread queue up behind the same monitor, even for a get, since
+ * a get also re-orders the eviction queue. If instead the keys are partitioned into S segments, each being a complete
+ * LRU cache (own hash table, own eviction queue) guarded by its own lock, two threads only contend when their keys
+ * land in the same segment, which happens with probability 1/S.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://www.ibm.com/developerworks/library/j-jtp08223/
+ */
+public class ConcurrentLRUCache implements IntCache {
+
+    /**
+     * - Discussion -
+     * Eviction is least recently used within a segment rather than across the whole cache. With a well spread hash
+     * every segment sees a similar slice of the traffic, so this is a close approximation of a global LRU.
+     * <p>
+     * The segment must not be picked from bits that also choose the slot within the segment, or all keys of a segment
+     * would share those bits and crowd into 1/S of its slots. LRUCachePlain takes the home slot from the top bits of a
+     * Fibonacci hash of the key, as many of them as its table is long, so up to all 32 bits of that product once the
+     * table is large. The segment is therefore taken from a different, independent mix of the key, the finalizer of
+     * MurmurHash3.
+     */
+
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private final LRUCachePlain[] segments; // each segment is used as its own lock
+    private final int capacity;
+
+    public ConcurrentLRUCache(final int capacity) throws Exception {
+        this(capacity, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    public ConcurrentLRUCache(final int capacity, final int concurrencyLevel) throws Exception {
+        if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
+        if (concurrencyLevel <= 0) throw new Exception("Concurrency level must be positive!");
+        int segmentCount = LRUCachePlain.roundUpToNearestPowerOfTwo(concurrencyLevel);
+        while (segmentCount > capacity) segmentCount >>>= 1; // never leave a segment without a slot
+        this.capacity = capacity;
+        this.segments = new LRUCachePlain[segmentCount];
+        for (int i = 0; i < segmentCount; i++) { // the first capacity % segmentCount segments take one slot more
+            this.segments[i] = new LRUCachePlain(capacity / segmentCount + (i < capacity % segmentCount ? 1 : 0));
+        }
+    }
+
+    static final int segmentIndex(int key, int segmentCount) {
+        int h = key;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h & (segmentCount - 1);
+    }
+
+    private LRUCachePlain segmentFor(int key) {
+        return this.segments[segmentIndex(key, this.segments.length)];
+    }
+
+    public int get(int key) throws Exception {
+        LRUCachePlain segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    /**
+     * One lookup under one lock, where the default of IntCache would take the lock twice, for contains() and get()
+     */
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        LRUCachePlain segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.getOrDefault(key, defaultValue);
+        }
+    }
+
+    public void set(int key, int value) {
+        LRUCachePlain segment = segmentFor(key);
+        synchronized (segment) {
+            segment.set(key, value);
+        }
+    }
+
+    public boolean contains(int key) {
+        LRUCachePlain segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.contains(key);
+        }
+    }
+
+    /**
+     * Sum of the segment sizes, each read under its own lock, so not a point in time view under concurrent writes
+     */
+    public int size() {
+        int size = 0;
+        for (LRUCachePlain segment : this.segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return this.capacity;
+    }
+
+    public int segmentCount() {
+        return this.segments.length;
+    }
+
+    /* Benchmark (start) */
+
+    /**
+     * The cache behind a single lock, the baseline for the concurrent caches
+     */
+    static IntCache synchronizedCache(IntCache cache) {
+        return new IntCache() {
+            public synchronized int get(int key) throws Exception {
+                return cache.get(key);
+            }
+
+            public synchronized void set(int key, int value) {
+                cache.set(key, value);
+            }
+
+            public synchronized boolean contains(int key) {
+                return cache.contains(key);
+            }
+
+            public synchronized int size() {
+                return cache.size();
+            }
+        };
+    }
+
+    /**
+     * Run the given number of operations (80% get, 20% set, all keys present) split evenly across threads and
+     * return the throughput in operations per second.
+     */
+    private static long measureThroughput(IntCache cache, int keySpace, int threads, int totalOps) throws Exception {
+        int opsPerThread = totalOps / threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                int[] keys = new int[opsPerThread];
+                for (int i = 0; i < opsPerThread; i++) keys[i] = ThreadLocalRandom.current().nextInt(keySpace);
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        if ((i % 5) == 0) cache.set(keys[i], i);
+                        else cache.get(keys[i]);
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startTime;
+        pool.shutdown();
+        return (long) opsPerThread * threads * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of concurrent LRU caches.");
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(8, 4);
+        System.out.println("\nSet first 10 new entries into a cache of capacity 8 with " + cache.segmentCount() + " segments ...");
+        for (int i = 0; i < 10; i++) cache.set(i, i * 10 + 1);
+        for (int i = 0; i < 10; i++) System.out.println("Key " + i + " in segment " + segmentIndex(i, cache.segmentCount())
+                + (cache.contains(i) ? " -> " + cache.get(i) : " -> evicted"));
+
+        System.out.println("\n/* Throughput (ops/sec) against a synchronized LRUCachePlain, 80% get / 20% set */");
+        int capacity = 1 << 16;
+        int totalOps = 8_000_000;
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        System.out.printf("%-10s%-30s%-30s\n", "Threads", "synchronized LRUCachePlain", "ConcurrentLRUCache");
+        for (int threads : new int[]{1, 4, 16, 64}) {
+            LRUCachePlain plain = new LRUCachePlain(capacity);
+            ConcurrentLRUCache striped = new ConcurrentLRUCache(capacity, 64);
+            // only fill half of the capacity so that no segment overflows and gets never miss
+            int keySpace = capacity / 2;
+            for (int i = 0; i < keySpace; i++) {
+                plain.set(i, i);
+                striped.set(i, i);
+            }
+            long lockedOps = measureThroughput(synchronizedCache(plain), keySpace, threads, totalOps);
+            long stripedOps = measureThroughput(striped, keySpace, threads, totalOps);
+            System.out.printf("%-10d%-30s%-30s\n", threads, formatter.format(lockedOps), formatter.format(stripedOps));
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
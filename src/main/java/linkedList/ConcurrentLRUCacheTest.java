@@ -0,0 +1,88 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public final void shouldNeverHoldMoreThanItsCapacity() throws Exception {
+        for (int capacity : new int[]{1, 7, 1_000, 1_009}) {
+            ConcurrentLRUCache cache = new ConcurrentLRUCache(capacity); // 16 segments by default
+            for (int key = 0; key < 20 * capacity; key++) cache.set(key, key);
+            Assert.assertEquals(capacity, cache.size());
+        }
+    }
+
+    @Test
+    public final void shouldKeepAllEntriesWithinCapacityOfTheirSegment() throws Exception {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(1_000, 16);
+        int[] perSegment = new int[cache.segmentCount()];
+        for (int key = 0; key < 100_000; key++) {
+            int segment = ConcurrentLRUCache.segmentIndex(key, cache.segmentCount());
+            if (perSegment[segment] == 1_000 / 16) continue; // as many as the smallest segment holds
+            perSegment[segment]++;
+            cache.set(key, -key);
+        }
+        for (int key = 0; key < 100_000; key++) {
+            if (cache.contains(key)) Assert.assertEquals(-key, cache.get(key));
+        }
+        Assert.assertEquals(16 * (1_000 / 16), cache.size());
+    }
+
+    @Test
+    public final void shouldStayWithinCapacityAndConsistentUnderConcurrentAccess() throws Exception {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(1_000); // 16 segments by default
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 200_000; i++) {
+                    int key = random.nextInt(5_000);
+                    int value = cache.getOrDefault(key, -1);
+                    if (value == -1) cache.set(key, key * 2);
+                    else if (value != key * 2) throw new AssertionError("key " + key + " read " + value);
+                    if (cache.size() > 1_000) throw new AssertionError("size " + cache.size());
+                }
+            });
+            thread.setUncaughtExceptionHandler((failed, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        Assert.assertTrue(failures.toString(), failures.isEmpty());
+        Assert.assertEquals(1_000, cache.size()); // every segment sees more keys than it holds
+        for (int key = 0; key < 5_000; key++) if (cache.contains(key)) Assert.assertEquals(key * 2, cache.get(key));
+    }
+
+    @Test
+    public final void shouldSpreadTheKeysOfOneSegmentEvenlyOverItsTable() throws Exception {
+        // the keys a segment of a 1.6M entry cache gets, filling a table of 2^17 slots
+        LRUCachePlain segment = new LRUCachePlain(100_000);
+        int stored = 0;
+        for (int key = 0; stored < 100_000; key++) {
+            if (ConcurrentLRUCache.segmentIndex(key, 16) != 0) continue;
+            segment.set(key, key);
+            stored++;
+        }
+        int[] histogram = segment.probeLengthHistogram();
+        long probeLengthSum = 0;
+        for (int probeLength = 0; probeLength < histogram.length; probeLength++) {
+            probeLengthSum += (long) probeLength * histogram[probeLength];
+        }
+        double meanProbeLength = (double) probeLengthSum / stored;
+        // about 1.6 and at most 16 for random keys, where keys sharing home slot bits give 12 and 48
+        Assert.assertTrue("Mean probe length " + meanProbeLength, meanProbeLength < 2.5);
+        Assert.assertTrue("Max probe length " + (histogram.length - 1), histogram.length - 1 < 30);
+    }
+}
@@ -0,0 +1,44 @@
+package linkedList;
+
+/**
+ * Which entry LRUCachePlain gives up when it is full.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public enum EvictionPolicy {
+    /**
+     * Least recently used, the classic
+     */
+    LRU {
+        EvictionQueue newQueue(int capacity) {
+            return new LRUEvictionQueue();
+        }
+    },
+    /**
+     * Adaptive Replacement Cache, balancing recency and frequency by learning from recently evicted keys
+     */
+    ARC {
+        EvictionQueue newQueue(int capacity) {
+            return new ARCEvictionQueue(capacity);
+        }
+    },
+    /**
+     * 2Q, a FIFO probation queue in front of an LRU queue, so that keys seen once cannot flush the cache
+     */
+    TWO_QUEUE {
+        EvictionQueue newQueue(int capacity) {
+            return new TwoQueueEvictionQueue(capacity);
+        }
+    },
+    /**
+     * CLOCK-Pro, an approximation of LIRS driven by clock hands instead of list re-ordering on every hit
+     */
+    CLOCK_PRO {
+        EvictionQueue newQueue(int capacity) {
+            return new ClockProEvictionQueue(capacity);
+        }
+    };
+
+    abstract EvictionQueue newQueue(int capacity);
+}
@@ -0,0 +1,132 @@
+package linkedList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+/**
+ * The eviction logic of LRUCachePlain, separated from its hash table.
+ * <p>
+ * The cache owns the entries and the table. It tells the queue about every insertion, hit and removal, and asks it
+ * which entry to give up when it is full. A queue links resident nodes through their prev/next fields and may tag
+ * them through the queue, referenced and inTest fields, which belong to it alone. Keys it wants to remember after
+ * eviction (ghost entries) are kept by the queue itself.
+ * <p>
+ * Iterating a queue visits the resident entries from the most to the least worth keeping, which is the order
+ * snapshots are written in.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+interface EvictionQueue extends Iterable<LRUCacheNode> {
+
+    /**
+     * A new entry has been added to the table
+     */
+    void recordInsertion(LRUCacheNode node);
+
+    /**
+     * An entry has been read or updated
+     */
+    void recordAccess(LRUCacheNode node);
+
+    /**
+     * The table is full and the given key is about to be inserted: pick the entry to evict. The entry stays resident
+     * until the cache removes it through recordRemoval().
+     */
+    LRUCacheNode victimFor(int key);
+
+    /**
+     * An entry has left the table, either evicted to make room (then it came from victimFor) or expired
+     */
+    void recordRemoval(LRUCacheNode node, boolean evicted);
+
+    /**
+     * An entry restored from a snapshot, which lists entries from the most to the least worth keeping. It goes
+     * behind every entry restored so far.
+     */
+    void recordRestored(LRUCacheNode node);
+
+    /**
+     * Doubly linked list over the prev/next fields of the nodes, most recently added at head
+     */
+    class NodeList implements Iterable<LRUCacheNode> {
+        LRUCacheNode head, tail;
+        int size;
+
+        void addFirst(LRUCacheNode node) {
+            node.prev = null;
+            node.next = this.head;
+            if (this.head != null) this.head.prev = node;
+            else this.tail = node;
+            this.head = node;
+            this.size++;
+        }
+
+        void addLast(LRUCacheNode node) {
+            node.next = null;
+            node.prev = this.tail;
+            if (this.tail != null) this.tail.next = node;
+            else this.head = node;
+            this.tail = node;
+            this.size++;
+        }
+
+        void remove(LRUCacheNode node) {
+            if (node.prev != null) node.prev.next = node.next;
+            else this.head = node.next;
+            if (node.next != null) node.next.prev = node.prev;
+            else this.tail = node.prev;
+            node.prev = node.next = null;
+            this.size--;
+        }
+
+        void moveToFront(LRUCacheNode node) {
+            if (node == this.head) return;
+            remove(node);
+            addFirst(node);
+        }
+
+        @Override
+        public Iterator<LRUCacheNode> iterator() {
+            return new Iterator<LRUCacheNode>() {
+                LRUCacheNode cursor = NodeList.this.head;
+
+                public boolean hasNext() {
+                    return this.cursor != null;
+                }
+
+                public LRUCacheNode next() {
+                    if (this.cursor == null) throw new NoSuchElementException();
+                    LRUCacheNode node = this.cursor;
+                    this.cursor = node.next;
+                    return node;
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterate one list after the other
+     */
+    static Iterator<LRUCacheNode> concat(Iterable<LRUCacheNode> first, Iterable<LRUCacheNode> second) {
+        return new Iterator<LRUCacheNode>() {
+            Iterator<LRUCacheNode> current = first.iterator();
+            boolean onSecond = false;
+
+            public boolean hasNext() {
+                if (!this.current.hasNext() && !this.onSecond) {
+                    this.current = second.iterator();
+                    this.onSecond = true;
+                }
+                return this.current.hasNext();
+            }
+
+            public LRUCacheNode next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                return this.current.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package linkedList;
+
+/**
+ * When an entry of an expiring cache stops being visible.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public enum ExpiryPolicy {
+    /**
+     * A fixed time after the entry was created or its value last replaced
+     */
+    EXPIRE_AFTER_WRITE,
+    /**
+     * A fixed time after the entry was last read or written
+     */
+    EXPIRE_AFTER_ACCESS
+}
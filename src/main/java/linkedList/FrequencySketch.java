@@ -0,0 +1,73 @@
+package linkedList;
+
+/**
+ * A count-min sketch estimating how often each int key has been seen, in 4 bits per counter.
+ * <p>
+ * A count-min sketch keeps d rows of w counters. Adding a key increments one counter per row (chosen by a different
+ * hash per row) and the estimate is the minimum of those d counters: collisions can only inflate a counter, so the
+ * minimum is the tightest upper bound available. Frequencies are only compared with each other, so counters saturate
+ * at 15 and sixteen of them are packed into a long.
+ * <p>
+ * To let the sketch forget, every counter is halved once the number of additions reaches ten times the width
+ * (aging/reset), so the estimates follow recent popularity rather than all-time popularity.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://arxiv.org/abs/1512.00727
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x97CB3127, 0xB9C3A1F1, 0xC2B2AE35, 0x85EBCA6B};
+    private static final long MAX_COUNTER = 15L;
+    private static final long RESET_MASK = 0x7777777777777777L; // clears the bit shifted in from the next counter
+
+    private final long[] table; // DEPTH rows of width 4-bit counters
+    private final int width;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int expectedEntries) {
+        this.width = LRUCachePlain.roundUpToNearestPowerOfTwo(Math.max(16, expectedEntries));
+        this.table = new long[(DEPTH * this.width) >>> 4];
+        this.sampleSize = 10 * this.width;
+        this.additions = 0;
+    }
+
+    private int counterIndex(int key, int row) {
+        int h = LRUCachePlain.hash(key) * SEEDS[row];
+        h ^= h >>> 17;
+        return row * this.width + (h & (this.width - 1));
+    }
+
+    private long counter(int index) {
+        return (this.table[index >>> 4] >>> ((index & 15) << 2)) & MAX_COUNTER;
+    }
+
+    void increment(int key) {
+        boolean added = false;
+        for (int row = 0; row < DEPTH; row++) {
+            int index = counterIndex(key, row);
+            if (counter(index) < MAX_COUNTER) {
+                this.table[index >>> 4] += 1L << ((index & 15) << 2);
+                added = true;
+            }
+        }
+        if (added && ++this.additions == this.sampleSize) reset();
+    }
+
+    int frequency(int key) {
+        long frequency = MAX_COUNTER;
+        for (int row = 0; row < DEPTH; row++) frequency = Math.min(frequency, counter(counterIndex(key, row)));
+        return (int) frequency;
+    }
+
+    /**
+     * Halve every counter in one pass: shift each long right by one and drop the bits that crossed counter borders
+     */
+    private void reset() {
+        for (int i = 0; i < this.table.length; i++) this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+        this.additions >>>= 1;
+    }
+}
@@ -0,0 +1,50 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class FrequencySketchTest {
+
+    @Test
+    public final void shouldNeverUnderestimateBelowTheCap() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(1_024);
+        int[] counts = new int[2_000];
+        Random random = new Random(5);
+        for (int i = 0; i < 5_000; i++) { // below the 10,240 additions that trigger a reset
+            int key = (int) Math.abs(random.nextGaussian() * 300) % counts.length;
+            sketch.increment(key);
+            counts[key]++;
+        }
+        for (int key = 0; key < counts.length; key++) {
+            Assert.assertTrue("Key " + key, sketch.frequency(key) >= Math.min(counts[key], 15));
+            Assert.assertTrue(sketch.frequency(key) <= 15);
+        }
+    }
+
+    @Test
+    public final void shouldSaturateAtFifteen() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(1_024);
+        for (int i = 0; i < 100; i++) sketch.increment(42);
+        Assert.assertEquals(15, sketch.frequency(42));
+    }
+
+    @Test
+    public final void shouldHalveEveryCounterOnceTheSampleIsReached() throws Exception {
+        FrequencySketch sketch = new FrequencySketch(1_024); // width 1,024, so a reset every 10,240 additions
+        for (int i = 0; i < 15; i++) sketch.increment(-1);
+        for (int i = 0; i < 6; i++) sketch.increment(-2);
+        Assert.assertEquals(15, sketch.frequency(-1));
+        int additions = 21, key = 0, beforeReset = 0;
+        while (sketch.frequency(-1) == 15) {
+            beforeReset = sketch.frequency(-2); // inflated by collisions as the sketch fills up
+            sketch.increment(key++);
+            additions++;
+        }
+        Assert.assertEquals(7, sketch.frequency(-1));
+        int afterReset = sketch.frequency(-2); // the last increment may have collided with -2 before the reset
+        Assert.assertTrue(afterReset == beforeReset >>> 1 || afterReset == (beforeReset + 1) >>> 1);
+        Assert.assertTrue("Reset after " + additions, additions >= 10_240 && additions < 10_340);
+    }
+}
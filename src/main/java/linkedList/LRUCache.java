@@ -3,8 +3,14 @@ package linkedList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
+import utils.CacheStats;
+import utils.IntCache;
+import utils.StatsCounter;
+
 /**
  * LRU (Least Recently Used) is a cache eviction algorithm.
  *
@@ -24,16 +30,20 @@ import java.util.stream.Collectors;
  * @since 2019-Jun-22
  */
 
-public class LRUCache {
+public class LRUCache implements IntCache {
 
     /**
      * - Discussion -
      * A hash table provides O(1) key based retrieval in average, and a doubly linked list with head and tail offers
      * an eviction queue (least recently used entry at tail).
      * An LRU cache can be designed by leveraging both.
+     *
+     * Entries can optionally expire a fixed time after write or after access. Deadlines are kept in a hierarchical
+     * timing wheel advanced on every call, so no sweeper thread and no scan over the map is needed. Note that taking an
+     * expired node out of the LinkedList is O(N), just like re-ordering it on every get.
      */
 
-    private class LRUCacheNode {
+    private class LRUCacheNode extends TimingWheel.Node {
         int key;
         int value;
 
@@ -52,6 +62,13 @@ public class LRUCache {
     private int capacity;
     private int occupancy;
 
+    private TimingWheel expiryWheel; // null if entries never expire
+    private ExpiryPolicy expiryPolicy;
+    private long expiryNanos;
+    private LongSupplier ticker;
+
+    private StatsCounter statsCounter = StatsCounter.disabled();
+
 
     public LRUCache(final int capacity) {
         this.capacity = capacity;
@@ -60,40 +77,164 @@ public class LRUCache {
         this.evictionQueue = new LinkedList<>();
     }
 
+    public LRUCache(final int capacity, final ExpiryPolicy expiryPolicy, final long duration, final TimeUnit unit)
+            throws Exception {
+        this(capacity, expiryPolicy, duration, unit, System::nanoTime);
+    }
+
+    /**
+     * Expiring cache reading time from the given ticker (in nanoseconds), which lets tests control the clock
+     */
+    public LRUCache(final int capacity, final ExpiryPolicy expiryPolicy, final long duration, final TimeUnit unit,
+                    final LongSupplier ticker) throws Exception {
+        this(capacity);
+        if (expiryPolicy == null) throw new Exception("Expiry policy cannot be null!");
+        if (duration <= 0) throw new Exception("Expiry duration must be positive!");
+        this.expiryPolicy = expiryPolicy;
+        this.expiryNanos = unit.toNanos(duration);
+        this.ticker = ticker;
+        this.expiryWheel = new TimingWheel(ticker.getAsLong(), node -> removeEntry((LRUCacheNode) node));
+    }
+
+    @Override
     public int get(int key) throws Exception {
-        LRUCacheNode target = this.cacheStore.get(key);
+        LRUCacheNode target = getNode(key);
         if (target == null) throw new Exception("Not found!");
-        setMostRecentlyUsed(target);
-
         return target.value;
     }
 
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        LRUCacheNode target = getNode(key);
+        return target == null ? defaultValue : target.value;
+    }
+
+    @Override
     public void set(int key, int value) {
-        LRUCacheNode target = this.cacheStore.get(key);
+        long startTime = startTimer();
+        long now = expireEntries();
+        LRUCacheNode target = findLiveNode(key, now);
         if (target != null) { // update
             target.value = value;
+            if (this.expiryWheel != null) scheduleExpiry(target, now);
             setMostRecentlyUsed(target);
         } else { // insert
             if (this.occupancy == this.capacity) { // cache full
-                this.cacheStore.remove(this.evictionQueue.pollLast().key);
+                LRUCacheNode evicted = this.evictionQueue.pollLast();
+                this.cacheStore.remove(evicted.key);
+                if (this.expiryWheel != null) this.expiryWheel.deschedule(evicted);
                 this.occupancy--;
+                this.statsCounter.recordEviction();
             }
             target = new LRUCacheNode(key, value);
             this.cacheStore.put(key, target);
             this.evictionQueue.addFirst(target);
             this.occupancy++;
+            if (this.expiryWheel != null) scheduleExpiry(target, now);
         }
+        recordLatency(startTime);
+    }
+
+    @Override
+    public boolean contains(int key) {
+        return null != findLiveNode(key, expireEntries());
+    }
+
+    @Override
+    public int size() {
+        return this.occupancy;
+    }
+
+    @Override
+    public void recordStats(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.statsCounter.snapshot();
+    }
+
+    /**
+     * Reclaim expired entries without touching any key. Since get and set already do this, it is only needed to
+     * release the memory of an idle cache, e.g. from a scheduled task synchronized with the other callers.
+     */
+    public void cleanUp() {
+        expireEntries();
     }
 
     public void print() {
         System.out.println(this.evictionQueue.stream().map(LRUCacheNode::toString).collect(Collectors.joining(" > ")));
     }
 
+    /**
+     * Look up a key for a read, marking a hit as most recently used and recording the outcome, or return null
+     */
+    private LRUCacheNode getNode(int key) {
+        long startTime = startTimer();
+        long now = expireEntries();
+        LRUCacheNode target = findLiveNode(key, now);
+        if (target == null) {
+            this.statsCounter.recordMiss();
+        } else {
+            if (this.expiryPolicy == ExpiryPolicy.EXPIRE_AFTER_ACCESS) scheduleExpiry(target, now);
+            setMostRecentlyUsed(target);
+            this.statsCounter.recordHit();
+        }
+        recordLatency(startTime);
+        return target;
+    }
+
     private void setMostRecentlyUsed(LRUCacheNode node) {
         this.evictionQueue.remove(node);
         this.evictionQueue.addFirst(node);
     }
 
+    private long startTimer() {
+        return this.statsCounter.isRecordingLatency() ? System.nanoTime() : 0L;
+    }
+
+    private void recordLatency(long startTime) {
+        if (this.statsCounter.isRecordingLatency()) this.statsCounter.recordLatency(System.nanoTime() - startTime);
+    }
+
+    /* Expiry (start) */
+    private void removeEntry(LRUCacheNode node) {
+        this.cacheStore.remove(node.key);
+        this.evictionQueue.remove(node);
+        this.expiryWheel.deschedule(node);
+        this.occupancy--;
+        this.statsCounter.recordEviction();
+    }
+
+    /**
+     * Advance the timing wheel to the current time, expiring due entries, and return the current time
+     */
+    private long expireEntries() {
+        if (this.expiryWheel == null) return 0L;
+        long now = this.ticker.getAsLong();
+        this.expiryWheel.advance(now);
+        return now;
+    }
+
+    /**
+     * Look up a key, treating an entry that is due but not reclaimed yet (the wheel ticks every ~1 ms) as absent
+     */
+    private LRUCacheNode findLiveNode(int key, long now) {
+        LRUCacheNode target = this.cacheStore.get(key);
+        if (target != null && this.expiryWheel != null && target.expiresAt - now <= 0) {
+            removeEntry(target);
+            return null;
+        }
+        return target;
+    }
+
+    private void scheduleExpiry(LRUCacheNode node, long now) {
+        node.expiresAt = now + this.expiryNanos;
+        this.expiryWheel.schedule(node);
+    }
+    /* Expiry (end) */
+
     public static void main(String[] args) {
         System.out.println("Welcome to the rabbit hole of LRU caches.");
         LRUCache cache = new LRUCache(5);
@@ -136,6 +277,10 @@ public class LRUCache {
             e.printStackTrace();
         }
         cache.print();
+
+        System.out.println("Get an evicted entry without an exception...");
+        System.out.println(cache.getOrDefault(1, -1));
+        cache.print();
         System.out.println("\nAll rabbits gone.");
 
     }
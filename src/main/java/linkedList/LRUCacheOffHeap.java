@@ -0,0 +1,235 @@
+package linkedList;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.text.DecimalFormat;
+
+import utils.IntCache;
+
+/**
+ * An int to int LRU cache that keeps every byte of its state outside the Java heap.
+ * <p>
+ * LRUCachePlain allocates one LRUCacheNode per entry: an object header, two ints and three references, which adds up
+ * to roughly 40 bytes per entry plus the table slot, and millions of live objects for the garbage collector to trace.
+ * <p>
+ * Here an entry is just a slot index. The key, value, eviction queue links and hash chain link of slot i are the i-th
+ * ints of five parallel buffers allocated with ByteBuffer.allocateDirect(), so an entry costs exactly 20 bytes plus
+ * 4 bytes per hash table bucket, none of which the garbage collector ever sees. Once the cache is full, an insert
+ * reuses the slot of the entry it evicts, hence get() and set() allocate nothing in steady state.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class LRUCacheOffHeap implements IntCache {
+
+    /**
+     * - Discussion -
+     * Same design as the first LRUCachePlain, a chained hash table sized once from the capacity plus a doubly linked
+     * eviction queue, with references replaced by int slot indexes and NIL standing in for null. LRUCachePlain has
+     * since moved to an open addressing Robin Hood table, whereas fixed size chains suit slots recycled in place.
+     * <p>
+     * A new key is pushed onto the head of its hash chain instead of being appended to the tail, so inserting never
+     * walks the chain. A direct buffer holds at most 2 GB, i.e. fewer than 2^29 ints, and the bucket count is the
+     * capacity rounded up to a power of two, which caps the capacity at MAX_CAPACITY = 2^28 entries (about 268M).
+     */
+
+    private static final int NIL = -1;
+    static final int MAX_CAPACITY = 1 << 28;
+
+    private final int capacity;
+    private int occupancy;
+
+    private final IntBuffer bucketHeads; // hash table, slot index of the first node of each chain
+    private final int bucketCount;
+
+    private final IntBuffer keys;
+    private final IntBuffer values;
+    private final IntBuffer prevs;     // eviction queue links
+    private final IntBuffer nexts;
+    private final IntBuffer hashNexts; // hash table collision resolution chain
+
+    private int evictionQueueHead;
+    private int evictionQueueTail;
+
+    public LRUCacheOffHeap(final int capacity) throws Exception {
+        if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
+        if (capacity > MAX_CAPACITY) throw new Exception("Capacity exceeds " + MAX_CAPACITY + " entries!");
+        this.capacity = capacity;
+        this.occupancy = 0;
+        this.bucketCount = LRUCachePlain.roundUpToNearestPowerOfTwo(capacity);
+        this.bucketHeads = allocateIntBuffer(this.bucketCount);
+        for (int i = 0; i < this.bucketCount; i++) this.bucketHeads.put(i, NIL);
+        this.keys = allocateIntBuffer(capacity);
+        this.values = allocateIntBuffer(capacity);
+        this.prevs = allocateIntBuffer(capacity);
+        this.nexts = allocateIntBuffer(capacity);
+        this.hashNexts = allocateIntBuffer(capacity);
+        this.evictionQueueHead = this.evictionQueueTail = NIL;
+    }
+
+    private static IntBuffer allocateIntBuffer(int size) {
+        return ByteBuffer.allocateDirect(size << 2).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    public int get(int key) throws Exception {
+        int slot = findSlot(key);
+        if (slot == NIL) throw new Exception("Not found!");
+        locateToEvictionQueueHead(slot);
+        return this.values.get(slot);
+    }
+
+    /**
+     * Allocation free lookup, returning the given default value on a miss
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        int slot = findSlot(key);
+        if (slot == NIL) return defaultValue;
+        locateToEvictionQueueHead(slot);
+        return this.values.get(slot);
+    }
+
+    public void set(int key, int value) {
+        int slot = findSlot(key);
+        if (slot != NIL) { // update
+            this.values.put(slot, value);
+            locateToEvictionQueueHead(slot);
+            return;
+        }
+        // insert
+        if (this.occupancy == this.capacity) { // cache is full, recycle the slot of the tail
+            slot = this.evictionQueueTail;
+            removeFromEvictionQueue(slot);
+            removeFromHashTable(slot);
+        } else {
+            slot = this.occupancy++;
+        }
+        this.keys.put(slot, key);
+        this.values.put(slot, value);
+        this.prevs.put(slot, NIL);
+        this.nexts.put(slot, NIL);
+        addToHashTable(slot);
+        locateToEvictionQueueHead(slot);
+    }
+
+    public boolean contains(int key) {
+        return findSlot(key) != NIL;
+    }
+
+    public int size() {
+        return this.occupancy;
+    }
+
+    /**
+     * Bytes of direct memory held by this cache
+     */
+    public long footprintBytes() {
+        return ((long) this.bucketCount + 5L * this.capacity) << 2;
+    }
+
+    public void printEvictionQueue() {
+        for (int slot = this.evictionQueueHead; slot != NIL; slot = this.nexts.get(slot))
+            System.out.printf("{" + this.keys.get(slot) + ": " + this.values.get(slot) + "} > ");
+        System.out.println();
+    }
+
+    /* Doubly linked list for eviction queue (start) */
+    private void locateToEvictionQueueHead(int slot) {
+        if (slot == this.evictionQueueHead) return;
+        removeFromEvictionQueue(slot);
+        this.nexts.put(slot, this.evictionQueueHead);
+        if (this.evictionQueueHead != NIL) this.prevs.put(this.evictionQueueHead, slot);
+        else this.evictionQueueTail = slot;
+        this.evictionQueueHead = slot;
+    }
+
+    private void removeFromEvictionQueue(int slot) {
+        int prev = this.prevs.get(slot), next = this.nexts.get(slot);
+        if (prev != NIL) this.nexts.put(prev, next);
+        else if (slot == this.evictionQueueHead) this.evictionQueueHead = next;
+        if (next != NIL) this.prevs.put(next, prev);
+        else if (slot == this.evictionQueueTail) this.evictionQueueTail = prev;
+        this.prevs.put(slot, NIL);
+        this.nexts.put(slot, NIL);
+    }
+    /* Doubly linked list for eviction queue (end) */
+
+    /* Hash table with chain based collision resolution for cache storage (start) */
+    private int findSlot(int key) {
+        int slot = this.bucketHeads.get(LRUCachePlain.hashTableIndex(key, this.bucketCount));
+        while (slot != NIL && this.keys.get(slot) != key) slot = this.hashNexts.get(slot);
+        return slot;
+    }
+
+    private void addToHashTable(int slot) {
+        int index = LRUCachePlain.hashTableIndex(this.keys.get(slot), this.bucketCount);
+        this.hashNexts.put(slot, this.bucketHeads.get(index));
+        this.bucketHeads.put(index, slot);
+    }
+
+    private void removeFromHashTable(int slot) {
+        int index = LRUCachePlain.hashTableIndex(this.keys.get(slot), this.bucketCount);
+        int iterator = this.bucketHeads.get(index);
+        if (iterator == slot) {
+            this.bucketHeads.put(index, this.hashNexts.get(slot));
+        } else {
+            while (this.hashNexts.get(iterator) != slot) iterator = this.hashNexts.get(iterator);
+            this.hashNexts.put(iterator, this.hashNexts.get(slot));
+        }
+        this.hashNexts.put(slot, NIL);
+    }
+    /* Hash table with chain based collision resolution for cache storage (end) */
+
+    private static long usedHeapBytes() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of off-heap LRU caches.");
+        LRUCacheOffHeap cache = new LRUCacheOffHeap(4);
+        System.out.println("\nSet first 5 new entries ...");
+        for (int i = 1; i <= 5; i++) cache.set(i, i * 10 + 1);
+        cache.printEvictionQueue();
+        System.out.println("Get an existing entry and a non-existing entry (default -1) ...");
+        System.out.println(cache.getOrDefault(3, -1) + " " + cache.getOrDefault(1, -1));
+        cache.printEvictionQueue();
+
+        System.out.println("\n/* Memory footprint against LRUCachePlain (pass entry counts as arguments to override) */");
+        int[] sizes = {1_000_000, 10_000_000, 50_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) sizes[i] = Integer.parseInt(args[i]);
+        }
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        System.out.printf("%-14s%-30s%-30s%-30s\n", "Entries", "LRUCachePlain heap bytes",
+                "LRUCacheOffHeap heap bytes", "LRUCacheOffHeap direct bytes");
+        for (int size : sizes) {
+            String plainBytes;
+            try {
+                long before = usedHeapBytes();
+                LRUCachePlain plain = new LRUCachePlain(size);
+                for (int i = 0; i < size; i++) plain.set(i, i);
+                plainBytes = formatter.format(usedHeapBytes() - before);
+                if (!plain.contains(size - 1)) throw new IllegalStateException();
+            } catch (OutOfMemoryError e) {
+                plainBytes = "OutOfMemoryError";
+            }
+            String offHeapBytes, directBytes;
+            try {
+                long before = usedHeapBytes();
+                LRUCacheOffHeap offHeap = new LRUCacheOffHeap(size);
+                for (int i = 0; i < size; i++) offHeap.set(i, i);
+                offHeapBytes = formatter.format(usedHeapBytes() - before);
+                directBytes = formatter.format(offHeap.footprintBytes());
+                if (!offHeap.contains(size - 1)) throw new IllegalStateException();
+            } catch (OutOfMemoryError e) {
+                offHeapBytes = directBytes = "OutOfMemoryError";
+            }
+            System.out.printf("%-14s%-30s%-30s%-30s\n", formatter.format(size), plainBytes, offHeapBytes, directBytes);
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
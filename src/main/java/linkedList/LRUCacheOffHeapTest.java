@@ -0,0 +1,101 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LRUCacheOffHeapTest {
+
+    @Test
+    public final void shouldGetWhatWasSet() throws Exception {
+        LRUCacheOffHeap cache = new LRUCacheOffHeap(3);
+        cache.set(1, 11);
+        cache.set(-2, 21);
+        cache.set(3, 31);
+        cache.set(1, 12); // update
+
+        Assert.assertEquals(12, cache.get(1));
+        Assert.assertEquals(21, cache.get(-2));
+        Assert.assertEquals(31, cache.getOrDefault(3, -1));
+        Assert.assertEquals(-1, cache.getOrDefault(4, -1));
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test(expected = Exception.class)
+    public final void shouldThrowOnAMiss() throws Exception {
+        new LRUCacheOffHeap(2).get(1);
+    }
+
+    @Test
+    public final void shouldEvictInLeastRecentlyUsedOrder() throws Exception {
+        LRUCacheOffHeap cache = new LRUCacheOffHeap(3);
+        cache.set(1, 1);
+        cache.set(2, 2);
+        cache.set(3, 3);
+        cache.get(1);
+        cache.set(2, 20);
+        cache.set(4, 4); // evicts 3
+        Assert.assertFalse(cache.contains(3));
+        cache.set(5, 5); // evicts 1
+        Assert.assertFalse(cache.contains(1));
+        Assert.assertEquals(20, cache.get(2));
+        Assert.assertEquals(4, cache.get(4));
+        Assert.assertEquals(5, cache.get(5));
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public final void shouldAgreeWithAnAccessOrderedLinkedHashMap() throws Exception {
+        int capacity = 100;
+        LRUCacheOffHeap cache = new LRUCacheOffHeap(capacity);
+        Map<Integer, Integer> reference = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return size() > capacity;
+            }
+        };
+        Random random = new Random(4);
+        for (int op = 0; op < 200_000; op++) {
+            int key = random.nextInt(300) - 150; // collides in the 128 buckets and recycles slots
+            if (random.nextBoolean()) {
+                cache.set(key, op);
+                reference.put(key, op);
+            } else {
+                Integer expected = reference.get(key);
+                Assert.assertEquals(expected == null ? Integer.MIN_VALUE : expected.intValue(),
+                        cache.getOrDefault(key, Integer.MIN_VALUE));
+            }
+            Assert.assertEquals(reference.size(), cache.size());
+        }
+        for (int key : reference.keySet()) Assert.assertTrue(cache.contains(key));
+    }
+
+    @Test
+    public final void shouldRejectACapacityBeyondTheDirectBufferLimit() throws Exception {
+        try {
+            new LRUCacheOffHeap(LRUCacheOffHeap.MAX_CAPACITY + 1);
+            Assert.fail("A capacity above 2^28 was accepted");
+        } catch (Exception e) {
+            Assert.assertEquals("Capacity exceeds " + (1 << 28) + " entries!", e.getMessage());
+        }
+        try {
+            new LRUCacheOffHeap(Integer.MAX_VALUE);
+            Assert.fail("A capacity of Integer.MAX_VALUE was accepted");
+        } catch (Exception e) {
+            Assert.assertEquals("Capacity exceeds " + (1 << 28) + " entries!", e.getMessage());
+        }
+    }
+
+    @Test
+    public final void shouldSizeBuffersOfTheLargestCapacityWithoutOverflow() throws Exception {
+        LRUCacheOffHeap cache = new LRUCacheOffHeap(1 << 20);
+        Assert.assertEquals(((1L << 20) + 5L * (1 << 20)) * 4, cache.footprintBytes());
+        // the largest capacity needs 6 GB of direct memory, so only its buffer sizes are checked
+        Assert.assertTrue((long) LRUCachePlain.roundUpToNearestPowerOfTwo(LRUCacheOffHeap.MAX_CAPACITY) << 2
+                <= Integer.MAX_VALUE);
+    }
+}
@@ -19,14 +19,33 @@ package linkedList;
  * @since 2019-Jun-22
  */
 
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormat;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+
+import utils.CacheStats;
+import utils.FunIntAlgorithm;
+import utils.IntCache;
+import utils.StatsCounter;
 
 /**
  * TODO
  * 1) Add proper unit tests to the implementation
- * 2) Separate Hash Table implementation to a new topic to discuss further
+ * 2) Separate Hash Table implementation to a new topic to discuss further (started with RobinHoodNodeTable)
  */
-public class LRUCachePlain {
+public class LRUCachePlain implements IntCache {
 
     /**
      * - Discussion -
@@ -35,19 +54,51 @@ public class LRUCachePlain {
      * An LRU cache can be designed by leveraging both.
      *
      * In stead of relying upon the JDK Collection and Map interface, write your own.
+     *
+     * Entries can optionally expire a fixed time after write or after access. Deadlines are kept in a hierarchical
+     * timing wheel, which is advanced on every call, so expired entries are reclaimed as a side effect of regular
+     * traffic without scanning the table and without a sweeper thread.
+     *
+     * A snapshot writes the entries in recency order (most recently used first) into a memory-mapped file, so that a
+     * restarted process can restore a warm cache. Restoring sizes the hash table once from the entry count in the
+     * header, then links the nodes into the eviction queue in file order and inserts each into the hash table
+     * directly, with neither a lookup per entry as set() would do nor any resize on the way.
+     *
+     * Which entry to evict is up to an EvictionQueue chosen per instance (LRU by default, or ARC, 2Q, CLOCK-Pro), while
+     * the hash table stays shared storage. The queue is told about every insertion, hit and removal, and links the
+     * nodes through their prev/next fields as it sees fit.
+     *
+     * The hash table was first an array of chains sized once from the capacity. It is now an open addressing Robin
+     * Hood table (see RobinHoodNodeTable) that grows incrementally, so that probing stays within a few adjacent slots
+     * and no key pattern can build a long chain.
+     *
+     * A miss costs an exception in get(), whose stack trace dwarfs the lookup itself. getOrDefault() reports a miss
+     * with a default value instead and allocates nothing.
+     *
+     * An eviction listener hears about every entry evicted for capacity, e.g. to spill it to a slower tier (see
+     * TwoTierLRUCache). Expired entries are not reported, their values are no longer worth keeping.
      */
 
-    private class LRUCacheNode {
+    /**
+     * Told about each entry evicted to make room, right after it left the cache
+     */
+    public interface EvictionListener {
+        void onEviction(int key, int value);
+    }
+
+    static class LRUCacheNode extends TimingWheel.Node {
         int key;
         int value;
-        LRUCacheNode prev;
+        LRUCacheNode prev; // eviction queue links, owned by the eviction queue like the three fields below
         LRUCacheNode next;
-        LRUCacheNode hashNext; // for hash table collision resolution chain
+        int queue;
+        boolean referenced;
+        boolean inTest;
 
         public LRUCacheNode(int key, int value) {
             this.key = key;
             this.value = value;
-            this.prev = this.next = this.hashNext = null;
+            this.prev = this.next = null;
         }
 
         public String toString() {
@@ -58,18 +109,53 @@ public class LRUCachePlain {
     private int capacity;
     private int occupancy;
 
-    private LRUCacheNode[] cacheStore; // hash table with collisions resolved via chaining
-    private int cacheStoreArraySize;
+    private RobinHoodNodeTable cacheStore;
+
+    private EvictionQueue evictionQueue;
+
+    private TimingWheel expiryWheel; // null if entries never expire
+    private ExpiryPolicy expiryPolicy;
+    private long expiryNanos;
+    private LongSupplier ticker;
+
+    private StatsCounter statsCounter = StatsCounter.disabled();
+    private EvictionListener evictionListener; // null if nobody listens
 
-    private LRUCacheNode evictionQueueHead;
-    private LRUCacheNode evictionQueueTail;
+    private static final int SNAPSHOT_MAGIC = 0x4C525543; // "LRUC"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_HEADER_BYTES = 16; // magic, version, entry count, reserved
+    private static final int SNAPSHOT_ENTRY_BYTES = 8;   // key, value
+    private static final long SNAPSHOT_CHUNK_ENTRIES = 1L << 27; // 1 GB per mapping, well below the 2 GB limit
 
     public LRUCachePlain(final int capacity) throws Exception {
+        this(capacity, EvictionPolicy.LRU);
+    }
+
+    public LRUCachePlain(final int capacity, final EvictionPolicy evictionPolicy) throws Exception {
         if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
         this.capacity = capacity;
         this.occupancy = 0;
-        this.cacheStoreArraySize = roundUpToNearestPowerOfTwo(this.capacity);
-        this.cacheStore = new LRUCacheNode[this.cacheStoreArraySize];
+        this.cacheStore = new RobinHoodNodeTable();
+        this.evictionQueue = evictionPolicy.newQueue(capacity);
+    }
+
+    public LRUCachePlain(final int capacity, final ExpiryPolicy expiryPolicy, final long duration,
+                         final TimeUnit unit) throws Exception {
+        this(capacity, expiryPolicy, duration, unit, System::nanoTime);
+    }
+
+    /**
+     * Expiring cache reading time from the given ticker (in nanoseconds), which lets tests control the clock
+     */
+    public LRUCachePlain(final int capacity, final ExpiryPolicy expiryPolicy, final long duration,
+                         final TimeUnit unit, final LongSupplier ticker) throws Exception {
+        this(capacity);
+        if (expiryPolicy == null) throw new Exception("Expiry policy cannot be null!");
+        if (duration <= 0) throw new Exception("Expiry duration must be positive!");
+        this.expiryPolicy = expiryPolicy;
+        this.expiryNanos = unit.toNanos(duration);
+        this.ticker = ticker;
+        this.expiryWheel = new TimingWheel(ticker.getAsLong(), node -> removeEntry((LRUCacheNode) node, false));
     }
 
     /* Learnt form what Java 8 does in HashMap implementation */
@@ -89,145 +175,304 @@ public class LRUCachePlain {
     }
     /* Learnt form what Java 8 does in HashMap implementation */
 
+    @Override
     public int get(int key) throws Exception {
-        LRUCacheNode target = findNodeFromHashTable(key);
+        LRUCacheNode target = getNode(key);
         if (target == null) throw new Exception("Not found!");
-        locateToEvictionQueueHead(target);
         return target.value;
     }
 
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        LRUCacheNode target = getNode(key);
+        return target == null ? defaultValue : target.value;
+    }
+
+    @Override
     public void set(int key, int value) {
-        LRUCacheNode target = findNodeFromHashTable(key);
+        long startTime = startTimer();
+        long now = expireEntries();
+        LRUCacheNode target = findLiveNode(key, now);
         if (target != null) { // update
             target.value = value;
-            locateToEvictionQueueHead(target);
+            if (this.expiryWheel != null) scheduleExpiry(target, now);
+            this.evictionQueue.recordAccess(target);
         } else { // insert
             if (this.occupancy == this.capacity) { // cache is full
-                LRUCacheNode tail = this.evictionQueueTail;
-                this.evictionQueueTail = this.evictionQueueTail.prev;
-                removeNodeFromEvictionQueue(tail);
-
-                int index = hashTableIndex(tail.key, this.cacheStoreArraySize);
-                this.cacheStore[index] = removeNodeFromHashTableChain(this.cacheStore[index], tail);
-
-                this.occupancy--;
+                removeEntry(this.evictionQueue.victimFor(key), true);
             }
             LRUCacheNode node = new LRUCacheNode(key, value);
-            locateToEvictionQueueHead(node);
-            addNodeToHashTable(node);
+            this.cacheStore.insert(node);
+            this.evictionQueue.recordInsertion(node);
             this.occupancy++;
+            if (this.expiryWheel != null) scheduleExpiry(node, now);
         }
+        recordLatency(startTime);
     }
 
+    @Override
     public boolean contains(int key) {
-        return null != findNodeFromHashTable(key);
+        return null != findLiveNode(key, expireEntries());
     }
 
-    public void printEvictionQueue() {
-        LRUCacheNode start = this.evictionQueueHead;
-        while (start != null) {
-            System.out.printf(start.toString() + " > ");
-            start = start.next;
+    @Override
+    public int size() {
+        return this.occupancy;
+    }
+
+    @Override
+    public void recordStats(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.statsCounter.snapshot();
+    }
+
+    public void setEvictionListener(EvictionListener evictionListener) {
+        this.evictionListener = evictionListener;
+    }
+
+    /**
+     * Reclaim expired entries without touching any key. Since get, set and contains already do this, it is only
+     * needed to release the memory of an idle cache, e.g. from a scheduled task synchronized with the other callers.
+     */
+    public void cleanUp() {
+        expireEntries();
+    }
+
+    /**
+     * Write all entries, most recently used (or most worth keeping) first, into the given file (replacing it). Expiry deadlines are not
+     * written since they are relative to the ticker of this process.
+     */
+    public void snapshot(Path file) throws IOException {
+        expireEntries();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, SNAPSHOT_HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_VERSION).putInt(this.occupancy).putInt(0);
+            Iterator<LRUCacheNode> nodes = this.evictionQueue.iterator();
+            for (long written = 0; written < this.occupancy; ) {
+                long chunkEntries = Math.min(SNAPSHOT_CHUNK_ENTRIES, this.occupancy - written);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE,
+                        SNAPSHOT_HEADER_BYTES + written * SNAPSHOT_ENTRY_BYTES, chunkEntries * SNAPSHOT_ENTRY_BYTES);
+                IntBuffer pairs = chunk.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                for (long i = 0; i < chunkEntries; i++) {
+                    LRUCacheNode node = nodes.next();
+                    pairs.put(node.key).put(node.value);
+                }
+                written += chunkEntries;
+            }
+        }
+    }
+
+    /**
+     * Load a snapshot into this empty cache, keeping the recency order. If the snapshot holds more entries than the
+     * capacity, only the most recently used ones are restored. Entries of an expiring cache start a fresh expiry.
+     */
+    public void restore(Path file) throws Exception {
+        if (this.occupancy != 0) throw new Exception("Can only restore into an empty cache!");
+        long now = expireEntries();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < SNAPSHOT_HEADER_BYTES) throw new Exception("Not a cache snapshot!");
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SNAPSHOT_HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != SNAPSHOT_MAGIC) throw new Exception("Not a cache snapshot!");
+            if (header.getInt() != SNAPSHOT_VERSION) throw new Exception("Unsupported snapshot version!");
+            int count = header.getInt();
+            if (channel.size() != SNAPSHOT_HEADER_BYTES + (long) count * SNAPSHOT_ENTRY_BYTES)
+                throw new Exception("Truncated snapshot!");
+            int entries = Math.min(count, this.capacity);
+            this.cacheStore.ensureCapacity(entries);
+            for (long read = 0; read < entries; ) {
+                long chunkEntries = Math.min(SNAPSHOT_CHUNK_ENTRIES, entries - read);
+                MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_ONLY,
+                        SNAPSHOT_HEADER_BYTES + read * SNAPSHOT_ENTRY_BYTES, chunkEntries * SNAPSHOT_ENTRY_BYTES);
+                IntBuffer pairs = chunk.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                for (long i = 0; i < chunkEntries; i++) {
+                    LRUCacheNode node = new LRUCacheNode(pairs.get(), pairs.get());
+                    this.evictionQueue.recordRestored(node); // goes behind the entries restored so far
+                    this.cacheStore.insert(node); // keys in a snapshot are unique
+                    if (this.expiryWheel != null) scheduleExpiry(node, now);
+                }
+                read += chunkEntries;
+            }
+            this.occupancy = entries;
         }
+    }
+
+    public void printEvictionQueue() {
+        for (LRUCacheNode node : this.evictionQueue) System.out.printf(node.toString() + " > ");
         System.out.println();
     }
 
     public void printCacheStore() {
-        Arrays.stream(cacheStore).forEach(node -> {
-            while (node != null) {
-                System.out.print(node.toString() + " ");
-                node = node.hashNext;
-            }
-            System.out.println();
-        });
+        this.cacheStore.print();
     }
 
-    /* Doubly linked list for eviction queue (start) */
-    private void locateToEvictionQueueHead(LRUCacheNode node) {
-        if (node == this.evictionQueueTail) this.evictionQueueTail = this.evictionQueueTail.prev;
+    /**
+     * Number of entries at each probe length of the hash table, index 0 counting entries in their home slot
+     */
+    public int[] probeLengthHistogram() {
+        return this.cacheStore.probeLengthHistogram();
+    }
 
-        removeNodeFromEvictionQueue(node);
+    private void removeEntry(LRUCacheNode node, boolean evicted) {
+        this.evictionQueue.recordRemoval(node, evicted);
+        this.cacheStore.remove(node);
 
-        if (this.evictionQueueHead != null) {
-            this.evictionQueueHead.prev = node;
-            node.next = this.evictionQueueHead;
-        } else {
-            this.evictionQueueTail = node;
-        }
+        if (this.expiryWheel != null) this.expiryWheel.deschedule(node);
+        this.occupancy--;
+        this.statsCounter.recordEviction();
+        if (evicted && this.evictionListener != null) this.evictionListener.onEviction(node.key, node.value);
+    }
 
-        this.evictionQueueHead = node;
-    }
-
-    private void removeNodeFromEvictionQueue(LRUCacheNode node) {
-        if (node.prev != null && node.next != null) {
-            // reconnect the list
-            node.next.prev = node.prev;
-            node.prev.next = node.next;
-            // void the node to be removed
-            node.prev = node.next = null;
-        } else if (node.next != null) {
-            // detach from head
-            node.next.prev = null;
-            node.next = null;
-        } else if (node.prev != null) {
-            // detach from tail
-            node.prev.next = null;
-            node.prev = null;
+    /**
+     * Look up a key for a read, telling the eviction queue about a hit and recording the outcome, or return null
+     */
+    private LRUCacheNode getNode(int key) {
+        long startTime = startTimer();
+        long now = expireEntries();
+        LRUCacheNode target = findLiveNode(key, now);
+        if (target == null) {
+            this.statsCounter.recordMiss();
         } else {
-            // do nothing
+            if (this.expiryPolicy == ExpiryPolicy.EXPIRE_AFTER_ACCESS) scheduleExpiry(target, now);
+            this.evictionQueue.recordAccess(target);
+            this.statsCounter.recordHit();
         }
+        recordLatency(startTime);
+        return target;
     }
-    /* Doubly linked list for eviction queue (end) */
-
-    /* Hash table with chain based collision resolution for cache storage (start) */
-    private LRUCacheNode findNodeFromHashTable(int key) {
-        int index = hashTableIndex(key, this.cacheStoreArraySize);
-        LRUCacheNode targetChainRoot = this.cacheStore[index];
-        LRUCacheNode target = null;
-        while (targetChainRoot != null) {
-            if (targetChainRoot.key == key) {
-                target = targetChainRoot;
-                break;
-            }
-            targetChainRoot = targetChainRoot.hashNext;
+
+    private long startTimer() {
+        return this.statsCounter.isRecordingLatency() ? System.nanoTime() : 0L;
+    }
+
+    private void recordLatency(long startTime) {
+        if (this.statsCounter.isRecordingLatency()) this.statsCounter.recordLatency(System.nanoTime() - startTime);
+    }
+
+    /* Expiry (start) */
+
+    /**
+     * Advance the timing wheel to the current time, expiring due entries, and return the current time
+     */
+    private long expireEntries() {
+        if (this.expiryWheel == null) return 0L;
+        long now = this.ticker.getAsLong();
+        this.expiryWheel.advance(now);
+        return now;
+    }
+
+    /**
+     * Look up a key, treating an entry that is due but not reclaimed yet (the wheel ticks every ~1 ms) as absent
+     */
+    private LRUCacheNode findLiveNode(int key, long now) {
+        LRUCacheNode target = this.cacheStore.find(key);
+        if (target != null && this.expiryWheel != null && target.expiresAt - now <= 0) {
+            removeEntry(target, false);
+            return null;
         }
         return target;
     }
 
-    private void addNodeToHashTable(LRUCacheNode node) {
-        int index = hashTableIndex(node.key, this.cacheStoreArraySize);
-        if (this.cacheStore[index] == null) this.cacheStore[index] = node;
-        else { // collision handling
-            LRUCacheNode root = this.cacheStore[index];
-            while (root.hashNext != null) root = root.hashNext;
-            root.hashNext = node;
-        }
+    private void scheduleExpiry(LRUCacheNode node, long now) {
+        node.expiresAt = now + this.expiryNanos;
+        this.expiryWheel.schedule(node);
     }
+    /* Expiry (end) */
+
+
 
     /**
-     * Return root of the chain after removal
+     * Read every key of the trace through a cache of the given policy, loading it on a miss, and return the hit rate
      */
-    private LRUCacheNode removeNodeFromHashTableChain(LRUCacheNode root, LRUCacheNode node) {
-        LRUCacheNode prev = null;
-        LRUCacheNode iterator = root;
+    private static double hitRate(EvictionPolicy evictionPolicy, int capacity, int[] trace) throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(capacity, evictionPolicy);
+        int hits = 0;
+        for (int key : trace) {
+            if (cache.contains(key)) {
+                cache.get(key);
+                hits++;
+            } else {
+                cache.set(key, key);
+            }
+        }
+        return 100.0 * hits / trace.length;
+    }
 
-        if (iterator != null && iterator.value == node.value) return null;
+    private static void printProbeLengthHistogram(String label, IntUnaryOperator keyOf) throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(100_000);
+        for (int i = 0; i < 100_000; i++) cache.set(keyOf.applyAsInt(i), i);
+        System.out.printf("%-14s%s\n", label, Arrays.toString(cache.probeLengthHistogram()));
+    }
 
-        while (iterator != null) {
-            if (iterator.key == node.key) {
-                if (prev != null) prev.hashNext = node.hashNext;
-                node.hashNext = null;
+    /**
+     * Average nanoseconds per lookup of the given keys in a cache holding keys 0 to 99,999
+     */
+    private static double measureLookups(int[] keys, boolean withDefault) throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(100_000);
+        for (int key = 0; key < 100_000; key++) cache.set(key, key);
+        long sum = 0;
+        long startTime = System.nanoTime();
+        for (int key : keys) {
+            if (withDefault) {
+                sum += cache.getOrDefault(key, 0);
+            } else {
+                try {
+                    sum += cache.get(key);
+                } catch (Exception e) {
+                    // a miss
+                }
             }
-            prev = iterator;
-            iterator = iterator.hashNext;
         }
-
-        return root;
+        double nanosPerLookup = (double) (System.nanoTime() - startTime) / keys.length;
+        if (sum == 42) System.out.println(); // keep the lookups from being optimized away
+        return nanosPerLookup;
     }
-    /* Hash table with chain based collision resolution for cache storage (end) */
 
+    /**
+     * Time a snapshot of a full cache, its restore, and warming up the same cache with set() for comparison
+     */
+    private static void measureSnapshotAndRestore(int entries) throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(entries);
+        for (int i = 0; i < entries; i++) cache.set(i * 31, i);
+        Path file = Files.createTempFile("lru-cache", ".snapshot");
+        try {
+            long startTime = System.nanoTime();
+            cache.snapshot(file);
+            long snapshotMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            int[] keys = new int[entries], values = new int[entries];
+            int i = entries;
+            for (LRUCacheNode node : cache.evictionQueue) { // fill from the back, least recently used first
+                keys[--i] = node.key;
+                values[i] = node.value;
+            }
+            cache = null; // let the original go before building the copies
+
+            LRUCachePlain restored = new LRUCachePlain(entries);
+            startTime = System.nanoTime();
+            restored.restore(file);
+            long restoreMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+            if (restored.size() != entries || !restored.contains(keys[0])) throw new IllegalStateException();
+            restored = null;
+
+            LRUCachePlain warmed = new LRUCachePlain(entries);
+            startTime = System.nanoTime();
+            for (i = 0; i < entries; i++) warmed.set(keys[i], values[i]); // least recently used first
+            long warmMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+
+            System.out.printf("%-14s%-16s%-16s%-16s%-16s\n", new DecimalFormat("#,###").format(entries),
+                    Files.size(file) >> 20, snapshotMillis, restoreMillis, warmMillis);
+        } finally {
+            Files.delete(file);
+        }
+    }
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         System.out.println("Welcome to the rabbit hole of LRU caches.");
         LRUCachePlain cache = null;
         try {
@@ -293,7 +538,7 @@ public class LRUCachePlain {
         System.out.println("Cache store: ");
         cache.printCacheStore();
 
-        System.out.println("\nCheck hash table chaining...");
+        System.out.println("\nCheck hash table probing...");
         try {
             cache = new LRUCachePlain(7);
         } catch (Exception e) {
@@ -311,6 +556,59 @@ public class LRUCachePlain {
         System.out.println("Cache store: ");
         cache.printCacheStore();
 
+        System.out.println("\nCheck expiry after write with a manual clock...");
+        long[] clock = {0L};
+        try {
+            cache = new LRUCachePlain(4, ExpiryPolicy.EXPIRE_AFTER_WRITE, 10, TimeUnit.SECONDS, () -> clock[0]);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        cache.set(1, 1);
+        clock[0] += TimeUnit.SECONDS.toNanos(6);
+        cache.set(2, 2);
+        System.out.println("Eviction queue after 6 seconds: ");
+        cache.printEvictionQueue();
+        clock[0] += TimeUnit.SECONDS.toNanos(6);
+        cache.cleanUp();
+        System.out.println("Eviction queue after 12 seconds (the first entry expired): ");
+        cache.printEvictionQueue();
+
+        System.out.println("\n/* Hit rate (%) per eviction policy, capacity 1,000 */");
+        int[][] traces = {
+                FunIntAlgorithm.genZipfIntArr(200_000, 100_000, 0.8),
+                FunIntAlgorithm.genZipfIntArr(200_000, 100_000, 0.99),
+                new int[200_000]
+        };
+        for (int i = 0; i < traces[2].length; i++) traces[2][i] = i % 1_200; // a loop slightly larger than the cache
+        System.out.printf("%-12s%-16s%-16s%-16s\n", "Policy", "Zipf(0.8)", "Zipf(0.99)", "Loop of 1,200");
+        for (EvictionPolicy evictionPolicy : EvictionPolicy.values()) {
+            System.out.printf("%-12s", evictionPolicy);
+            for (int[] trace : traces) System.out.printf("%-16.2f", hitRate(evictionPolicy, 1_000, trace));
+            System.out.println();
+        }
+
+        System.out.println("\n/* Probe length histogram of 100,000 keys (entries at probe length 0, 1, 2, ...) */");
+        printProbeLengthHistogram("Sequential", i -> i);
+        printProbeLengthHistogram("Random", i -> ThreadLocalRandom.current().nextInt());
+        printProbeLengthHistogram("Strided 2^12", i -> i << 12); // all alike in the low bits
+
+        System.out.println("\n/* Lookups of which 30% miss, capacity 100,000 (ns per lookup) */");
+        System.out.printf("%-16s%-20s\n", "get()", "getOrDefault()");
+        int[] lookups = new int[2_000_000];
+        for (int i = 0; i < lookups.length; i++) {
+            int key = ThreadLocalRandom.current().nextInt(100_000);
+            lookups[i] = ThreadLocalRandom.current().nextInt(10) < 3 ? key + 100_000 : key; // cached keys are below
+        }
+        for (int round = 0; round < 2; round++) { // the first round warms up the JIT
+            System.out.printf("%-16.1f%-20.1f\n", measureLookups(lookups, false), measureLookups(lookups, true));
+        }
+
+        System.out.println("\n/* Snapshot and restore (pass the entry count as argument to override, e.g. 10000000) */");
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.printf("%-14s%-16s%-16s%-16s%-16s\n", "Entries", "File (MB)", "Snapshot (ms)", "Restore (ms)",
+                "set() replay (ms)");
+        measureSnapshotAndRestore(entries);
+
         System.out.println("\nAll rabbits gone.");
     }
 }
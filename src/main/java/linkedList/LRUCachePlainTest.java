@@ -3,6 +3,13 @@ package linkedList;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import utils.CacheStats;
+import utils.ConcurrentStatsCounter;
+
 public class LRUCachePlainTest {
 
     @Test
@@ -61,6 +68,265 @@ public class LRUCachePlainTest {
         Assert.assertTrue(cache.contains(3));
     }
 
+    @Test
+    public final void shouldKeepEvictionOrderWhenGettingTheMostRecentlyUsedEntry() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(2);
+
+        cache.set(1, 1);
+        cache.set(2, 2);
+
+        cache.get(2);
+        cache.get(2);
+
+        cache.set(3, 3);
+
+        Assert.assertFalse(cache.contains(1));
+        Assert.assertTrue(cache.contains(2));
+        Assert.assertTrue(cache.contains(3));
+    }
+
+    @Test
+    public final void shouldEvictRepeatedlyWithCapacityOfOne() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(1);
+
+        cache.set(1, 1);
+        cache.set(2, 2);
+        cache.set(3, 3);
+
+        Assert.assertFalse(cache.contains(1));
+        Assert.assertFalse(cache.contains(2));
+        Assert.assertEquals(3, cache.get(3));
+    }
+
+    @Test
+    public final void shouldKeepCollidingEntriesWhenEvictingFromAProbeRun() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(4);
+
+        // keys 0, 13 and 34 share home slot 0 of the initial table of 16 slots, and 0 and 34 also share a value;
+        // key 5, whose home is slot 1, joins the end of their run, and evicting 0 shifts the run back
+        cache.set(0, 7);
+        cache.set(13, 13);
+        cache.set(34, 7);
+        cache.set(1, 1);
+        cache.set(5, 5);
+
+        Assert.assertFalse(cache.contains(0));
+        Assert.assertEquals(13, cache.get(13));
+        Assert.assertEquals(7, cache.get(34));
+        Assert.assertEquals(5, cache.get(5));
+        Assert.assertEquals(1, cache.get(1));
+    }
+
+    @Test
+    public final void shouldReturnTheDefaultValueOnAMissAndRecordIt() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(2);
+        ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter(false);
+        cache.recordStats(statsCounter);
+        cache.set(1, 1);
+        cache.set(2, 2);
+
+        Assert.assertEquals(-1, cache.getOrDefault(3, -1));
+        Assert.assertEquals(1, cache.getOrDefault(1, -1));
+        cache.set(3, 3); // evicts 2, since reading 1 made it the most recently used
+
+        Assert.assertEquals(-1, cache.getOrDefault(2, -1));
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(1, stats.hitCount());
+        Assert.assertEquals(2, stats.missCount());
+    }
+
+    @Test
+    public final void shouldExpireAnEntryAfterWriteEvenIfItIsRead() throws Exception {
+        long[] clock = {0L};
+        LRUCachePlain cache = new LRUCachePlain(4, ExpiryPolicy.EXPIRE_AFTER_WRITE, 10, TimeUnit.SECONDS, () -> clock[0]);
+
+        cache.set(1, 1);
+        clock[0] += TimeUnit.SECONDS.toNanos(9);
+        Assert.assertEquals(1, cache.get(1));
+        clock[0] += TimeUnit.SECONDS.toNanos(1);
+
+        Assert.assertFalse(cache.contains(1));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public final void shouldExtendTheLifetimeOfAnEntryOnAccess() throws Exception {
+        long[] clock = {0L};
+        LRUCachePlain cache = new LRUCachePlain(4, ExpiryPolicy.EXPIRE_AFTER_ACCESS, 10, TimeUnit.SECONDS, () -> clock[0]);
+
+        cache.set(1, 1);
+        cache.set(2, 2);
+        clock[0] += TimeUnit.SECONDS.toNanos(9);
+        cache.get(1);
+        clock[0] += TimeUnit.SECONDS.toNanos(9);
+
+        Assert.assertTrue(cache.contains(1));
+        Assert.assertFalse(cache.contains(2));
+    }
+
+    @Test(expected = Exception.class)
+    public final void shouldRejectAMissingExpiryPolicy() throws Exception {
+        new LRUCachePlain(4, null, 10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public final void shouldReclaimExpiredEntriesWithoutTouchingThem() throws Exception {
+        long[] clock = {0L};
+        LRUCachePlain cache = new LRUCachePlain(100, ExpiryPolicy.EXPIRE_AFTER_WRITE, 1, TimeUnit.HOURS, () -> clock[0]);
+
+        for (int i = 0; i < 50; i++) cache.set(i, i);
+        clock[0] += TimeUnit.MINUTES.toNanos(30);
+        for (int i = 50; i < 100; i++) cache.set(i, i);
+        clock[0] += TimeUnit.MINUTES.toNanos(31);
+        cache.cleanUp();
+
+        Assert.assertEquals(50, cache.size());
+        clock[0] += TimeUnit.MINUTES.toNanos(30);
+        cache.cleanUp();
+
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public final void shouldRecordHitsMissesEvictionsAndLatencies() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(2);
+        cache.recordStats(new ConcurrentStatsCounter(true));
+        cache.set(1, 1);
+        cache.set(2, 2);
+        cache.get(1);
+        cache.set(3, 3); // evicts 2
+        try {
+            cache.get(2);
+        } catch (Exception e) {
+            // expected miss
+        }
+        cache.get(3);
+
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(2, stats.hitCount());
+        Assert.assertEquals(1, stats.missCount());
+        Assert.assertEquals(1, stats.evictionCount());
+        Assert.assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+        Assert.assertEquals(6, stats.latencyCount()); // 3 reads and 3 writes
+    }
+
+    @Test
+    public final void shouldRestoreEntriesAndRecencyOrderFromASnapshot() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(4);
+        for (int i = 1; i <= 4; i++) cache.set(i, i * 10);
+        cache.get(1); // recency order is now 1, 4, 3, 2
+        Path file = Files.createTempFile("lru-cache", ".snapshot");
+        try {
+            cache.snapshot(file);
+            LRUCachePlain restored = new LRUCachePlain(4);
+            restored.restore(file);
+
+            Assert.assertEquals(4, restored.size());
+            for (int i = 1; i <= 4; i++) Assert.assertEquals(i * 10, restored.get(i)); // order is now 4, 3, 2, 1
+            restored.set(5, 50);
+            Assert.assertFalse(restored.contains(1));
+
+            LRUCachePlain smaller = new LRUCachePlain(2);
+            smaller.restore(file);
+            Assert.assertEquals(2, smaller.size());
+            Assert.assertTrue(smaller.contains(1));
+            Assert.assertTrue(smaller.contains(4));
+            Assert.assertFalse(smaller.contains(3));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public final void shouldRestoreALargeSnapshotIntoAPresizedTable() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(200_000);
+        for (int i = 0; i < 200_000; i++) cache.set(i * 7919, i);
+        Path file = Files.createTempFile("lru-cache", ".snapshot");
+        try {
+            cache.snapshot(file);
+            LRUCachePlain restored = new LRUCachePlain(200_000);
+            restored.restore(file);
+
+            Assert.assertEquals(200_000, restored.size());
+            for (int i = 0; i < 200_000; i++) Assert.assertEquals(i, restored.get(i * 7919));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test (expected = Exception.class)
+    public final void shouldRefuseToRestoreIntoANonEmptyCache() throws Exception {
+        LRUCachePlain cache = new LRUCachePlain(4);
+        cache.set(1, 1);
+        Path file = Files.createTempFile("lru-cache", ".snapshot");
+        try {
+            cache.snapshot(file);
+            cache.restore(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public final void shouldKeepEveryPolicyWithinCapacityAndConsistentWithTheTable() throws Exception {
+        for (EvictionPolicy evictionPolicy : EvictionPolicy.values()) {
+            for (int capacity : new int[]{1, 2, 10, 100}) {
+                LRUCachePlain cache = new LRUCachePlain(capacity, evictionPolicy);
+                java.util.Random random = new java.util.Random(capacity);
+                for (int i = 0; i < 50_000; i++) {
+                    int key = random.nextInt(3 * capacity);
+                    if (random.nextBoolean()) cache.set(key, key * 10);
+                    else if (cache.contains(key)) Assert.assertEquals(key * 10, cache.get(key));
+                    Assert.assertTrue(cache.size() <= capacity);
+                }
+                int cached = 0;
+                for (int key = 0; key < 3 * capacity; key++) if (cache.contains(key)) cached++;
+                Assert.assertEquals(evictionPolicy + " with capacity " + capacity, cache.size(), cached);
+            }
+        }
+    }
+
+    @Test
+    public final void shouldKeepFrequentlyUsedEntriesThroughScansLongerThanTheCapacity() throws Exception {
+        // not 2Q, which only remembers evicted keys worth half the capacity, so a scan this long erases what it learnt
+        for (EvictionPolicy evictionPolicy : new EvictionPolicy[]{EvictionPolicy.LRU, EvictionPolicy.ARC,
+                EvictionPolicy.CLOCK_PRO}) {
+            LRUCachePlain cache = new LRUCachePlain(100, evictionPolicy);
+            for (int round = 0; round < 3; round++) {
+                for (int key = 0; key < 10; key++) { // two uses each, enough to tell them from the scanned keys
+                    if (!cache.contains(key)) cache.set(key, key);
+                    cache.get(key);
+                }
+                for (int key = 1_000 + round * 200; key < 1_200 + round * 200; key++) cache.set(key, key);
+            }
+            int survivors = 0;
+            for (int key = 0; key < 10; key++) if (cache.contains(key)) survivors++;
+            if (evictionPolicy == EvictionPolicy.LRU) Assert.assertEquals(0, survivors);
+            else Assert.assertEquals(evictionPolicy.toString(), 10, survivors);
+        }
+    }
+
+    @Test
+    public final void shouldFindEveryEntryWhileTheHashTableGrowsUnderChurn() throws Exception {
+        // keys alike in their low bits, which chaining on the low bits would have piled into one bucket
+        LRUCachePlain cache = new LRUCachePlain(5_000);
+        for (int i = 0; i < 20_000; i++) {
+            cache.set(i << 16, i);
+            if (i % 3 == 0) cache.set((i / 2) << 16, -i); // updates an entry or brings an evicted one back
+            for (int j = Math.max(0, i - 5); j <= i; j++) Assert.assertTrue(cache.contains(j << 16));
+        }
+        Assert.assertEquals(5_000, cache.size());
+        int found = 0;
+        for (int i = 0; i < 20_000; i++) if (cache.contains(i << 16)) found++;
+        Assert.assertEquals(5_000, found);
+
+        int[] histogram = cache.probeLengthHistogram();
+        int entries = 0;
+        for (int count : histogram) entries += count;
+        Assert.assertEquals(5_000, entries);
+        Assert.assertTrue("probe lengths up to " + (histogram.length - 1), histogram.length < 32);
+    }
+
     @Test (expected = Exception.class)
     public final void shouldThrowAnExceptionWhenInitializedWithNegativeCapacity() throws Exception {
         new LRUCachePlain(-1);
@@ -0,0 +1,288 @@
+package linkedList;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import utils.FunIntAlgorithm;
+import utils.IntCache;
+
+/**
+ * A thread-safe LRU cache where cache hits do not touch the eviction queue directly.
+ * <p>
+ * In LRUCache every get() re-orders the eviction queue, which makes a read a write and, with LinkedList.remove(node),
+ * an O(N) one. Under concurrency that write needs a lock, so all readers serialize on it.
+ * <p>
+ * The eviction queue does not need to reflect a hit immediately, though. It only matters when the next eviction
+ * happens. So a hit is recorded into a small lock-free ring buffer and the buffered hits are replayed onto the
+ * eviction queue in a batch by whichever thread manages to grab the eviction lock with tryLock(). Readers never
+ * block. If a buffer is full the hit is simply dropped; that only makes the recency order slightly less precise.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * http://web.cse.ohio-state.edu/hpcs/WWW/HTML/publications/papers/TR-09-1.pdf
+ */
+public class LRUCacheReadBuffered implements IntCache {
+
+    /**
+     * - Discussion -
+     * A ConcurrentHashMap provides lock-free key based retrieval, and a hand-written doubly linked list guarded by the
+     * eviction lock offers an O(1) eviction queue (least recently used entry at tail).
+     * <p>
+     * Read buffers are striped by thread id, so threads rarely share one. A buffer is a ring of references with a
+     * write counter advanced by CAS and a read counter only advanced by the draining thread. All writes (set) take the
+     * eviction lock and drain the buffers first, so a single-threaded caller observes exactly the LRUCache behaviour.
+     */
+
+    private static final int READ_BUFFER_SIZE = 32; // must be a power of two
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = 16;
+    private static final int NUMBER_OF_READ_BUFFERS =
+            LRUCachePlain.roundUpToNearestPowerOfTwo(4 * Runtime.getRuntime().availableProcessors());
+
+    private class LRUCacheNode {
+        final int key;
+        volatile int value;
+        LRUCacheNode prev; // eviction queue links, guarded by the eviction lock
+        LRUCacheNode next;
+        boolean evicted;   // guarded by the eviction lock
+
+        public LRUCacheNode(int key, int value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public String toString() {
+            return "{" + this.key + ": " + this.value + "}";
+        }
+    }
+
+    private class ReadBuffer {
+        final AtomicReferenceArray<LRUCacheNode> ring = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong writeCounter = new AtomicLong();
+        volatile long readCounter; // only written by the thread holding the eviction lock
+
+        /**
+         * Return the number of pending hits after recording, or -1 if the buffer is full and the hit was dropped
+         */
+        long record(LRUCacheNode node) {
+            long tail = this.writeCounter.get();
+            long pending = tail - this.readCounter;
+            if (pending >= READ_BUFFER_SIZE) return -1;
+            if (!this.writeCounter.compareAndSet(tail, tail + 1)) return -1; // lost a race with another reader
+            this.ring.lazySet((int) (tail & READ_BUFFER_MASK), node);
+            return pending + 1;
+        }
+
+        void drainTo(LRUCacheReadBuffered cache) {
+            long head = this.readCounter;
+            long tail = this.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & READ_BUFFER_MASK);
+                LRUCacheNode node = this.ring.get(index);
+                if (node == null) break; // slot claimed but not yet published, pick it up next time
+                this.ring.lazySet(index, null);
+                cache.setMostRecentlyUsed(node);
+            }
+            this.readCounter = head;
+        }
+    }
+
+    private final ConcurrentHashMap<Integer, LRUCacheNode> cacheStore;
+    private final ReadBuffer[] readBuffers;
+    final ReentrantLock evictionLock; // package-private for tests to hold it
+    private LRUCacheNode evictionQueueHead; // guarded by the eviction lock
+    private LRUCacheNode evictionQueueTail;
+    private final int capacity;
+    private int occupancy;
+
+    public LRUCacheReadBuffered(final int capacity) throws Exception {
+        if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
+        this.capacity = capacity;
+        this.occupancy = 0;
+        this.cacheStore = new ConcurrentHashMap<>((int) Math.ceil(this.capacity / 0.75)); // to avoid rehash
+        this.readBuffers = new ReadBuffer[NUMBER_OF_READ_BUFFERS];
+        for (int i = 0; i < NUMBER_OF_READ_BUFFERS; i++) this.readBuffers[i] = new ReadBuffer();
+        this.evictionLock = new ReentrantLock();
+    }
+
+    public int get(int key) throws Exception {
+        LRUCacheNode target = this.cacheStore.get(key);
+        if (target == null) throw new Exception("Not found!");
+        recordHit(target);
+        return target.value;
+    }
+
+    public void set(int key, int value) {
+        this.evictionLock.lock();
+        try {
+            drainReadBuffers();
+            LRUCacheNode target = this.cacheStore.get(key);
+            if (target != null) { // update
+                target.value = value;
+                setMostRecentlyUsed(target);
+            } else { // insert
+                if (this.occupancy == this.capacity) { // cache full
+                    LRUCacheNode tail = this.evictionQueueTail;
+                    removeFromEvictionQueue(tail);
+                    tail.evicted = true;
+                    this.cacheStore.remove(tail.key);
+                    this.occupancy--;
+                }
+                target = new LRUCacheNode(key, value);
+                this.cacheStore.put(key, target);
+                addToEvictionQueueHead(target);
+                this.occupancy++;
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public boolean contains(int key) {
+        return this.cacheStore.containsKey(key);
+    }
+
+    public int size() {
+        return this.cacheStore.size();
+    }
+
+    public void print() {
+        this.evictionLock.lock();
+        try {
+            drainReadBuffers();
+            StringBuilder builder = new StringBuilder();
+            for (LRUCacheNode node = this.evictionQueueHead; node != null; node = node.next) {
+                if (builder.length() > 0) builder.append(" > ");
+                builder.append(node.toString());
+            }
+            System.out.println(builder.toString());
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /* Read buffers (start) */
+    private void recordHit(LRUCacheNode node) {
+        int index = (int) (Thread.currentThread().getId() * 0x9E3779B9L >>> 16) & (NUMBER_OF_READ_BUFFERS - 1);
+        long pending = this.readBuffers[index].record(node);
+        if ((pending < 0 || pending >= READ_BUFFER_DRAIN_THRESHOLD) && this.evictionLock.tryLock()) {
+            try {
+                drainReadBuffers();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer buffer : this.readBuffers) buffer.drainTo(this);
+    }
+    /* Read buffers (end) */
+
+    /* Doubly linked list for eviction queue, guarded by the eviction lock (start) */
+    private void setMostRecentlyUsed(LRUCacheNode node) {
+        if (node.evicted || node == this.evictionQueueHead) return; // a buffered hit may outlive its entry
+        removeFromEvictionQueue(node);
+        addToEvictionQueueHead(node);
+    }
+
+    private void addToEvictionQueueHead(LRUCacheNode node) {
+        node.next = this.evictionQueueHead;
+        if (this.evictionQueueHead != null) this.evictionQueueHead.prev = node;
+        else this.evictionQueueTail = node;
+        this.evictionQueueHead = node;
+    }
+
+    private void removeFromEvictionQueue(LRUCacheNode node) {
+        if (node.prev != null) node.prev.next = node.next;
+        else this.evictionQueueHead = node.next;
+        if (node.next != null) node.next.prev = node.prev;
+        else this.evictionQueueTail = node.prev;
+        node.prev = node.next = null;
+    }
+    /* Doubly linked list for eviction queue, guarded by the eviction lock (end) */
+
+    /* Benchmark (start) */
+    /**
+     * Replay a Zipf distributed trace (95% get, 5% set, all keys present) split across threads and return the
+     * throughput in operations per second.
+     */
+    private static long measureThroughput(IntCache cache, int keySpace, int threads, int totalOps) throws Exception {
+        int opsPerThread = totalOps / threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                int[] keys = FunIntAlgorithm.genZipfIntArr(opsPerThread, keySpace, 0.99);
+                ready.countDown();
+                try {
+                    start.await();
+                    for (int i = 0; i < opsPerThread; i++) {
+                        if ((i % 20) == 0) cache.set(keys[i], i);
+                        else cache.get(keys[i]);
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.await();
+        long startTime = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - startTime;
+        pool.shutdown();
+        return (long) opsPerThread * threads * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+    /* Benchmark (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of read buffered LRU caches.");
+        LRUCacheReadBuffered cache = new LRUCacheReadBuffered(5);
+        System.out.println("Set first 5 new entries ...");
+        cache.set(1, 11);
+        cache.set(2, 21);
+        cache.set(3, 31);
+        cache.set(4, 41);
+        cache.set(5, 51);
+        cache.print();
+
+        System.out.println("Get an existing entry (the hit is buffered and replayed on the next write) ...");
+        cache.get(2);
+        System.out.println("Set a new entry to trigger eviction...");
+        cache.set(6, 61);
+        cache.print();
+
+        System.out.println("\n/* Throughput (ops/sec) on a 95% read Zipf workload against a synchronized LRUCache */");
+        int capacity = 10_000;
+        int totalOps = 2_000_000;
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        System.out.printf("%-10s%-30s%-30s\n", "Threads", "synchronized LRUCache", "LRUCacheReadBuffered");
+        for (int threads : new int[]{1, 4, 16}) {
+            LRUCache locked = new LRUCache(capacity);
+            LRUCacheReadBuffered buffered = new LRUCacheReadBuffered(capacity);
+            for (int i = 0; i < capacity; i++) {
+                locked.set(i, i);
+                buffered.set(i, i);
+            }
+            IntCache synchronizedLocked = ConcurrentLRUCache.synchronizedCache(locked);
+            long lockedOps = measureThroughput(synchronizedLocked, capacity, threads, totalOps);
+            long bufferedOps = measureThroughput(buffered, capacity, threads, totalOps);
+            System.out.printf("%-10d%-30s%-30s\n", threads, formatter.format(lockedOps), formatter.format(bufferedOps));
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
@@ -0,0 +1,130 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LRUCacheReadBufferedTest {
+
+    @Test
+    public final void shouldRejectANonPositiveCapacity() throws Exception {
+        for (int capacity : new int[]{0, -1}) {
+            try {
+                new LRUCacheReadBuffered(capacity);
+                Assert.fail("A capacity of " + capacity + " was accepted");
+            } catch (Exception e) {
+                Assert.assertEquals("Capacity cannot be negative!", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public final void shouldPromoteAnEntryReadBeforeTheNextWrite() throws Exception {
+        LRUCacheReadBuffered cache = new LRUCacheReadBuffered(3);
+        cache.set(1, 11);
+        cache.set(2, 21);
+        cache.set(3, 31);
+
+        Assert.assertEquals(11, cache.get(1)); // buffered, replayed by the set below
+        cache.set(4, 41);
+
+        Assert.assertTrue(cache.contains(1));
+        Assert.assertFalse(cache.contains(2));
+        Assert.assertTrue(cache.contains(3));
+        Assert.assertTrue(cache.contains(4));
+    }
+
+    @Test
+    public final void shouldPromoteReadsDrainedAfterTheDrainThreshold() throws Exception {
+        LRUCacheReadBuffered cache = new LRUCacheReadBuffered(4);
+        for (int key = 1; key <= 4; key++) cache.set(key, key);
+        for (int i = 0; i < 100; i++) cache.get(i % 2 == 0 ? 1 : 2); // several drains through tryLock
+        cache.set(5, 5);
+        cache.set(6, 6);
+
+        Assert.assertTrue(cache.contains(1));
+        Assert.assertTrue(cache.contains(2));
+        Assert.assertFalse(cache.contains(3));
+        Assert.assertFalse(cache.contains(4));
+    }
+
+    @Test
+    public final void shouldDropReadsOfAFullBufferWithoutLosingEntries() throws Exception {
+        LRUCacheReadBuffered cache = new LRUCacheReadBuffered(8);
+        for (int key = 0; key < 8; key++) cache.set(key, key * 10);
+        CountDownLatch locked = new CountDownLatch(1), release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> { // hold the eviction lock so that no reader can drain
+            cache.evictionLock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                cache.evictionLock.unlock();
+            }
+        });
+        holder.start();
+        locked.await();
+        for (int i = 0; i < 1_000; i++) Assert.assertEquals(70, cache.get(7)); // most of them dropped
+        for (int key = 0; key < 8; key++) Assert.assertEquals(key * 10, cache.get(key));
+        release.countDown();
+        holder.join();
+
+        Assert.assertEquals(8, cache.size());
+        for (int key = 0; key < 8; key++) Assert.assertEquals(key * 10, cache.get(key));
+        cache.set(8, 80); // drains the reads kept before the buffer filled up
+        Assert.assertEquals(8, cache.size());
+        Assert.assertTrue(cache.contains(8));
+    }
+
+    @Test
+    public final void shouldHoldItsCapacityAfterDrains() throws Exception {
+        LRUCacheReadBuffered cache = new LRUCacheReadBuffered(100);
+        for (int round = 0; round < 50; round++) {
+            for (int key = 0; key < 150; key++) {
+                cache.set(round * 150 + key, key);
+                if (cache.contains(key)) cache.get(key);
+            }
+            Assert.assertEquals(100, cache.size());
+        }
+    }
+
+    @Test
+    public final void shouldOnlyReturnValuesSetForTheKeyUnderConcurrency() throws Exception {
+        LRUCacheReadBuffered cache = new LRUCacheReadBuffered(500);
+        int threads = 8, keySpace = 2_000;
+        AtomicInteger wrongValues = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 200_000; i++) {
+                    int key = random.nextInt(keySpace);
+                    if (i % 10 == 0) {
+                        cache.set(key, key * 3 + random.nextInt(3)); // always key * 3 plus something below 3
+                    } else {
+                        int value = cache.getOrDefault(key, key * 3);
+                        if (value / 3 != key) wrongValues.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        Assert.assertTrue(done.await(60, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        Assert.assertEquals(0, wrongValues.get());
+        Assert.assertEquals(500, cache.size());
+        for (int key = 0; key < keySpace; key++) {
+            if (cache.contains(key)) Assert.assertEquals(key, cache.get(key) / 3);
+        }
+    }
+}
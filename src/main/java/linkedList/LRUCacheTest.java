@@ -0,0 +1,44 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LRUCacheTest {
+
+    @Test
+    public final void shouldExpireAnEntryAfterWrite() throws Exception {
+        long[] clock = {0L};
+        LRUCache cache = new LRUCache(4, ExpiryPolicy.EXPIRE_AFTER_WRITE, 10, TimeUnit.SECONDS, () -> clock[0]);
+
+        cache.set(1, 1);
+        clock[0] += TimeUnit.SECONDS.toNanos(9);
+        Assert.assertEquals(1, cache.get(1));
+        clock[0] += TimeUnit.SECONDS.toNanos(1);
+
+        Assert.assertFalse(cache.contains(1));
+    }
+
+    @Test
+    public final void shouldRejectANonPositiveExpiryDuration() throws Exception {
+        for (long duration : new long[]{0, -1}) {
+            try {
+                new LRUCache(4, ExpiryPolicy.EXPIRE_AFTER_WRITE, duration, TimeUnit.SECONDS, () -> 0L);
+                Assert.fail("Accepted an expiry duration of " + duration);
+            } catch (Exception e) {
+                Assert.assertEquals("Expiry duration must be positive!", e.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public final void shouldRejectAMissingExpiryPolicy() throws Exception {
+        try {
+            new LRUCache(4, null, 10, TimeUnit.SECONDS);
+            Assert.fail("Accepted a null expiry policy");
+        } catch (Exception e) {
+            Assert.assertEquals("Expiry policy cannot be null!", e.getMessage());
+        }
+    }
+}
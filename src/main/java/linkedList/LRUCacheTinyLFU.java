@@ -0,0 +1,249 @@
+package linkedList;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import benchmark.CacheTraces;
+import utils.FunIntAlgorithm;
+import utils.IntCache;
+
+/**
+ * An LRU cache guarded by the W-TinyLFU admission policy.
+ * <p>
+ * Pure LRU admits every new key and evicts whatever was touched least recently. A one-off scan over many cold keys
+ * therefore pushes the whole hot working set out of the cache, even though none of the scanned keys will ever be
+ * asked for again.
+ * <p>
+ * W-TinyLFU only lets a new key into the main cache if it has been requested more often, recently, than the entry it
+ * would replace. Frequencies of all keys (cached or not) are estimated by a compact count-min sketch with aging, see
+ * FrequencySketch. A small LRU window in front of the main cache gives brand new keys the chance to build up some
+ * frequency before they face the admission filter, so bursts of new popular keys still get in.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://arxiv.org/abs/1512.00727
+ */
+public class LRUCacheTinyLFU implements IntCache {
+
+    /**
+     * - Discussion -
+     * Same design as LRUCache: a hash map from key to node for O(1) retrieval, and eviction queues with the least
+     * recently used entry at tail. The queues are hand-written doubly linked lists so that a node can be unlinked in
+     * O(1) wherever it is.
+     * <p>
+     * The capacity is split into three regions:
+     * - window (1%): every new key enters here
+     * - probation (20% of main): entries admitted from the window, or demoted from protected
+     * - protected (80% of main): entries hit again while on probation
+     * <p>
+     * When the window overflows, its LRU entry becomes the candidate and the LRU entry of probation the victim. The
+     * one with the higher estimated frequency stays, the other one is evicted.
+     */
+
+    static final int WINDOW = 0, PROBATION = 1, PROTECTED = 2;
+
+    private class LRUCacheNode {
+        int key;
+        int value;
+        int region;
+        LRUCacheNode prev;
+        LRUCacheNode next;
+
+        public LRUCacheNode(int key, int value) {
+            this.key = key;
+            this.value = value;
+            this.region = WINDOW;
+        }
+
+        public String toString() {
+            return "{" + this.key + ": " + this.value + "}";
+        }
+    }
+
+    private class AccessQueue { // most recently used at head
+        LRUCacheNode head, tail;
+        int size;
+
+        void addFirst(LRUCacheNode node) {
+            node.prev = null;
+            node.next = this.head;
+            if (this.head != null) this.head.prev = node;
+            else this.tail = node;
+            this.head = node;
+            this.size++;
+        }
+
+        void remove(LRUCacheNode node) {
+            if (node.prev != null) node.prev.next = node.next;
+            else this.head = node.next;
+            if (node.next != null) node.next.prev = node.prev;
+            else this.tail = node.prev;
+            node.prev = node.next = null;
+            this.size--;
+        }
+
+        void moveToFront(LRUCacheNode node) {
+            if (node == this.head) return;
+            remove(node);
+            addFirst(node);
+        }
+
+        String print() {
+            StringBuilder builder = new StringBuilder();
+            for (LRUCacheNode node = this.head; node != null; node = node.next) {
+                if (builder.length() > 0) builder.append(" > ");
+                builder.append(node.toString());
+            }
+            return builder.toString();
+        }
+    }
+
+    private Map<Integer, LRUCacheNode> cacheStore;
+    private AccessQueue[] regions;
+    private FrequencySketch sketch;
+    private int capacity;
+    private int windowCapacity;
+    private int protectedCapacity;
+
+    public LRUCacheTinyLFU(final int capacity) throws Exception {
+        if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
+        this.capacity = capacity;
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.protectedCapacity = (int) ((capacity - this.windowCapacity) * 0.8);
+        this.cacheStore = new HashMap<>((int) Math.ceil(this.capacity / 0.75)); // to avoid rehash
+        this.regions = new AccessQueue[]{new AccessQueue(), new AccessQueue(), new AccessQueue()};
+        this.sketch = new FrequencySketch(capacity);
+    }
+
+    public int get(int key) throws Exception {
+        this.sketch.increment(key);
+        LRUCacheNode target = this.cacheStore.get(key);
+        if (target == null) throw new Exception("Not found!");
+        onHit(target);
+        return target.value;
+    }
+
+    public void set(int key, int value) {
+        this.sketch.increment(key);
+        LRUCacheNode target = this.cacheStore.get(key);
+        if (target != null) { // update
+            target.value = value;
+            onHit(target);
+        } else { // insert into the window, which may push its LRU entry towards the main cache
+            target = new LRUCacheNode(key, value);
+            this.cacheStore.put(key, target);
+            this.regions[WINDOW].addFirst(target);
+            if (this.regions[WINDOW].size > this.windowCapacity) admitFromWindow();
+        }
+    }
+
+    public boolean contains(int key) {
+        return this.cacheStore.containsKey(key);
+    }
+
+    public int size() {
+        return this.cacheStore.size();
+    }
+
+    /**
+     * The region (WINDOW, PROBATION or PROTECTED) holding the key, or -1 when it is not cached
+     */
+    int regionOf(int key) {
+        LRUCacheNode node = this.cacheStore.get(key);
+        return node == null ? -1 : node.region;
+    }
+
+    public void print() {
+        System.out.println("Window:    " + this.regions[WINDOW].print());
+        System.out.println("Probation: " + this.regions[PROBATION].print());
+        System.out.println("Protected: " + this.regions[PROTECTED].print());
+    }
+
+    private void onHit(LRUCacheNode node) {
+        if (node.region == PROBATION) { // promote, demoting the LRU protected entry if protected overflows
+            this.regions[PROBATION].remove(node);
+            node.region = PROTECTED;
+            this.regions[PROTECTED].addFirst(node);
+            if (this.regions[PROTECTED].size > this.protectedCapacity) {
+                LRUCacheNode demoted = this.regions[PROTECTED].tail;
+                this.regions[PROTECTED].remove(demoted);
+                demoted.region = PROBATION;
+                this.regions[PROBATION].addFirst(demoted);
+            }
+        } else {
+            this.regions[node.region].moveToFront(node);
+        }
+    }
+
+    private void admitFromWindow() {
+        LRUCacheNode candidate = this.regions[WINDOW].tail;
+        this.regions[WINDOW].remove(candidate);
+        if (this.cacheStore.size() <= this.capacity) { // main cache still has room
+            candidate.region = PROBATION;
+            this.regions[PROBATION].addFirst(candidate);
+            return;
+        }
+        LRUCacheNode victim = this.regions[PROBATION].tail;
+        if (victim == null) victim = this.regions[PROTECTED].tail;
+        if (victim != null && this.sketch.frequency(candidate.key) > this.sketch.frequency(victim.key)) {
+            this.regions[victim.region].remove(victim);
+            this.cacheStore.remove(victim.key);
+            candidate.region = PROBATION;
+            this.regions[PROBATION].addFirst(candidate);
+        } else {
+            this.cacheStore.remove(candidate.key);
+        }
+    }
+
+    /* Hit rate simulation (start) */
+    /**
+     * Read every key of the trace through the cache, loading it on a miss, and return the hit rate in percent
+     */
+    private static double replay(IntCache cache, int[] trace) {
+        int hits = 0;
+        for (int key : trace) {
+            try {
+                cache.get(key);
+                hits++;
+            } catch (Exception e) {
+                cache.set(key, key);
+            }
+        }
+        return 100.0 * hits / trace.length;
+    }
+
+    private static void compareHitRates(String traceName, int[] trace, int capacity) throws Exception {
+        LRUCache lru = new LRUCache(capacity);
+        LRUCacheTinyLFU tinyLFU = new LRUCacheTinyLFU(capacity);
+        double lruHitRate = replay(lru, trace);
+        double tinyLFUHitRate = replay(tinyLFU, trace);
+        System.out.printf("%-44s%-10d%-16.2f%-16.2f\n", traceName, capacity, lruHitRate, tinyLFUHitRate);
+    }
+    /* Hit rate simulation (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of W-TinyLFU caches.");
+        LRUCacheTinyLFU cache = new LRUCacheTinyLFU(5);
+        System.out.println("Set and read keys 1 and 2 a few times, then scan keys 10 to 30 once ...");
+        for (int round = 0; round < 3; round++) {
+            cache.set(1, 11);
+            cache.set(2, 21);
+        }
+        for (int key = 10; key <= 30; key++) cache.set(key, key);
+        cache.print();
+        System.out.println("Keys 1 and 2 survived the scan: " + (cache.contains(1) && cache.contains(2)));
+
+        System.out.println("\n/* Hit rate (%) against LRUCache */");
+        System.out.printf("%-44s%-10s%-16s%-16s\n", "Trace", "Capacity", "LRUCache", "LRUCacheTinyLFU");
+        int traceSize = 500_000;
+        compareHitRates("Zipf(0.99) over 100,000 keys", FunIntAlgorithm.genZipfIntArr(traceSize, 100_000, 0.99), 1_000);
+        compareHitRates("Zipf(0.8) over 100,000 keys", FunIntAlgorithm.genZipfIntArr(traceSize, 100_000, 0.8), 1_000);
+        compareHitRates("Zipf(0.9) + 2,000 key scan every 5,000",
+                CacheTraces.scan(traceSize, 10_000, 5_000, 2_000).keys, 1_000);
+        compareHitRates("Zipf(0.9) + 20,000 key scan every 50,000",
+                CacheTraces.scan(traceSize, 10_000, 50_000, 20_000).keys, 1_000);
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
@@ -0,0 +1,60 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LRUCacheTinyLFUTest {
+
+    @Test
+    public final void shouldPromoteFromWindowToProbationToProtected() throws Exception {
+        LRUCacheTinyLFU cache = new LRUCacheTinyLFU(100); // window of 1, protected of 79
+        cache.set(1, 11);
+        Assert.assertEquals(LRUCacheTinyLFU.WINDOW, cache.regionOf(1));
+        cache.set(2, 21); // pushes 1 out of the window, into the room left in the main cache
+        Assert.assertEquals(LRUCacheTinyLFU.PROBATION, cache.regionOf(1));
+        Assert.assertEquals(LRUCacheTinyLFU.WINDOW, cache.regionOf(2));
+        Assert.assertEquals(11, cache.get(1));
+        Assert.assertEquals(LRUCacheTinyLFU.PROTECTED, cache.regionOf(1));
+        Assert.assertEquals(-1, cache.regionOf(3));
+    }
+
+    @Test
+    public final void shouldDemoteTheLeastRecentlyUsedProtectedEntryWhenProtectedOverflows() throws Exception {
+        LRUCacheTinyLFU cache = new LRUCacheTinyLFU(100);
+        for (int key = 0; key <= 80; key++) cache.set(key, key);
+        for (int key = 0; key < 80; key++) cache.get(key); // 0 ... 79 on probation, promoted one by one
+        Assert.assertEquals(LRUCacheTinyLFU.PROBATION, cache.regionOf(0));
+        for (int key = 1; key < 80; key++) Assert.assertEquals(LRUCacheTinyLFU.PROTECTED, cache.regionOf(key));
+    }
+
+    @Test
+    public final void shouldKeepFrequentKeysThroughAScan() throws Exception {
+        LRUCacheTinyLFU cache = new LRUCacheTinyLFU(1_000); // protected holds 791, so some hot keys stay on probation
+        int hotKeys = 850;
+        for (int key = 0; key < hotKeys; key++) cache.set(key, key);
+        for (int round = 0; round < 3; round++) for (int key = 0; key < hotKeys; key++) cache.get(key);
+        for (int key = 10_000; key < 12_000; key++) cache.set(key, key); // each scanned key seen once
+        LRUCache lru = new LRUCache(1_000);
+        for (int key = 0; key < hotKeys; key++) lru.set(key, key);
+        for (int key = 10_000; key < 12_000; key++) lru.set(key, key);
+        int kept = 0, keptByLRU = 0;
+        for (int key = 0; key < hotKeys; key++) {
+            if (cache.contains(key)) kept++;
+            if (lru.contains(key)) keptByLRU++;
+        }
+        // a few hot keys on probation lose against scanned keys whose estimates are inflated by collisions
+        Assert.assertTrue("Kept " + kept, kept >= 0.95 * hotKeys);
+        Assert.assertEquals(0, keptByLRU);
+        Assert.assertEquals(1_000, cache.size());
+    }
+
+    @Test
+    public final void shouldBeAnLRUCacheWithinItsCapacity() throws Exception {
+        LRUCacheTinyLFU cache = new LRUCacheTinyLFU(10);
+        for (int key = 0; key < 10; key++) cache.set(key, key * 2);
+        for (int key = 0; key < 10; key++) Assert.assertEquals(key * 2, cache.get(key));
+        cache.set(3, 7);
+        Assert.assertEquals(7, cache.get(3));
+        Assert.assertEquals(10, cache.size());
+    }
+}
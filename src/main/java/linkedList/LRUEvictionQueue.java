@@ -0,0 +1,46 @@
+package linkedList;
+
+import java.util.Iterator;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+/**
+ * Least recently used eviction: every hit moves the entry to the head of a single list, and the tail is evicted.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+class LRUEvictionQueue implements EvictionQueue {
+
+    private final NodeList queue = new NodeList(); // most recently used at head
+
+    @Override
+    public void recordInsertion(LRUCacheNode node) {
+        this.queue.addFirst(node);
+    }
+
+    @Override
+    public void recordAccess(LRUCacheNode node) {
+        this.queue.moveToFront(node);
+    }
+
+    @Override
+    public LRUCacheNode victimFor(int key) {
+        return this.queue.tail;
+    }
+
+    @Override
+    public void recordRemoval(LRUCacheNode node, boolean evicted) {
+        this.queue.remove(node);
+    }
+
+    @Override
+    public void recordRestored(LRUCacheNode node) {
+        this.queue.addLast(node);
+    }
+
+    @Override
+    public Iterator<LRUCacheNode> iterator() {
+        return this.queue.iterator();
+    }
+}
@@ -0,0 +1,358 @@
+package linkedList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import utils.CacheStats;
+import utils.IntBloomFilter;
+import utils.IntCache;
+import utils.StatsCounter;
+
+/**
+ * A thread-safe LRU cache that loads missing values itself, from a backing store behind a loader.
+ * <p>
+ * When a hot key misses in a plain cache, every thread asking for it goes to the backing store at the same time
+ * (cache stampede). Here concurrent misses on the same key share a single in-flight load (single-flight): the first
+ * thread loads, the others wait for its result. getAll() goes one step further and fetches all of its misses with
+ * one call to the bulk loader, which a backing store usually serves far cheaper than one round trip per key.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class LoadingLRUCache implements IntCache {
+
+    /**
+     * - Discussion -
+     * Entries live in an LRUCache guarded by its own monitor. In-flight loads are tracked in a ConcurrentHashMap from
+     * key to a CompletableFuture: whoever manages to put the future in first owns the load, everyone else joins it.
+     * The owner completes the future and removes it once the value is in the cache, so the map only ever holds keys
+     * being loaded right now. No lock is held while the loader runs.
+     * <p>
+     * A thread may miss just before the owner of a load removes its future, and then start a load of its own. To
+     * avoid loading the same key twice, a new owner looks into the cache again before calling the loader.
+     * <p>
+     * A future completed with null stands for a key the backing store does not have.
+     * <p>
+     * Such a key is not cached, so every get() of it goes to the backing store again. Given a Bloom filter over the
+     * keys the store has, a lookup of a key the filter rules out fails right away, without taking the cache lock or
+     * calling the loader. Since a Bloom filter only errs towards "maybe present", it must hold the keys that exist
+     * rather than the ones known to be absent: the few absent keys it lets through just take the regular path. Keys
+     * set() into the cache are added to the filter before the cache, so that a cached key is never ruled out. The
+     * filter is read without the cache lock, which is safe as its words are atomic, see IntBloomFilter.
+     */
+
+    /**
+     * Source of the values, e.g. a database. load() throws for a key that does not exist.
+     */
+    public interface CacheLoader {
+
+        int load(int key) throws Exception;
+
+        /**
+         * Load many keys in one go, leaving out the keys that do not exist. Defaults to one load() per key (where a
+         * missing key fails the whole call), override it when the backing store has a bulk API.
+         */
+        default Map<Integer, Integer> loadAll(int[] keys) throws Exception {
+            Map<Integer, Integer> values = new HashMap<>();
+            for (int key : keys) values.put(key, load(key));
+            return values;
+        }
+    }
+
+    private final LRUCache cache; // guarded by itself
+    private final CacheLoader loader;
+    private final ConcurrentHashMap<Integer, CompletableFuture<Integer>> inFlightLoads;
+    private final IntBloomFilter storedKeys; // null unless given, thread-safe on its own
+    private volatile StatsCounter statsCounter = StatsCounter.disabled();
+
+    public LoadingLRUCache(final int capacity, final CacheLoader loader) throws Exception {
+        this(capacity, loader, null);
+    }
+
+    /**
+     * Loading cache that skips keys ruled out by the given Bloom filter, which must hold every key the backing store
+     * has. Keys added to the store later must be put into the filter too, or set() into this cache.
+     */
+    public LoadingLRUCache(final int capacity, final CacheLoader loader, final IntBloomFilter storedKeys)
+            throws Exception {
+        if (capacity <= 0) throw new Exception("Capacity cannot be negative!");
+        if (loader == null) throw new Exception("Loader cannot be null!");
+        this.cache = new LRUCache(capacity);
+        this.loader = loader;
+        this.inFlightLoads = new ConcurrentHashMap<>();
+        this.storedKeys = storedKeys;
+    }
+
+    /**
+     * Return the cached value, loading it on a miss. Throws if the loader throws, in which case nothing is cached.
+     */
+    @Override
+    public int get(int key) throws Exception {
+        if (isRuledOut(key)) {
+            this.statsCounter.recordMiss();
+            throw new Exception("Not found!");
+        }
+        Integer value = getIfPresent(key);
+        if (value != null) {
+            this.statsCounter.recordHit();
+            return value;
+        }
+        this.statsCounter.recordMiss();
+        CompletableFuture<Integer> load = new CompletableFuture<>();
+        CompletableFuture<Integer> inFlight = this.inFlightLoads.putIfAbsent(key, load);
+        if (inFlight != null) value = await(inFlight);
+        else value = loadOne(key, load);
+        if (value == null) throw new Exception("Not found!");
+        return value;
+    }
+
+    /**
+     * Return the values of all given keys, loading every missing key with a single call to the bulk loader. Keys the
+     * backing store does not have are left out of the result.
+     */
+    public Map<Integer, Integer> getAll(int[] keys) throws Exception {
+        Map<Integer, Integer> result = new LinkedHashMap<>();
+        Set<Integer> misses = new LinkedHashSet<>();
+        synchronized (this.cache) {
+            for (int key : keys) {
+                if (result.containsKey(key) || misses.contains(key)) continue;
+                if (isRuledOut(key)) { // counted as a miss with nothing to load
+                    this.statsCounter.recordMiss();
+                    continue;
+                }
+                if (this.cache.contains(key)) result.put(key, this.cache.get(key));
+                else misses.add(key);
+            }
+        }
+        for (int i = 0; i < result.size(); i++) this.statsCounter.recordHit();
+        if (misses.isEmpty()) return result;
+        for (int i = 0; i < misses.size(); i++) this.statsCounter.recordMiss();
+
+        // claim the loads nobody else is running yet, and remember the ones to wait for
+        Map<Integer, CompletableFuture<Integer>> ownLoads = new LinkedHashMap<>();
+        Map<Integer, CompletableFuture<Integer>> otherLoads = new LinkedHashMap<>();
+        for (int key : misses) {
+            CompletableFuture<Integer> load = new CompletableFuture<>();
+            CompletableFuture<Integer> inFlight = this.inFlightLoads.putIfAbsent(key, load);
+            if (inFlight != null) otherLoads.put(key, inFlight);
+            else ownLoads.put(key, load);
+        }
+        if (!ownLoads.isEmpty()) loadAll(ownLoads);
+        Map<Integer, CompletableFuture<Integer>> loads = new LinkedHashMap<>(ownLoads);
+        loads.putAll(otherLoads);
+        for (Map.Entry<Integer, CompletableFuture<Integer>> load : loads.entrySet()) {
+            Integer value = await(load.getValue());
+            if (value != null) result.put(load.getKey(), value);
+        }
+        return result;
+    }
+
+    @Override
+    public void set(int key, int value) {
+        if (this.storedKeys != null) this.storedKeys.put(key);
+        synchronized (this.cache) {
+            this.cache.set(key, value);
+        }
+    }
+
+    @Override
+    public boolean contains(int key) {
+        if (isRuledOut(key)) return false;
+        synchronized (this.cache) {
+            return this.cache.contains(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    @Override
+    public void recordStats(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+    }
+
+    @Override
+    public CacheStats stats() {
+        return this.statsCounter.snapshot();
+    }
+
+    private boolean isRuledOut(int key) {
+        return this.storedKeys != null && !this.storedKeys.mightContain(key);
+    }
+
+    private Integer getIfPresent(int key) throws Exception {
+        synchronized (this.cache) {
+            return this.cache.contains(key) ? this.cache.get(key) : null;
+        }
+    }
+
+    private Integer loadOne(int key, CompletableFuture<Integer> load) throws Exception {
+        try {
+            Integer value = getIfPresent(key); // a load may have finished between our miss and claiming the key
+            if (value == null) {
+                long startTime = System.nanoTime();
+                try {
+                    value = this.loader.load(key);
+                } finally {
+                    this.statsCounter.recordLoadTime(System.nanoTime() - startTime);
+                }
+                set(key, value);
+            }
+            load.complete(value);
+            return value;
+        } catch (Throwable e) { // errors too, or the threads waiting for this load would wait forever
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.inFlightLoads.remove(key, load);
+        }
+    }
+
+    private void loadAll(Map<Integer, CompletableFuture<Integer>> loads) throws Exception {
+        try {
+            Map<Integer, Integer> values = new HashMap<>();
+            List<Integer> keysToLoad = new ArrayList<>();
+            synchronized (this.cache) {
+                for (int key : loads.keySet()) {
+                    if (this.cache.contains(key)) values.put(key, this.cache.get(key));
+                    else keysToLoad.add(key);
+                }
+            }
+            if (!keysToLoad.isEmpty()) {
+                int[] keys = keysToLoad.stream().mapToInt(Integer::intValue).toArray();
+                long startTime = System.nanoTime();
+                Map<Integer, Integer> loaded;
+                try {
+                    loaded = this.loader.loadAll(keys);
+                } finally {
+                    this.statsCounter.recordLoadTime(System.nanoTime() - startTime);
+                }
+                synchronized (this.cache) {
+                    for (int key : keys) {
+                        Integer value = loaded.get(key);
+                        if (value != null) this.cache.set(key, value);
+                        values.put(key, value);
+                    }
+                }
+            }
+            for (Map.Entry<Integer, CompletableFuture<Integer>> load : loads.entrySet())
+                load.getValue().complete(values.get(load.getKey()));
+        } catch (Throwable e) { // errors too, or the threads waiting for these loads would wait forever
+            for (CompletableFuture<Integer> load : loads.values()) load.completeExceptionally(e);
+            throw e;
+        } finally {
+            for (Map.Entry<Integer, CompletableFuture<Integer>> load : loads.entrySet())
+                this.inFlightLoads.remove(load.getKey(), load.getValue());
+        }
+    }
+
+    /**
+     * Wait for a load started by another thread, rethrowing what its loader threw
+     */
+    private static Integer await(CompletableFuture<Integer> load) throws Exception {
+        try {
+            return load.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) throw (Exception) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of loading caches.");
+        AtomicInteger loads = new AtomicInteger(), bulkLoads = new AtomicInteger();
+        CacheLoader slowStore = new CacheLoader() { // every call to the backing store takes 100 ms
+            public int load(int key) throws Exception {
+                loads.incrementAndGet();
+                Thread.sleep(100);
+                return key * 10;
+            }
+
+            public Map<Integer, Integer> loadAll(int[] keys) throws Exception {
+                bulkLoads.incrementAndGet();
+                Thread.sleep(100);
+                Map<Integer, Integer> values = new HashMap<>();
+                for (int key : keys) values.put(key, key * 10);
+                return values;
+            }
+        };
+        LoadingLRUCache cache = new LoadingLRUCache(100, slowStore);
+
+        System.out.println("\n32 threads miss on the same hot key at once ...");
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(32);
+        long startTime = System.nanoTime();
+        for (int t = 0; t < 32; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    cache.get(7);
+                } catch (Exception e) {
+                    e.printStackTrace();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        done.await();
+        pool.shutdown();
+        System.out.println("Loads: " + loads.get() + ", elapsed: "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+
+        System.out.println("\nGet 20 keys, one of which is cached ...");
+        int[] keys = new int[20];
+        for (int i = 0; i < keys.length; i++) keys[i] = i;
+        startTime = System.nanoTime();
+        Map<Integer, Integer> values = cache.getAll(keys);
+        System.out.println(values);
+        System.out.println("Bulk loads: " + bulkLoads.get() + ", single loads: " + loads.get() + ", elapsed: "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+
+        System.out.println("\nLook up 100 keys the store does not have, 10 times each, with and without a filter ...");
+        AtomicInteger storeCalls = new AtomicInteger();
+        CacheLoader evenKeysStore = key -> { // has the even keys below 1,000
+            storeCalls.incrementAndGet();
+            if (key % 2 != 0 || key < 0 || key >= 1_000) throw new Exception("No such key: " + key);
+            return key * 10;
+        };
+        IntBloomFilter storedKeys = new IntBloomFilter(500, 10);
+        for (int key = 0; key < 1_000; key += 2) storedKeys.put(key);
+        for (LoadingLRUCache loadingCache : new LoadingLRUCache[]{new LoadingLRUCache(100, evenKeysStore),
+                new LoadingLRUCache(100, evenKeysStore, storedKeys)}) {
+            storeCalls.set(0);
+            for (int round = 0; round < 10; round++) {
+                for (int key = 1; key < 200; key += 2) {
+                    try {
+                        loadingCache.get(key);
+                    } catch (Exception e) {
+                        // not in the store
+                    }
+                }
+            }
+            System.out.println("Calls to the store: " + storeCalls.get());
+        }
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
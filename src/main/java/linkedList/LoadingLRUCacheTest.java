@@ -0,0 +1,234 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import utils.CacheStats;
+import utils.IntBloomFilter;
+import utils.ConcurrentStatsCounter;
+
+public class LoadingLRUCacheTest {
+
+    /**
+     * Backing store stub: values are key * 10, negative keys do not exist, every call takes the given latency
+     */
+    private static class StubLoader implements LoadingLRUCache.CacheLoader {
+        final AtomicInteger loadCalls = new AtomicInteger();
+        final AtomicInteger loadAllCalls = new AtomicInteger();
+        final List<int[]> loadAllKeys = new ArrayList<>();
+        final long latencyMillis;
+
+        StubLoader(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        public int load(int key) throws Exception {
+            this.loadCalls.incrementAndGet();
+            Thread.sleep(this.latencyMillis);
+            if (key < 0) throw new Exception("No such key: " + key);
+            return key * 10;
+        }
+
+        public Map<Integer, Integer> loadAll(int[] keys) throws Exception {
+            this.loadAllCalls.incrementAndGet();
+            synchronized (this.loadAllKeys) {
+                this.loadAllKeys.add(keys);
+            }
+            Thread.sleep(this.latencyMillis);
+            Map<Integer, Integer> values = new HashMap<>();
+            for (int key : keys) if (key >= 0) values.put(key, key * 10);
+            return values;
+        }
+    }
+
+    @Test
+    public final void shouldLoadOnMissAndServeLaterReadsFromTheCache() throws Exception {
+        StubLoader loader = new StubLoader(0);
+        LoadingLRUCache cache = new LoadingLRUCache(10, loader);
+
+        Assert.assertEquals(30, cache.get(3));
+        Assert.assertEquals(30, cache.get(3));
+        Assert.assertEquals(1, loader.loadCalls.get());
+        Assert.assertTrue(cache.contains(3));
+    }
+
+    @Test
+    public final void shouldShareOneInFlightLoadAmongConcurrentMisses() throws Exception {
+        StubLoader loader = new StubLoader(200);
+        LoadingLRUCache cache = new LoadingLRUCache(10, loader);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return cache.get(42);
+            }));
+        }
+        start.countDown();
+        for (Future<Integer> result : results) Assert.assertEquals(Integer.valueOf(420), result.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        Assert.assertEquals(1, loader.loadCalls.get());
+    }
+
+    @Test
+    public final void shouldBatchAllMissesOfGetAllIntoOneBulkLoad() throws Exception {
+        StubLoader loader = new StubLoader(10);
+        LoadingLRUCache cache = new LoadingLRUCache(10, loader);
+        cache.get(1);
+
+        Map<Integer, Integer> values = cache.getAll(new int[]{1, 2, 3, 2, -4});
+
+        Assert.assertEquals(3, values.size());
+        Assert.assertEquals(Integer.valueOf(10), values.get(1));
+        Assert.assertEquals(Integer.valueOf(20), values.get(2));
+        Assert.assertEquals(Integer.valueOf(30), values.get(3));
+        Assert.assertFalse(values.containsKey(-4));
+        Assert.assertEquals(1, loader.loadAllCalls.get());
+        Assert.assertArrayEquals(new int[]{2, 3, -4}, loader.loadAllKeys.get(0));
+        Assert.assertEquals(1, loader.loadCalls.get());
+    }
+
+    @Test
+    public final void shouldFailTheWaitingThreadsWhenTheLoaderThrowsAnError() throws Exception {
+        CountDownLatch loading = new CountDownLatch(2);
+        LoadingLRUCache.CacheLoader brokenLoader = new LoadingLRUCache.CacheLoader() {
+            public int load(int key) throws Exception {
+                loading.countDown();
+                Thread.sleep(200);
+                throw new AssertionError("Broken loader");
+            }
+
+            public Map<Integer, Integer> loadAll(int[] keys) throws Exception {
+                loading.countDown();
+                Thread.sleep(200);
+                throw new AssertionError("Broken loader");
+            }
+        };
+        LoadingLRUCache cache = new LoadingLRUCache(10, brokenLoader);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        List<Callable<?>> firstLoads = new ArrayList<>();
+        firstLoads.add(() -> cache.get(7));
+        firstLoads.add(() -> cache.getAll(new int[]{7}));
+        try {
+            for (Callable<?> firstLoad : firstLoads) {
+                long loadsBefore = loading.getCount();
+                Future<?> first = pool.submit(firstLoad);
+                while (loading.getCount() == loadsBefore) Thread.sleep(1);
+                Future<?> waiting = pool.submit(() -> cache.get(7)); // joins the load in flight
+                for (Future<?> result : new Future<?>[]{first, waiting}) {
+                    try {
+                        result.get(5, TimeUnit.SECONDS);
+                        Assert.fail();
+                    } catch (ExecutionException e) {
+                        Assert.assertEquals("Broken loader", e.getCause().getMessage());
+                    }
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public final void shouldNotCacheAFailedLoad() throws Exception {
+        StubLoader loader = new StubLoader(0);
+        LoadingLRUCache cache = new LoadingLRUCache(10, loader);
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                cache.get(-1);
+                Assert.fail("Loading a missing key should throw");
+            } catch (Exception e) {
+                Assert.assertEquals("No such key: -1", e.getMessage());
+            }
+        }
+        Assert.assertEquals(2, loader.loadCalls.get());
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public final void shouldRecordHitsMissesAndLoadTime() throws Exception {
+        StubLoader loader = new StubLoader(20);
+        LoadingLRUCache cache = new LoadingLRUCache(10, loader);
+        cache.recordStats(new ConcurrentStatsCounter());
+        cache.get(1);
+        cache.get(1);
+        cache.getAll(new int[]{1, 2, 3});
+
+        CacheStats stats = cache.stats();
+        Assert.assertEquals(2, stats.hitCount());
+        Assert.assertEquals(3, stats.missCount());
+        Assert.assertEquals(2, stats.loadCount());
+        Assert.assertTrue(stats.totalLoadTime() >= TimeUnit.MILLISECONDS.toNanos(40));
+    }
+
+    @Test
+    public final void shouldNotGoToTheStoreForKeysItsFilterRulesOut() throws Exception {
+        StubLoader loader = new StubLoader(0);
+        IntBloomFilter storedKeys = new IntBloomFilter(100, 10);
+        for (int key = 0; key < 100; key++) storedKeys.put(key);
+        LoadingLRUCache cache = new LoadingLRUCache(10, loader, storedKeys);
+
+        Assert.assertEquals(50, cache.get(5));
+        int ruledOut = 0;
+        for (int key = -1_000; key < 0; key++) {
+            if (storedKeys.mightContain(key)) continue; // a false positive, which may go to the store
+            ruledOut++;
+            try {
+                cache.get(key);
+                Assert.fail();
+            } catch (Exception e) {
+                Assert.assertEquals("Not found!", e.getMessage());
+            }
+        }
+        Assert.assertTrue(ruledOut > 900);
+        Assert.assertEquals(1, loader.loadCalls.get());
+        Assert.assertFalse(cache.contains(-1));
+
+        cache.set(1_000, 7); // a key set directly must not be ruled out afterwards
+        Assert.assertTrue(cache.contains(1_000));
+        Assert.assertEquals(7, cache.getOrDefault(1_000, -1));
+    }
+
+    @Test
+    public final void shouldNotRuleOutAKeySetOnAnotherThread() throws Exception {
+        int keyCount = 20_000;
+        StubLoader loader = new StubLoader(0);
+        LoadingLRUCache cache = new LoadingLRUCache(keyCount, loader, new IntBloomFilter(keyCount, 10));
+        AtomicInteger lastSet = new AtomicInteger(); // keys -1 to -lastSet are set, the store has none of them
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int key = 1; key <= keyCount; key++) {
+                    cache.set(-key, key);
+                    lastSet.set(key);
+                }
+                return null;
+            });
+            while (!writer.isDone()) {
+                int key = lastSet.get();
+                if (key > 0) Assert.assertEquals(key, cache.get(-key));
+            }
+            writer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(0, loader.loadCalls.get());
+    }
+}
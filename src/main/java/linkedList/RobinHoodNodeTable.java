@@ -0,0 +1,250 @@
+package linkedList;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+/**
+ * Open addressing hash table from int key to cache node, with Robin Hood hashing, backward shift deletion and
+ * incremental resizing.
+ * <p>
+ * With linear probing, an entry that does not find its home slot free takes the next free slot after it. Robin Hood
+ * hashing adds one rule: while probing, a new entry takes the slot of a resident that sits closer to its own home
+ * than the new entry does, and the resident probes on instead ("take from the rich, give to the poor"). Probe lengths
+ * thus stay short and even, and a lookup can stop as soon as it meets a resident closer to home than the key would
+ * be at that point. Deleting shifts the following entries of the run one slot back instead of leaving a tombstone,
+ * so the table never degrades with churn.
+ * <p>
+ * Keys sit in an int array next to the node array, so probing compares keys from a few cache lines instead of
+ * dereferencing a node per step as chaining does. Home slots come from Fibonacci hashing (multiply by 2^32 / phi and
+ * keep the top bits), which spreads strided keys such as multiples of a large power of two that defeat masking the
+ * low bits.
+ * <p>
+ * The table starts small and doubles at 80% load. Rather than rehashing everything at once, the old array is kept
+ * and migrated a few slots per insertion or removal, lookups checking the new array first and the old one second.
+ * Migration moves whole runs of occupied slots, so the entries left in the old array are still where Robin Hood
+ * lookups expect them.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://cs.uwaterloo.ca/research/tr/1986/CS-86-14.pdf
+ */
+class RobinHoodNodeTable {
+
+    private static final int INITIAL_LENGTH = 16;
+    private static final int FIBONACCI_HASH_MULTIPLIER = 0x9E3779B9;
+    private static final int MIGRATION_STEPS = 8; // old slots visited per insertion or removal while resizing
+
+    private int[] keys;
+    private LRUCacheNode[] nodes; // null for a free slot
+    private int shift;            // 32 - log2(length)
+    private int size;
+
+    private int[] oldKeys;        // null unless resizing
+    private LRUCacheNode[] oldNodes;
+    private int oldShift;
+    private int oldSize;
+    private int migrationCursor;
+    private int migrationRemaining;
+
+    RobinHoodNodeTable() {
+        this.keys = new int[INITIAL_LENGTH];
+        this.nodes = new LRUCacheNode[INITIAL_LENGTH];
+        this.shift = 32 - Integer.numberOfTrailingZeros(INITIAL_LENGTH);
+    }
+
+    private static int home(int key, int shift) {
+        return (LRUCachePlain.hash(key) * FIBONACCI_HASH_MULTIPLIER) >>> shift;
+    }
+
+    private static int probeLength(int[] keys, int slot, int shift) {
+        return (slot - home(keys[slot], shift)) & (keys.length - 1);
+    }
+
+    int size() {
+        return this.size + this.oldSize;
+    }
+
+    LRUCacheNode find(int key) {
+        LRUCacheNode node = find(this.keys, this.nodes, this.shift, key);
+        if (node == null && this.oldNodes != null) node = find(this.oldKeys, this.oldNodes, this.oldShift, key);
+        return node;
+    }
+
+    /**
+     * Add a node whose key is known not to be in the table yet
+     */
+    void insert(LRUCacheNode node) {
+        migrate(MIGRATION_STEPS);
+        if (this.size() + 1 > loadLimit(this.nodes.length)) {
+            migrate(Integer.MAX_VALUE); // only if inserts outran migration, which the step count makes unlikely
+            startResize();
+        }
+        insert(this.keys, this.nodes, this.shift, node);
+        this.size++;
+    }
+
+    /**
+     * Grow the table at once, so that the given number of entries fits without any further resize, e.g. before a bulk
+     * load whose size is known
+     */
+    void ensureCapacity(int expected) {
+        migrate(Integer.MAX_VALUE);
+        int length = this.nodes.length;
+        while (loadLimit(length) < expected && length < (1 << 30)) length <<= 1;
+        if (length == this.nodes.length) return;
+        int[] keys = this.keys;
+        LRUCacheNode[] nodes = this.nodes;
+        this.keys = new int[length];
+        this.nodes = new LRUCacheNode[length];
+        this.shift = 32 - Integer.numberOfTrailingZeros(length);
+        for (LRUCacheNode node : nodes) if (node != null) insert(this.keys, this.nodes, this.shift, node);
+    }
+
+    /**
+     * Number of slots of the current array
+     */
+    int length() {
+        return this.nodes.length;
+    }
+
+    void remove(LRUCacheNode node) {
+        if (remove(this.keys, this.nodes, this.shift, node)) this.size--;
+        else if (this.oldNodes != null && remove(this.oldKeys, this.oldNodes, this.oldShift, node)) this.oldSize--;
+        migrate(MIGRATION_STEPS);
+    }
+
+    /**
+     * Number of entries at each probe length (0 meaning in their home slot), to check how evenly keys spread
+     */
+    int[] probeLengthHistogram() {
+        int[] histogram = new int[1];
+        for (int t = 0; t < 2; t++) {
+            int[] keys = t == 0 ? this.keys : this.oldKeys;
+            LRUCacheNode[] nodes = t == 0 ? this.nodes : this.oldNodes;
+            int shift = t == 0 ? this.shift : this.oldShift;
+            if (nodes == null) continue;
+            for (int slot = 0; slot < nodes.length; slot++) {
+                if (nodes[slot] == null) continue;
+                int probeLength = probeLength(keys, slot, shift);
+                if (probeLength >= histogram.length) histogram = java.util.Arrays.copyOf(histogram, probeLength + 1);
+                histogram[probeLength]++;
+            }
+        }
+        return histogram;
+    }
+
+    void print() {
+        System.out.println(this.nodes.length + " slots, occupied ones:");
+        for (int slot = 0; slot < this.nodes.length; slot++) {
+            if (this.nodes[slot] == null) continue;
+            System.out.println(slot + ": " + this.nodes[slot] + " probe " + probeLength(this.keys, slot, this.shift));
+        }
+        if (this.oldNodes != null) System.out.println("(" + this.oldSize + " entries still waiting to be migrated)");
+    }
+
+    private static int loadLimit(int length) {
+        return length - (length / 5);
+    }
+
+    private static LRUCacheNode find(int[] keys, LRUCacheNode[] nodes, int shift, int key) {
+        int mask = nodes.length - 1;
+        int slot = home(key, shift);
+        for (int distance = 0; ; distance++) {
+            LRUCacheNode node = nodes[slot];
+            if (node == null) return null;
+            if (keys[slot] == key) return node;
+            if (probeLength(keys, slot, shift) < distance) return null; // the key would have taken this slot
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static void insert(int[] keys, LRUCacheNode[] nodes, int shift, LRUCacheNode node) {
+        int mask = nodes.length - 1;
+        int key = node.key;
+        int slot = home(key, shift);
+        for (int distance = 0; ; distance++) {
+            LRUCacheNode resident = nodes[slot];
+            if (resident == null) {
+                nodes[slot] = node;
+                keys[slot] = key;
+                return;
+            }
+            int residentDistance = probeLength(keys, slot, shift);
+            if (residentDistance < distance) { // the resident is richer, it gives up its slot and probes on
+                nodes[slot] = node;
+                keys[slot] = key;
+                node = resident;
+                key = resident.key;
+                distance = residentDistance;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Remove the node if it is in the given arrays, shifting the rest of its run back by one slot
+     */
+    private static boolean remove(int[] keys, LRUCacheNode[] nodes, int shift, LRUCacheNode node) {
+        int mask = nodes.length - 1;
+        int slot = home(node.key, shift);
+        for (int distance = 0; nodes[slot] != node; distance++) {
+            if (nodes[slot] == null || probeLength(keys, slot, shift) < distance) return false;
+            slot = (slot + 1) & mask;
+        }
+        int next = (slot + 1) & mask;
+        while (nodes[next] != null && probeLength(keys, next, shift) != 0) {
+            nodes[slot] = nodes[next];
+            keys[slot] = keys[next];
+            slot = next;
+            next = (next + 1) & mask;
+        }
+        nodes[slot] = null;
+        return true;
+    }
+
+    /* Incremental resize (start) */
+    private void startResize() {
+        this.oldKeys = this.keys;
+        this.oldNodes = this.nodes;
+        this.oldShift = this.shift;
+        this.oldSize = this.size;
+        this.keys = new int[this.oldKeys.length << 1];
+        this.nodes = new LRUCacheNode[this.oldNodes.length << 1];
+        this.shift--;
+        this.size = 0;
+        // start right after a free slot, so that no run is split between migrated and not migrated slots
+        int free = 0;
+        while (this.oldNodes[free] != null) free++;
+        this.migrationCursor = (free + 1) & (this.oldNodes.length - 1);
+        this.migrationRemaining = this.oldNodes.length - 1;
+    }
+
+    /**
+     * Visit at least the given number of old slots, moving whole runs of entries into the new arrays
+     */
+    private void migrate(int steps) {
+        if (this.oldNodes == null) return;
+        int mask = this.oldNodes.length - 1;
+        while (steps > 0 && this.migrationRemaining > 0 && this.oldSize > 0) {
+            while (this.oldNodes[this.migrationCursor] != null) { // the whole run, its first slot follows a free one
+                LRUCacheNode node = this.oldNodes[this.migrationCursor];
+                this.oldNodes[this.migrationCursor] = null;
+                this.oldSize--;
+                insert(this.keys, this.nodes, this.shift, node);
+                this.size++;
+                this.migrationCursor = (this.migrationCursor + 1) & mask;
+                this.migrationRemaining--;
+                steps--;
+            }
+            this.migrationCursor = (this.migrationCursor + 1) & mask;
+            this.migrationRemaining--;
+            steps--;
+        }
+        if (this.migrationRemaining <= 0 || this.oldSize == 0) {
+            this.oldKeys = null;
+            this.oldNodes = null;
+            this.oldSize = 0;
+        }
+    }
+    /* Incremental resize (end) */
+}
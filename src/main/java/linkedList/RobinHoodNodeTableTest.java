@@ -0,0 +1,34 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+public class RobinHoodNodeTableTest {
+
+    @Test
+    public final void shouldTakeAPresizedLoadWithoutResizing() throws Exception {
+        RobinHoodNodeTable table = new RobinHoodNodeTable();
+        table.ensureCapacity(100_000);
+        int length = table.length();
+        Assert.assertTrue(length - length / 5 >= 100_000);
+        for (int key = 0; key < 100_000; key++) table.insert(new LRUCacheNode(key, -key));
+        Assert.assertEquals(length, table.length());
+        Assert.assertEquals(100_000, table.size());
+        for (int key = 0; key < 100_000; key++) Assert.assertEquals(-key, table.find(key).value);
+    }
+
+    @Test
+    public final void shouldKeepExistingEntriesWhenPresizing() throws Exception {
+        RobinHoodNodeTable table = new RobinHoodNodeTable();
+        for (int key = 0; key < 1_000; key++) table.insert(new LRUCacheNode(key, key)); // resizing on the way
+        table.ensureCapacity(50_000);
+        Assert.assertEquals(1_000, table.size());
+        for (int key = 0; key < 1_000; key++) Assert.assertEquals(key, table.find(key).value);
+        Assert.assertNull(table.find(1_000));
+        int length = table.length();
+        table.ensureCapacity(10); // never shrinks
+        Assert.assertEquals(length, table.length());
+    }
+}
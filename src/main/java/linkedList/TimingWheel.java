@@ -0,0 +1,137 @@
+package linkedList;
+
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel tracking when cache entries expire.
+ * <p>
+ * A timing wheel is an array of buckets, each bucket a doubly linked list of timers due within one tick. Scheduling or
+ * cancelling a timer is O(1). Advancing the clock only visits the buckets whose ticks have passed, so the work done
+ * is proportional to the number of timers that are due plus the number of ticks elapsed, never to the number of
+ * timers in the wheel.
+ * <p>
+ * A single wheel of 64 buckets of 1 ms can only see 64 ms ahead. Stacking wheels with coarser ticks covers long
+ * delays: a timer goes to the finest wheel whose 64 buckets reach its deadline. When a coarse bucket comes due, its
+ * timers are re-scheduled (cascaded) into the finer wheels, until they are expired from the finest one. Each timer
+ * cascades at most once per level, hence expiring a timer is amortized O(1).
+ * <p>
+ * The wheel does not own a thread. Whoever owns it calls advance() with the current time. Like System.nanoTime(), the
+ * time may start anywhere, negative values included, so ticks count from the time the wheel was created.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * http://www.cs.columbia.edu/~nahum/w6998/papers/ton97-timing-wheels.pdf
+ */
+class TimingWheel {
+
+    /**
+     * Timer embedded in a cache entry, so scheduling never allocates
+     */
+    static abstract class Node {
+        long expiresAt; // in the nanosecond time base of the ticker
+        Node wheelPrev;
+        Node wheelNext;
+
+        boolean isScheduled() {
+            return this.wheelNext != null;
+        }
+    }
+
+    private static final class Sentinel extends Node {
+        Sentinel() {
+            this.wheelPrev = this.wheelNext = this;
+        }
+    }
+
+    private static final int BUCKETS = 64; // per level, must be a power of two
+    private static final int[] TICK_SHIFTS = {20, 26, 32, 38, 44}; // ~1 ms, ~67 ms, ~4.3 s, ~4.6 min, ~4.9 h
+
+    private final Sentinel[][] wheels;
+    private final Consumer<Node> onExpired;
+    private final long baseTime; // origin of the ticks
+    private long currentTime;
+
+    TimingWheel(long currentTime, Consumer<Node> onExpired) {
+        this.baseTime = currentTime;
+        this.currentTime = currentTime;
+        this.onExpired = onExpired;
+        this.wheels = new Sentinel[TICK_SHIFTS.length][BUCKETS];
+        for (Sentinel[] wheel : this.wheels) for (int i = 0; i < BUCKETS; i++) wheel[i] = new Sentinel();
+    }
+
+    /**
+     * Put a node into the bucket of the finest level that can see its deadline. Deadlines beyond the coarsest level
+     * are parked in its farthest bucket and re-scheduled when that bucket comes due.
+     */
+    void schedule(Node node) {
+        if (node.isScheduled()) unlink(node);
+        int level = 0;
+        long ticks = ticks(node.expiresAt, 0);
+        while (level < TICK_SHIFTS.length - 1 && ticks - ticks(this.currentTime, level) >= BUCKETS) {
+            level++;
+            ticks = ticks(node.expiresAt, level);
+        }
+        long currentTicks = ticks(this.currentTime, level);
+        if (ticks - currentTicks >= BUCKETS) ticks = currentTicks + BUCKETS - 1;
+        else if (ticks < currentTicks) ticks = currentTicks; // overdue, pick it up on the next advance
+        link(this.wheels[level][(int) (ticks & (BUCKETS - 1))], node);
+    }
+
+    void deschedule(Node node) {
+        if (node.isScheduled()) unlink(node);
+    }
+
+    /**
+     * Move the clock forward, expiring due nodes and cascading the others down to finer levels
+     */
+    void advance(long now) {
+        long previousTime = this.currentTime;
+        if (now - previousTime <= 0) return;
+        this.currentTime = now;
+        for (int level = 0; level < TICK_SHIFTS.length; level++) {
+            long previousTicks = ticks(previousTime, level);
+            long currentTicks = ticks(now, level);
+            if (currentTicks == previousTicks) break; // coarser levels cannot have moved either
+            long elapsed = currentTicks - previousTicks;
+            int bucketsToVisit = elapsed >= BUCKETS ? BUCKETS : (int) elapsed + 1;
+            for (int i = 0; i < bucketsToVisit; i++) {
+                expireBucket(this.wheels[level][(int) ((previousTicks + i) & (BUCKETS - 1))], now);
+            }
+        }
+    }
+
+    /**
+     * Ticks of the level from the base time to the given time, rounded down, so overdue deadlines get negative ticks
+     */
+    private long ticks(long time, int level) {
+        return (time - this.baseTime) >> TICK_SHIFTS[level];
+    }
+
+    private void expireBucket(Sentinel sentinel, long now) {
+        // detach the whole bucket first, so nodes re-scheduled into it are not visited again in this round
+        Node node = sentinel.wheelNext;
+        sentinel.wheelPrev.wheelNext = null;
+        sentinel.wheelPrev = sentinel.wheelNext = sentinel;
+        while (node != null && node != sentinel) {
+            Node next = node.wheelNext;
+            node.wheelPrev = node.wheelNext = null;
+            if (node.expiresAt - now <= 0) this.onExpired.accept(node);
+            else schedule(node);
+            node = next;
+        }
+    }
+
+    private static void link(Sentinel sentinel, Node node) {
+        node.wheelPrev = sentinel.wheelPrev;
+        node.wheelNext = sentinel;
+        sentinel.wheelPrev.wheelNext = node;
+        sentinel.wheelPrev = node;
+    }
+
+    private static void unlink(Node node) {
+        node.wheelPrev.wheelNext = node.wheelNext;
+        node.wheelNext.wheelPrev = node.wheelPrev;
+        node.wheelPrev = node.wheelNext = null;
+    }
+}
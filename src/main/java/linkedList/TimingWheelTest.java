@@ -0,0 +1,111 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TimingWheelTest {
+
+    private static class Timer extends TimingWheel.Node {
+        Timer(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final List<TimingWheel.Node> expired = new ArrayList<>();
+
+    @Test
+    public final void shouldExpireANodeOnlyOnceItsDeadlineHasPassed() {
+        TimingWheel wheel = new TimingWheel(0L, expired::add);
+        Timer timer = new Timer(TimeUnit.MILLISECONDS.toNanos(50));
+        wheel.schedule(timer);
+
+        wheel.advance(TimeUnit.MILLISECONDS.toNanos(49));
+        Assert.assertTrue(expired.isEmpty());
+
+        wheel.advance(TimeUnit.MILLISECONDS.toNanos(52));
+        Assert.assertEquals(1, expired.size());
+        Assert.assertSame(timer, expired.get(0));
+        Assert.assertFalse(timer.isScheduled());
+    }
+
+    @Test
+    public final void shouldCascadeLongDelaysDownToTheFinestLevel() {
+        TimingWheel wheel = new TimingWheel(0L, expired::add);
+        long[] delays = {TimeUnit.SECONDS.toNanos(3), TimeUnit.MINUTES.toNanos(7), TimeUnit.HOURS.toNanos(5),
+                TimeUnit.DAYS.toNanos(30)};
+        for (long delay : delays) wheel.schedule(new Timer(delay));
+
+        long now = 0L;
+        for (int i = 0; i < delays.length; i++) {
+            wheel.advance(delays[i] - TimeUnit.MILLISECONDS.toNanos(5));
+            Assert.assertEquals(i, expired.size());
+            // walk past the deadline in small steps, as a busy cache would
+            for (now = delays[i] - TimeUnit.MILLISECONDS.toNanos(5); now <= delays[i] + TimeUnit.MILLISECONDS.toNanos(5);
+                 now += TimeUnit.MILLISECONDS.toNanos(1)) wheel.advance(now);
+            Assert.assertEquals(i + 1, expired.size());
+            Assert.assertTrue(expired.get(i).expiresAt <= now);
+        }
+    }
+
+    @Test
+    public final void shouldNotExpireADescheduledNode() {
+        TimingWheel wheel = new TimingWheel(0L, expired::add);
+        Timer timer = new Timer(TimeUnit.SECONDS.toNanos(1));
+        wheel.schedule(timer);
+        wheel.deschedule(timer);
+
+        wheel.advance(TimeUnit.SECONDS.toNanos(2));
+
+        Assert.assertTrue(expired.isEmpty());
+    }
+
+    @Test
+    public final void shouldExpireAnOverdueNodeOnTheNextAdvance() {
+        TimingWheel wheel = new TimingWheel(TimeUnit.SECONDS.toNanos(10), expired::add);
+        wheel.schedule(new Timer(TimeUnit.SECONDS.toNanos(5)));
+
+        wheel.advance(TimeUnit.SECONDS.toNanos(10) + TimeUnit.MILLISECONDS.toNanos(2));
+
+        Assert.assertEquals(1, expired.size());
+    }
+
+    @Test
+    public final void shouldExpireNodesWhenTheClockStartsNegativeAndCrossesZero() {
+        for (long start : new long[]{Long.MIN_VALUE / 2, -TimeUnit.SECONDS.toNanos(3)}) {
+            expired.clear();
+            TimingWheel wheel = new TimingWheel(start, expired::add);
+            long[] delays = {TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.SECONDS.toNanos(2),
+                    TimeUnit.SECONDS.toNanos(5)};
+            for (long delay : delays) wheel.schedule(new Timer(start + delay));
+
+            long step = TimeUnit.MILLISECONDS.toNanos(1);
+            for (long now = start; now - start <= TimeUnit.SECONDS.toNanos(6); now += step) {
+                wheel.advance(now); // in small steps, as a busy cache would
+                Assert.assertTrue(expired.size() <= countDue(delays, start, now));
+                Assert.assertTrue(expired.size() >= countDue(delays, start, now - 2 * step)); // at most a tick late
+            }
+            Assert.assertEquals(delays.length, expired.size());
+        }
+    }
+
+    @Test
+    public final void shouldExpireANodeOverdueSinceBeforeTheClockCrossedZero() {
+        TimingWheel wheel = new TimingWheel(-TimeUnit.MILLISECONDS.toNanos(10), expired::add);
+        wheel.advance(TimeUnit.MILLISECONDS.toNanos(5));
+        wheel.schedule(new Timer(-TimeUnit.MILLISECONDS.toNanos(1)));
+
+        wheel.advance(TimeUnit.MILLISECONDS.toNanos(7));
+
+        Assert.assertEquals(1, expired.size());
+    }
+
+    private static int countDue(long[] delays, long start, long time) {
+        int due = 0;
+        for (long delay : delays) if (start + delay <= time) due++;
+        return due;
+    }
+}
@@ -0,0 +1,85 @@
+package linkedList;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+import linkedList.LRUCachePlain.LRUCacheNode;
+
+/**
+ * 2Q eviction (full version).
+ * <p>
+ * A new key enters A1in, a FIFO queue holding about a quarter of the cache, and hits there do not move it. When A1in
+ * overflows, its oldest entry is evicted but its key is remembered in A1out, a FIFO of ghost keys as long as half the
+ * cache. A key requested again while remembered in A1out has proven to be more than a one-off, and goes straight
+ * into Am, an LRU queue holding the rest of the cache. One-off keys of a scan therefore only ever churn A1in.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://www.vldb.org/conf/1994/P439.PDF
+ */
+class TwoQueueEvictionQueue implements EvictionQueue {
+
+    private static final int A1IN = 0, AM = 1;
+
+    private final NodeList a1in = new NodeList(); // FIFO, newest at head
+    private final NodeList am = new NodeList();   // LRU, most recently used at head
+    private final LinkedHashSet<Integer> a1out = new LinkedHashSet<>(); // ghost keys, oldest first
+    private final int a1inCapacity;
+    private final int a1outCapacity;
+
+    TwoQueueEvictionQueue(int capacity) {
+        this.a1inCapacity = Math.max(1, capacity / 4);
+        this.a1outCapacity = Math.max(1, capacity / 2);
+    }
+
+    @Override
+    public void recordInsertion(LRUCacheNode node) {
+        if (this.a1out.remove(node.key)) {
+            node.queue = AM;
+            this.am.addFirst(node);
+        } else {
+            node.queue = A1IN;
+            this.a1in.addFirst(node);
+        }
+    }
+
+    @Override
+    public void recordAccess(LRUCacheNode node) {
+        if (node.queue == AM) this.am.moveToFront(node);
+    }
+
+    @Override
+    public LRUCacheNode victimFor(int key) {
+        if (this.a1in.size > this.a1inCapacity || this.am.size == 0) return this.a1in.tail;
+        return this.am.tail;
+    }
+
+    @Override
+    public void recordRemoval(LRUCacheNode node, boolean evicted) {
+        if (node.queue == AM) {
+            this.am.remove(node);
+            return;
+        }
+        this.a1in.remove(node);
+        if (evicted) {
+            this.a1out.add(node.key);
+            if (this.a1out.size() > this.a1outCapacity) {
+                Iterator<Integer> oldest = this.a1out.iterator();
+                oldest.next();
+                oldest.remove();
+            }
+        }
+    }
+
+    @Override
+    public void recordRestored(LRUCacheNode node) {
+        node.queue = AM;
+        this.am.addLast(node);
+    }
+
+    @Override
+    public Iterator<LRUCacheNode> iterator() {
+        return EvictionQueue.concat(this.am, this.a1in);
+    }
+}
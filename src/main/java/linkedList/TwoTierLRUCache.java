@@ -0,0 +1,411 @@
+package linkedList;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import utils.CacheStats;
+import utils.IntCache;
+import utils.StatsCounter;
+
+/**
+ * A thread-safe two-tier cache: an LRU cache in memory (L1) in front of a log file on local disk (L2).
+ * <p>
+ * Entries evicted from L1 are not dropped but spilled to L2, and a miss in L1 looks into L2 before reporting a miss.
+ * A hit in L2 moves the entry back into L1. The disk is only written by a background thread (write-behind): evictions
+ * queue up in memory, and the writer appends them in batches, one write call per batch. Requests thus never wait for
+ * a disk write, and only an L2 hit reads from disk.
+ * <p>
+ * Also known as a victim cache when the second tier is small; here it is as large as the disk allows.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class TwoTierLRUCache implements IntCache, Closeable {
+
+    /**
+     * - Discussion -
+     * L2 is an append-only log of fixed size records (key, value) plus an in-memory index from key to record offset,
+     * as in Bitcask. A record only counts while the index points at it. Records of keys moved back into L1 or spilled
+     * again later become garbage. Once garbage makes up more than half of the log, the writer compacts it: it copies
+     * the live records into a new file and swaps the files. The log thus stays within twice the live data.
+     * <p>
+     * Evicted entries wait in a pending map until the writer has appended and indexed them, so lookups find them
+     * there in the meantime. The writer copies a batch out under the lock, writes it without the lock, and then
+     * indexes only the entries still pending unchanged: an entry taken back into L1 meanwhile is not indexed.
+     * <p>
+     * L1 is an LRUCachePlain rather than an LRUCache, whose LinkedList makes every hit O(N). One lock guards L1, the
+     * pending map and the index. If the writer falls too far behind, requests wait for it before adding more
+     * evictions, so that memory stays bounded. Once the writer has failed, say on a full disk, L2 takes no more
+     * entries: evictions from L1 are dropped and counted as such, as in a plain LRU cache, and close() rethrows the
+     * failure.
+     * <p>
+     * A record that cannot be read back drops out of the index and its lookup reports a miss, as the caller can
+     * reload the value, but the first such failure is kept and rethrown by close() so that it does not go unnoticed.
+     * <p>
+     * The index lives in memory only, so L2 does not survive a restart and the log is deleted on close().
+     */
+
+    private static final int RECORD_BYTES = 8; // key, value
+    private static final int COMPACTION_MIN_RECORDS = 1 << 10;
+    private static final long NOT_FOUND = Long.MIN_VALUE;
+
+    /**
+     * Spilled value waiting to be written, compared by identity to tell whether it changed during a write
+     */
+    private static final class PendingValue {
+        final int value;
+
+        PendingValue(int value) {
+            this.value = value;
+        }
+    }
+
+    private final LRUCachePlain l1;                         // all fields below guarded by this
+    private final LinkedHashMap<Integer, PendingValue> pending; // evicted from L1, not written yet, oldest first
+    private final HashMap<Integer, Long> index;              // key to record offset in the log
+    private final Path logFile;
+    FileChannel log;                                         // package-private for tests to break it
+    private long logRecords;                                 // live and garbage
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final Thread writer;
+    private boolean closed;
+    private IOException writerFailure;
+    private IOException readFailure;                         // the first one only
+
+    private StatsCounter statsCounter = StatsCounter.disabled();
+
+    /**
+     * Cache keeping the given number of entries in memory and spilling evictions into a log file created in the given
+     * directory. The writer appends once batchSize evictions are pending, or every flushInterval if fewer are.
+     */
+    public TwoTierLRUCache(final int capacity, final Path directory, final int batchSize, final long flushInterval,
+                           final TimeUnit unit) throws Exception {
+        if (batchSize <= 0) throw new Exception("Batch size must be positive!");
+        this.pending = new LinkedHashMap<>();
+        this.l1 = new LRUCachePlain(capacity);
+        this.l1.setEvictionListener(this::spill);
+        this.index = new HashMap<>();
+        this.logFile = Files.createTempFile(directory, "l2-cache", ".log");
+        this.log = FileChannel.open(this.logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = unit.toNanos(flushInterval);
+        this.writer = new Thread(this::runWriter, "l2-cache-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public int get(int key) throws Exception {
+        long value = find(key);
+        if (value == NOT_FOUND) throw new Exception("Not found!");
+        return (int) value;
+    }
+
+    @Override
+    public int getOrDefault(int key, int defaultValue) {
+        long value = find(key);
+        return value == NOT_FOUND ? defaultValue : (int) value;
+    }
+
+    @Override
+    public synchronized void set(int key, int value) {
+        awaitWriter();
+        if (!this.l1.contains(key)) { // the value in L2, if any, is outdated from now on
+            this.pending.remove(key);
+            this.index.remove(key);
+        }
+        this.l1.set(key, value);
+        signalWriter();
+    }
+
+    @Override
+    public synchronized boolean contains(int key) {
+        return this.l1.contains(key) || this.pending.containsKey(key) || this.index.containsKey(key);
+    }
+
+    /**
+     * Number of entries in both tiers
+     */
+    @Override
+    public synchronized int size() {
+        return this.l1.size() + this.pending.size() + this.index.size();
+    }
+
+    @Override
+    public synchronized void recordStats(StatsCounter statsCounter) {
+        this.statsCounter = statsCounter;
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return this.statsCounter.snapshot();
+    }
+
+    /**
+     * Size of the log file in bytes, live and garbage records alike
+     */
+    public synchronized long logBytes() {
+        return this.logRecords * RECORD_BYTES;
+    }
+
+    /**
+     * Write out what is pending, stop the writer and delete the log. Rethrows a failure of the writer, if any, else the
+     * first failed read from the log.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (this.closed) return;
+            this.closed = true;
+            this.notifyAll();
+        }
+        try {
+            this.writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            this.log.close();
+            Files.deleteIfExists(this.logFile);
+            this.index.clear();
+            if (this.writerFailure != null) throw this.writerFailure;
+            if (this.readFailure != null) throw this.readFailure;
+        }
+    }
+
+    /**
+     * Look up L1, then the pending evictions, then the log, moving an entry found below L1 back into L1. Returns the
+     * value, or NOT_FOUND.
+     */
+    private synchronized long find(int key) {
+        long startTime = this.statsCounter.isRecordingLatency() ? System.nanoTime() : 0L;
+        awaitWriter();
+        long value = NOT_FOUND;
+        if (this.l1.contains(key)) {
+            value = this.l1.getOrDefault(key, 0);
+        } else {
+            PendingValue pendingValue = this.pending.remove(key);
+            if (pendingValue != null) {
+                value = pendingValue.value;
+            } else {
+                Long offset = this.index.remove(key);
+                if (offset != null) {
+                    try {
+                        value = readValue(offset);
+                    } catch (IOException e) { // the log is unreadable, report a miss rather than fail the caller
+                        if (this.readFailure == null) this.readFailure = e;
+                        value = NOT_FOUND;
+                    }
+                }
+            }
+            if (value != NOT_FOUND) {
+                this.l1.set(key, (int) value);
+                signalWriter();
+            }
+        }
+        if (value == NOT_FOUND) this.statsCounter.recordMiss();
+        else this.statsCounter.recordHit();
+        if (this.statsCounter.isRecordingLatency()) this.statsCounter.recordLatency(System.nanoTime() - startTime);
+        return value;
+    }
+
+    private int readValue(long offset) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        readRecord(this.log, offset, record);
+        return record.getInt(4);
+    }
+
+    /**
+     * Fill the cleared record from the log at the given offset, throwing rather than spinning if the log ends first
+     */
+    static void readRecord(FileChannel log, long offset, ByteBuffer record) throws IOException {
+        while (record.hasRemaining()) {
+            if (log.read(record, offset + record.position()) < 0) throw new IOException("Truncated log!");
+        }
+    }
+
+    /* Write-behind (start) */
+
+    /**
+     * Queue an entry evicted from L1 for the writer, or drop it if the writer has failed. Called with the lock held.
+     */
+    private void spill(int key, int value) {
+        if (this.writerFailure != null) this.statsCounter.recordEviction();
+        else this.pending.put(key, new PendingValue(value));
+    }
+
+    /**
+     * Wake the writer once a batch is ready. Called with the lock held.
+     */
+    private void signalWriter() {
+        if (this.pending.size() >= this.batchSize) this.notifyAll();
+    }
+
+    /**
+     * Block while the writer is more than a few batches behind. Called with the lock held, before touching L1, since
+     * waiting releases the lock. A failed writer still runs when it wakes the waiters, hence the failure check.
+     */
+    private void awaitWriter() {
+        while (this.pending.size() >= 4 * this.batchSize && !this.closed && this.writerFailure == null
+                && this.writer.isAlive()) {
+            try {
+                this.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runWriter() {
+        try {
+            while (true) {
+                int[] keys;
+                PendingValue[] values;
+                long offset;
+                synchronized (this) {
+                    long deadline = System.nanoTime() + this.flushIntervalNanos;
+                    while (!this.closed && this.pending.size() < this.batchSize) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0 && !this.pending.isEmpty()) break;
+                        if (remaining <= 0) deadline = System.nanoTime() + this.flushIntervalNanos;
+                        else TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    }
+                    if (this.pending.isEmpty()) return; // closed and drained
+                    int count = Math.min(this.pending.size(), 4 * this.batchSize);
+                    keys = new int[count];
+                    values = new PendingValue[count];
+                    Iterator<Map.Entry<Integer, PendingValue>> entries = this.pending.entrySet().iterator();
+                    for (int i = 0; i < count; i++) {
+                        Map.Entry<Integer, PendingValue> entry = entries.next();
+                        keys[i] = entry.getKey();
+                        values[i] = entry.getValue();
+                    }
+                    offset = this.logRecords * RECORD_BYTES;
+                }
+
+                ByteBuffer batch = ByteBuffer.allocateDirect(keys.length * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < keys.length; i++) batch.putInt(keys[i]).putInt(values[i].value);
+                batch.flip();
+                while (batch.hasRemaining()) this.log.write(batch, offset + batch.position());
+
+                boolean compact;
+                synchronized (this) {
+                    for (int i = 0; i < keys.length; i++) {
+                        if (this.pending.get(keys[i]) != values[i]) continue; // taken back into L1 meanwhile
+                        this.pending.remove(keys[i]);
+                        this.index.put(keys[i], offset + (long) i * RECORD_BYTES);
+                    }
+                    this.logRecords += keys.length;
+                    this.notifyAll(); // requests waiting for the writer to catch up
+                    compact = this.logRecords >= COMPACTION_MIN_RECORDS && this.logRecords > 2L * this.index.size();
+                }
+                if (compact) compact();
+            }
+        } catch (IOException | InterruptedException e) {
+            synchronized (this) {
+                this.writerFailure = e instanceof IOException ? (IOException) e : new IOException(e);
+                this.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Copy the live records into a new log and swap it in. Only the writer appends to the log, so no record shows up
+     * while copying, but lookups may take records back into L1, which the swap then leaves out of the index.
+     */
+    private void compact() throws IOException {
+        Map<Integer, Long> live;
+        synchronized (this) {
+            live = new HashMap<>(this.index);
+        }
+        Path compactedFile = Files.createTempFile(this.logFile.getParent(), "l2-cache", ".log");
+        Map<Integer, Long> moved = new HashMap<>(live.size() * 2);
+        try (FileChannel compacted = FileChannel.open(compactedFile, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(this.batchSize * RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            long written = 0;
+            for (Map.Entry<Integer, Long> entry : live.entrySet()) {
+                record.clear();
+                readRecord(this.log, entry.getValue(), record);
+                record.flip();
+                if (!buffer.hasRemaining()) written += flush(compacted, buffer, written);
+                buffer.put(record);
+                moved.put(entry.getKey(), (written + buffer.position()) - RECORD_BYTES);
+            }
+            flush(compacted, buffer, written);
+        } catch (IOException e) {
+            Files.deleteIfExists(compactedFile);
+            throw e;
+        }
+        FileChannel oldLog;
+        synchronized (this) {
+            for (Map.Entry<Integer, Long> entry : moved.entrySet()) {
+                Long offset = this.index.get(entry.getKey());
+                if (offset != null && offset.equals(live.get(entry.getKey())))
+                    this.index.put(entry.getKey(), entry.getValue());
+            }
+            oldLog = this.log;
+            this.log = FileChannel.open(compactedFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.logRecords = moved.size();
+            Files.move(compactedFile, this.logFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        oldLog.close();
+    }
+
+    /**
+     * Write the buffered records at the given position and empty the buffer, returning the number of bytes written
+     */
+    private static long flush(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) channel.write(buffer, position + bytes - buffer.remaining());
+        buffer.clear();
+        return bytes;
+    }
+    /* Write-behind (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of two-tier caches.");
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        try (TwoTierLRUCache cache = new TwoTierLRUCache(10_000, directory, 1_024, 10, TimeUnit.MILLISECONDS)) {
+            System.out.println("\nSet 100,000 entries into an L1 of 10,000 ...");
+            long startTime = System.nanoTime();
+            for (int key = 0; key < 100_000; key++) cache.set(key, key * 10);
+            System.out.printf("%,d ms, %,d entries in both tiers\n",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime), cache.size());
+            Thread.sleep(100); // let the writer catch up
+            System.out.printf("Log: %,d KB\n", cache.logBytes() >> 10);
+
+            System.out.println("\nRead 200,000 random keys, most of them from L2 ...");
+            java.util.concurrent.ThreadLocalRandom random = java.util.concurrent.ThreadLocalRandom.current();
+            int misses = 0;
+            startTime = System.nanoTime();
+            for (int i = 0; i < 200_000; i++) {
+                int key = random.nextInt(100_000);
+                if (cache.getOrDefault(key, -1) != key * 10) misses++;
+            }
+            System.out.printf("%,d ms, %d misses\n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                    misses);
+            Thread.sleep(100);
+            System.out.printf("Log after compactions: %,d KB for %,d entries in L2 (%,d KB live)\n",
+                    cache.logBytes() >> 10, cache.size() - 10_000, (cache.size() - 10_000) * RECORD_BYTES >> 10);
+        } finally {
+            Files.delete(directory);
+        }
+        System.out.println("\nAll rabbits gone.");
+    }
+}
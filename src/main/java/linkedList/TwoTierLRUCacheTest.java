@@ -0,0 +1,161 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+public class TwoTierLRUCacheTest {
+
+    private static void awaitLogBytes(TwoTierLRUCache cache, long bytes) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.logBytes() < bytes && System.nanoTime() < deadline) Thread.sleep(5);
+    }
+
+    @Test
+    public final void shouldServeEvictedEntriesFromTheSecondTier() throws Exception {
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        try (TwoTierLRUCache cache = new TwoTierLRUCache(2, directory, 2, 1, TimeUnit.MILLISECONDS)) {
+            for (int key = 0; key < 6; key++) cache.set(key, key * 10);
+            awaitLogBytes(cache, 4 * 8);
+
+            Assert.assertEquals(6, cache.size());
+            for (int key = 0; key < 6; key++) Assert.assertEquals(key * 10, cache.get(key));
+            Assert.assertEquals(-1, cache.getOrDefault(6, -1));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public final void shouldFindEvictedEntriesBeforeTheyAreWritten() throws Exception {
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        try (TwoTierLRUCache cache = new TwoTierLRUCache(2, directory, 1_000, 1, TimeUnit.HOURS)) {
+            for (int key = 0; key < 4; key++) cache.set(key, key * 10);
+
+            Assert.assertEquals(0, cache.logBytes());
+            Assert.assertTrue(cache.contains(0));
+            Assert.assertEquals(0, cache.get(0));
+            Assert.assertEquals(10, cache.get(1));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public final void shouldNotServeAnOutdatedValueFromTheSecondTier() throws Exception {
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        try (TwoTierLRUCache cache = new TwoTierLRUCache(1, directory, 1, 1, TimeUnit.MILLISECONDS)) {
+            cache.set(1, 10);
+            cache.set(2, 20); // spills 1
+            awaitLogBytes(cache, 8);
+            cache.set(1, 11); // spills 2, and outdates the spilled 1
+            cache.set(3, 30); // spills 1 again, with its new value
+            awaitLogBytes(cache, 3 * 8);
+
+            Assert.assertEquals(11, cache.get(1));
+            Assert.assertEquals(20, cache.get(2));
+            Assert.assertEquals(3, cache.size());
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public final void shouldKeepTheLogWithinTwiceTheLiveRecords() throws Exception {
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        try (TwoTierLRUCache cache = new TwoTierLRUCache(100, directory, 64, 1, TimeUnit.MILLISECONDS)) {
+            for (int key = 0; key < 2_000; key++) cache.set(key, key);
+            for (int round = 0; round < 5; round++) { // every read from L2 turns a record into garbage
+                for (int key = 0; key < 2_000; key++) Assert.assertEquals(key, cache.get(key));
+            }
+            Thread.sleep(200);
+
+            int spilled = cache.size() - 100;
+            Assert.assertEquals(1_900, spilled);
+            Assert.assertTrue(cache.logBytes() + " bytes", cache.logBytes() <= 2L * spilled * 8 + 4 * 64 * 8);
+            for (int key = 0; key < 2_000; key++) Assert.assertEquals(key, cache.get(key));
+        } finally {
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public final void shouldDropEvictionsOnceTheWriterHasFailed() throws Exception {
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        TwoTierLRUCache cache = new TwoTierLRUCache(10, directory, 4, 1, TimeUnit.MILLISECONDS);
+        try {
+            for (int key = 0; key < 100; key++) cache.set(key, key);
+            awaitLogBytes(cache, 80 * 8);
+            cache.log.close(); // the next write fails, as on a full disk
+            int sizeBefore = cache.size();
+
+            for (int key = 100; key < 100_000; key++) {
+                cache.set(key, key);
+                Assert.assertTrue(cache.size() <= sizeBefore + 4 * 4 + 10);
+            }
+            for (int key = 99_990; key < 100_000; key++) Assert.assertEquals(key, cache.get(key));
+            try {
+                cache.close();
+                Assert.fail();
+            } catch (IOException e) { // the write that failed
+            }
+        } finally {
+            try {
+                cache.close(); // a no-op unless an assertion failed first, which the failure must not hide
+            } catch (IOException e) {
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public final void shouldReportAFailedReadFromTheLogOnClose() throws Exception {
+        Path directory = Files.createTempDirectory("two-tier-cache");
+        TwoTierLRUCache cache = new TwoTierLRUCache(2, directory, 2, 1, TimeUnit.MILLISECONDS);
+        try {
+            for (int key = 0; key < 6; key++) cache.set(key, key * 10);
+            awaitLogBytes(cache, 4 * 8);
+            cache.log.close(); // nothing is pending, so only reads touch the log from here on
+
+            Assert.assertEquals(-1, cache.getOrDefault(0, -1));
+            Assert.assertFalse(cache.contains(0));
+            Assert.assertEquals(50, cache.get(5));
+            try {
+                cache.close();
+                Assert.fail();
+            } catch (ClosedChannelException e) { // the read that failed
+            }
+        } finally {
+            try {
+                cache.close(); // a no-op unless an assertion failed first, which the failure must not hide
+            } catch (IOException e) {
+            }
+            Files.delete(directory);
+        }
+    }
+
+    @Test
+    public final void shouldFailToReadARecordPastTheEndOfATruncatedLog() throws Exception {
+        Path logFile = Files.createTempFile("l2-cache", ".log");
+        try (FileChannel log = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            log.write(ByteBuffer.wrap(new byte[12]), 0); // one record and a half
+            TwoTierLRUCache.readRecord(log, 0, ByteBuffer.allocate(8));
+            try {
+                TwoTierLRUCache.readRecord(log, 8, ByteBuffer.allocate(8));
+                Assert.fail();
+            } catch (IOException e) {
+                Assert.assertEquals("Truncated log!", e.getMessage());
+            }
+        } finally {
+            Files.delete(logFile);
+        }
+    }
+}
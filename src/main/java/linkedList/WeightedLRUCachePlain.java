@@ -0,0 +1,306 @@
+package linkedList;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntBiFunction;
+
+import utils.FunIntAlgorithm;
+
+/**
+ * A generic LRU cache bounded by the total weight of its entries rather than by their number.
+ * <p>
+ * When values range from 100 bytes to 1 MB, a cache of N entries may hold anything between 100 * N bytes and
+ * 1 MB * N bytes, so an entry count bounds nothing useful. Here every entry is given a weight by a pluggable weigher
+ * (typically its size in bytes) and the cache keeps the sum of the weights under a maximum. Inserting a heavy entry
+ * evicts as many least recently used entries as it takes to make room for it.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class WeightedLRUCachePlain<K, V> {
+
+    /**
+     * - Discussion -
+     * Same design as LRUCachePlain: a hand-written hash table with chaining plus a doubly linked eviction queue, the
+     * least recently used entry at tail. Keys are compared with equals() and spread with the same hash as HashMap.
+     * <p>
+     * Since the number of entries is not known up front (many light entries or a few heavy ones), the table doubles
+     * whenever the entry count reaches 3/4 of its length. A new node is pushed onto the head of its chain, so
+     * inserting never walks the chain.
+     * <p>
+     * An entry heavier than the maximum weight can never fit, so it is not cached at all (and replaces nothing),
+     * rather than flushing the whole cache on its way through.
+     */
+
+    private static class WeightedNode<K, V> {
+        final K key;
+        final int hash;
+        V value;
+        int weight;
+        WeightedNode<K, V> prev;
+        WeightedNode<K, V> next;
+        WeightedNode<K, V> hashNext; // for hash table collision resolution chain
+
+        WeightedNode(K key, int hash, V value, int weight) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.weight = weight;
+        }
+
+        public String toString() {
+            return "{" + this.key + ": " + this.weight + "}";
+        }
+    }
+
+    private static final int INITIAL_TABLE_SIZE = 16;
+
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+    private long totalWeight;
+    private int occupancy;
+    private long evictionCount;
+
+    private WeightedNode<K, V>[] cacheStore; // hash table with collisions resolved via chaining
+
+    private WeightedNode<K, V> evictionQueueHead;
+    private WeightedNode<K, V> evictionQueueTail;
+
+    public WeightedLRUCachePlain(final long maximumWeight, final ToIntBiFunction<? super K, ? super V> weigher)
+            throws Exception {
+        if (maximumWeight <= 0) throw new Exception("Maximum weight must be positive!");
+        if (weigher == null) throw new Exception("Weigher cannot be null!");
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.cacheStore = newTable(INITIAL_TABLE_SIZE);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> WeightedNode<K, V>[] newTable(int length) {
+        return (WeightedNode<K, V>[]) new WeightedNode[length];
+    }
+
+    static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16); // same spreading as LRUCachePlain.hash() and HashMap
+    }
+
+    /**
+     * Return the value cached under the key, or null if there is none
+     */
+    public V get(K key) {
+        WeightedNode<K, V> target = findNodeFromHashTable(key, hash(key));
+        if (target == null) return null;
+        locateToEvictionQueueHead(target);
+        return target.value;
+    }
+
+    public void set(K key, V value) {
+        int weight = this.weigher.applyAsInt(key, value);
+        if (weight < 0) throw new IllegalArgumentException("Weight cannot be negative!");
+        int hash = hash(key);
+        WeightedNode<K, V> target = findNodeFromHashTable(key, hash);
+        if (weight > this.maximumWeight) { // can never fit, and must not leave a stale value behind either
+            if (target != null) removeEntry(target);
+            return;
+        }
+        if (target != null) { // update, the entry may have grown
+            this.totalWeight += weight - target.weight;
+            target.value = value;
+            target.weight = weight;
+            locateToEvictionQueueHead(target);
+        } else { // insert
+            target = new WeightedNode<>(key, hash, value, weight);
+            locateToEvictionQueueHead(target);
+            addNodeToHashTable(target);
+            this.totalWeight += weight;
+            this.occupancy++;
+        }
+        // the entry just set sits at head and fits on its own, so the loop stops before reaching it
+        while (this.totalWeight > this.maximumWeight) {
+            removeEntry(this.evictionQueueTail);
+            this.evictionCount++;
+        }
+    }
+
+    public boolean contains(K key) {
+        return null != findNodeFromHashTable(key, hash(key));
+    }
+
+    public V remove(K key) {
+        WeightedNode<K, V> target = findNodeFromHashTable(key, hash(key));
+        if (target == null) return null;
+        removeEntry(target);
+        return target.value;
+    }
+
+    public int size() {
+        return this.occupancy;
+    }
+
+    public long weightedSize() {
+        return this.totalWeight;
+    }
+
+    public long maximumWeight() {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Number of entries evicted to make room for others
+     */
+    public long evictionCount() {
+        return this.evictionCount;
+    }
+
+    public void printEvictionQueue() {
+        for (WeightedNode<K, V> node = this.evictionQueueHead; node != null; node = node.next)
+            System.out.printf(node.toString() + " > ");
+        System.out.println();
+    }
+
+    private void removeEntry(WeightedNode<K, V> node) {
+        removeNodeFromEvictionQueue(node);
+        removeNodeFromHashTable(node);
+        this.totalWeight -= node.weight;
+        this.occupancy--;
+    }
+
+    /* Doubly linked list for eviction queue (start) */
+    private void locateToEvictionQueueHead(WeightedNode<K, V> node) {
+        if (node == this.evictionQueueHead) return;
+        removeNodeFromEvictionQueue(node);
+        if (this.evictionQueueHead != null) {
+            this.evictionQueueHead.prev = node;
+            node.next = this.evictionQueueHead;
+        } else {
+            this.evictionQueueTail = node;
+        }
+        this.evictionQueueHead = node;
+    }
+
+    private void removeNodeFromEvictionQueue(WeightedNode<K, V> node) {
+        if (node.prev != null) node.prev.next = node.next;
+        else if (node == this.evictionQueueHead) this.evictionQueueHead = node.next;
+
+        if (node.next != null) node.next.prev = node.prev;
+        else if (node == this.evictionQueueTail) this.evictionQueueTail = node.prev;
+
+        node.prev = node.next = null;
+    }
+    /* Doubly linked list for eviction queue (end) */
+
+    /* Hash table with chain based collision resolution for cache storage (start) */
+    private WeightedNode<K, V> findNodeFromHashTable(K key, int hash) {
+        WeightedNode<K, V> node = this.cacheStore[hash & (this.cacheStore.length - 1)];
+        while (node != null && (node.hash != hash || !node.key.equals(key))) node = node.hashNext;
+        return node;
+    }
+
+    private void addNodeToHashTable(WeightedNode<K, V> node) {
+        if (this.occupancy + 1 > (this.cacheStore.length >>> 2) * 3) resizeHashTable();
+        int index = node.hash & (this.cacheStore.length - 1);
+        node.hashNext = this.cacheStore[index];
+        this.cacheStore[index] = node;
+    }
+
+    private void removeNodeFromHashTable(WeightedNode<K, V> node) {
+        int index = node.hash & (this.cacheStore.length - 1);
+        if (this.cacheStore[index] == node) {
+            this.cacheStore[index] = node.hashNext;
+        } else {
+            WeightedNode<K, V> prev = this.cacheStore[index];
+            while (prev.hashNext != node) prev = prev.hashNext;
+            prev.hashNext = node.hashNext;
+        }
+        node.hashNext = null;
+    }
+
+    private void resizeHashTable() {
+        WeightedNode<K, V>[] newStore = newTable(this.cacheStore.length << 1);
+        for (WeightedNode<K, V> node : this.cacheStore) {
+            while (node != null) {
+                WeightedNode<K, V> next = node.hashNext;
+                int index = node.hash & (newStore.length - 1);
+                node.hashNext = newStore[index];
+                newStore[index] = node;
+                node = next;
+            }
+        }
+        this.cacheStore = newStore;
+    }
+    /* Hash table with chain based collision resolution for cache storage (end) */
+
+    /* Mixed-size workload benchmark (start) */
+
+    /**
+     * Payload size of a key, log-uniformly spread between 100 B and 1 MB and fixed per key like a real object
+     */
+    private static int payloadSize(int key) {
+        int h = LRUCachePlain.hash(key * 0x9E3779B9);
+        double fraction = (h & 0xFFFF) / 65536.0;
+        return (int) (100 * Math.pow(10_000, fraction));
+    }
+
+    private static void replay(String name, WeightedLRUCachePlain<Integer, byte[]> cache, int[] trace) {
+        long hits = 0, peakBytes = 0;
+        long start = System.nanoTime();
+        for (int key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.set(key, new byte[payloadSize(key)]);
+            }
+            long bytes = 0;
+            if ((key & 63) == 0) { // sample the true payload bytes now and then, the weighted size may not be bytes
+                for (WeightedNode<Integer, byte[]> node = cache.evictionQueueHead; node != null; node = node.next)
+                    bytes += node.value.length;
+                peakBytes = Math.max(peakBytes, bytes);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        System.out.printf("%-28s%-12s%-12.2f%-22s%-12s\n", name, formatter.format(cache.size()),
+                100.0 * hits / trace.length, formatter.format(peakBytes),
+                formatter.format(trace.length * TimeUnit.SECONDS.toNanos(1) / elapsed));
+    }
+    /* Mixed-size workload benchmark (end) */
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("Welcome to the rabbit hole of weighted LRU caches.");
+        WeightedLRUCachePlain<String, String> cache = new WeightedLRUCachePlain<>(10, (key, value) -> value.length());
+        System.out.println("\nSet entries weighing 3, 3 and 3 into a cache of maximum weight 10 ...");
+        cache.set("a", "aaa");
+        cache.set("b", "bbb");
+        cache.set("c", "ccc");
+        cache.printEvictionQueue();
+        System.out.println("Set an entry weighing 7, which takes two evictions ...");
+        cache.set("d", "ddddddd");
+        cache.printEvictionQueue();
+        System.out.println("Set an entry weighing 11, which can never fit and is rejected ...");
+        cache.set("e", "eeeeeeeeeee");
+        cache.printEvictionQueue();
+        System.out.println("Total weight: " + cache.weightedSize() + ", evictions: " + cache.evictionCount());
+
+        System.out.println("\n/* Byte arrays of 100 B to 1 MB, Zipf(0.9) over 20,000 keys, 64 MB budget */");
+        long budget = 64L << 20;
+        int[] trace = FunIntAlgorithm.genZipfIntArr(50_000, 20_000, 0.9);
+        long totalSize = 0;
+        for (int i = 0; i < 20_000; i++) totalSize += payloadSize(i);
+        int averageSize = (int) (totalSize / 20_000);
+        System.out.printf("%-28s%-12s%-12s%-22s%-12s\n", "Bound", "Entries", "Hit (%)", "Peak payload bytes",
+                "Ops/sec");
+        replay("weight <= 64 MB", new WeightedLRUCachePlain<>(budget, (key, value) -> value.length), trace);
+        // an entry bound sized from the average payload, as one would pick it without a weigher
+        replay("entries <= 64 MB / avg size", new WeightedLRUCachePlain<>(budget / averageSize, (key, value) -> 1),
+                trace);
+        System.out.println("Keys drawn uniformly from the same set (no popularity skew) ...");
+        for (int i = 0; i < trace.length; i++) trace[i] = ThreadLocalRandom.current().nextInt(20_000);
+        replay("weight <= 64 MB", new WeightedLRUCachePlain<>(budget, (key, value) -> value.length), trace);
+        replay("entries <= 64 MB / avg size", new WeightedLRUCachePlain<>(budget / averageSize, (key, value) -> 1),
+                trace);
+
+        System.out.println("\nAll rabbits gone.");
+    }
+}
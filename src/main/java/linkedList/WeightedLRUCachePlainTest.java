@@ -0,0 +1,61 @@
+package linkedList;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WeightedLRUCachePlainTest {
+
+    @Test
+    public final void shouldEvictAsManyEntriesAsItTakesToFitAHeavyInsert() throws Exception {
+        WeightedLRUCachePlain<Integer, byte[]> cache = new WeightedLRUCachePlain<>(100, (key, value) -> value.length);
+        for (int i = 0; i < 10; i++) cache.set(i, new byte[10]);
+        cache.get(0);
+
+        cache.set(10, new byte[45]);
+
+        Assert.assertEquals(95, cache.weightedSize());
+        Assert.assertEquals(6, cache.size());
+        Assert.assertEquals(5, cache.evictionCount());
+        Assert.assertTrue(cache.contains(0));
+        for (int i = 1; i <= 5; i++) Assert.assertFalse(cache.contains(i));
+        for (int i = 6; i <= 10; i++) Assert.assertTrue(cache.contains(i));
+    }
+
+    @Test
+    public final void shouldReweighAnUpdatedEntry() throws Exception {
+        WeightedLRUCachePlain<String, String> cache = new WeightedLRUCachePlain<>(9, (key, value) -> value.length());
+        cache.set("a", "aaaa");
+        cache.set("b", "bbbb");
+        cache.set("a", "aaaaaa");
+
+        Assert.assertEquals(6, cache.weightedSize());
+        Assert.assertEquals("aaaaaa", cache.get("a"));
+        Assert.assertNull(cache.get("b"));
+    }
+
+    @Test
+    public final void shouldRejectAnEntryHeavierThanTheMaximumWeight() throws Exception {
+        WeightedLRUCachePlain<String, String> cache = new WeightedLRUCachePlain<>(5, (key, value) -> value.length());
+        cache.set("a", "aa");
+        cache.set("b", "bb");
+        cache.set("a", "aaaaaa");
+
+        Assert.assertFalse(cache.contains("a"));
+        Assert.assertTrue(cache.contains("b"));
+        Assert.assertEquals(2, cache.weightedSize());
+    }
+
+    @Test
+    public final void shouldKeepAllEntriesReachableAcrossTableResizes() throws Exception {
+        WeightedLRUCachePlain<Integer, Integer> cache = new WeightedLRUCachePlain<>(1_000, (key, value) -> 1);
+        for (int i = 0; i < 1_000; i++) cache.set(i, i);
+
+        Assert.assertEquals(1_000, cache.size());
+        for (int i = 0; i < 1_000; i++) Assert.assertEquals(Integer.valueOf(i), cache.get(i));
+    }
+
+    @Test (expected = Exception.class)
+    public final void shouldThrowAnExceptionWhenInitializedWithZeroMaximumWeight() throws Exception {
+        new WeightedLRUCachePlain<String, String>(0, (key, value) -> 1);
+    }
+}
@@ -0,0 +1,116 @@
+package utils;
+
+import java.text.DecimalFormat;
+
+/**
+ * Immutable snapshot of the statistics of a cache
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public final class CacheStats {
+
+    public static final CacheStats EMPTY = new CacheStats(0, 0, 0, 0, 0, new long[0]);
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadCount;
+    private final long totalLoadTime;
+    private final long latencyCount;
+    private final long latencyP50, latencyP90, latencyP99, latencyP999, latencyMax;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, long loadCount, long totalLoadTime,
+               long[] latencyCounts) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadCount = loadCount;
+        this.totalLoadTime = totalLoadTime;
+        long count = 0;
+        for (long c : latencyCounts) count += c;
+        this.latencyCount = count;
+        this.latencyP50 = LatencyHistogram.valueAtPercentile(latencyCounts, 50);
+        this.latencyP90 = LatencyHistogram.valueAtPercentile(latencyCounts, 90);
+        this.latencyP99 = LatencyHistogram.valueAtPercentile(latencyCounts, 99);
+        this.latencyP999 = LatencyHistogram.valueAtPercentile(latencyCounts, 99.9);
+        this.latencyMax = LatencyHistogram.valueAtPercentile(latencyCounts, 100);
+    }
+
+    public long hitCount() {
+        return this.hitCount;
+    }
+
+    public long missCount() {
+        return this.missCount;
+    }
+
+    public long requestCount() {
+        return this.hitCount + this.missCount;
+    }
+
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1.0 : (double) this.hitCount / requestCount;
+    }
+
+    public long evictionCount() {
+        return this.evictionCount;
+    }
+
+    public long loadCount() {
+        return this.loadCount;
+    }
+
+    public long totalLoadTime() {
+        return this.totalLoadTime;
+    }
+
+    public double averageLoadPenalty() {
+        return this.loadCount == 0 ? 0.0 : (double) this.totalLoadTime / this.loadCount;
+    }
+
+    /**
+     * Number of operations whose latency was recorded, 0 if latency tracking is off
+     */
+    public long latencyCount() {
+        return this.latencyCount;
+    }
+
+    public long latencyP50() {
+        return this.latencyP50;
+    }
+
+    public long latencyP90() {
+        return this.latencyP90;
+    }
+
+    public long latencyP99() {
+        return this.latencyP99;
+    }
+
+    public long latencyP999() {
+        return this.latencyP999;
+    }
+
+    public long latencyMax() {
+        return this.latencyMax;
+    }
+
+    public String toString() {
+        DecimalFormat formatter = new DecimalFormat("#,###");
+        StringBuilder builder = new StringBuilder()
+                .append("hits=").append(formatter.format(this.hitCount))
+                .append(", misses=").append(formatter.format(this.missCount))
+                .append(", hitRate=").append(String.format("%.2f%%", 100 * hitRate()))
+                .append(", evictions=").append(formatter.format(this.evictionCount));
+        if (this.loadCount > 0) builder.append(", loads=").append(formatter.format(this.loadCount))
+                .append(", avgLoadNanos=").append(formatter.format(averageLoadPenalty()));
+        if (this.latencyCount > 0) builder.append(", latencyNanos{p50=").append(formatter.format(this.latencyP50))
+                .append(", p90=").append(formatter.format(this.latencyP90))
+                .append(", p99=").append(formatter.format(this.latencyP99))
+                .append(", p99.9=").append(formatter.format(this.latencyP999))
+                .append(", max=").append(formatter.format(this.latencyMax)).append("}");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,69 @@
+package utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe stats counter for caches shared across threads.
+ * <p>
+ * A LongAdder spreads increments over a set of striped cells (one per contending thread, padded against false
+ * sharing) and only sums them up when read. Counting a hit is therefore an uncontended add in the common case, and
+ * taking a snapshot costs a handful of additions, cheap enough to be scraped every second.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public class ConcurrentStatsCounter implements StatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LatencyHistogram latencyHistogram; // null unless latencies are recorded
+
+    public ConcurrentStatsCounter() {
+        this(false);
+    }
+
+    public ConcurrentStatsCounter(boolean recordLatency) {
+        this.latencyHistogram = recordLatency ? new LatencyHistogram() : null;
+    }
+
+    @Override
+    public void recordHit() {
+        this.hitCount.increment();
+    }
+
+    @Override
+    public void recordMiss() {
+        this.missCount.increment();
+    }
+
+    @Override
+    public void recordEviction() {
+        this.evictionCount.increment();
+    }
+
+    @Override
+    public void recordLoadTime(long loadNanos) {
+        this.loadCount.increment();
+        this.totalLoadTime.add(loadNanos);
+    }
+
+    @Override
+    public void recordLatency(long latencyNanos) {
+        if (this.latencyHistogram != null) this.latencyHistogram.record(latencyNanos);
+    }
+
+    @Override
+    public boolean isRecordingLatency() {
+        return this.latencyHistogram != null;
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return new CacheStats(this.hitCount.sum(), this.missCount.sum(), this.evictionCount.sum(),
+                this.loadCount.sum(), this.totalLoadTime.sum(),
+                this.latencyHistogram != null ? this.latencyHistogram.snapshotCounts() : new long[0]);
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+/**
+ * Stats counter of caches that are not monitored
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+enum DisabledStatsCounter implements StatsCounter {
+    INSTANCE;
+
+    @Override
+    public void recordHit() {
+    }
+
+    @Override
+    public void recordMiss() {
+    }
+
+    @Override
+    public void recordEviction() {
+    }
+
+    @Override
+    public void recordLoadTime(long loadNanos) {
+    }
+
+    @Override
+    public void recordLatency(long latencyNanos) {
+    }
+
+    @Override
+    public boolean isRecordingLatency() {
+        return false;
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return CacheStats.EMPTY;
+    }
+}
@@ -91,6 +91,25 @@ public class FunIntAlgorithm extends FunAlgorithm {
 		return newArr;
 	}
 	
+	/**
+	 * Generate an array of integers in [0, range) following a Zipf distribution, i.e. value i is drawn with a
+	 * probability proportional to 1/(i+1)^skew. Value 0 is the most popular one. Handy for cache workloads.
+	 */
+	public static int[] genZipfIntArr(int size, int range, double skew) {
+		double[] cdf = new double[range];
+		double sum = 0;
+		for (int i=0; i<range; i++) {
+			sum += 1.0 / Math.pow(i + 1, skew);
+			cdf[i] = sum;
+		}
+		int[] arr = new int[size];
+		for (int i=0; i<size; i++) {
+			int idx = Arrays.binarySearch(cdf, ThreadLocalRandom.current().nextDouble() * sum);
+			arr[i] = idx >= 0 ? idx : -idx - 1; // insertion point is the first bucket covering the sample
+		}
+		return arr;
+	}
+	
     protected static void runIntFuncAndCalculateTime(String message, IntUnaryOperator intFunc, int value) throws Exception {
     	long startTime = System.nanoTime();
     	System.out.printf("%-70s%d\n", message, intFunc.applyAsInt(value));
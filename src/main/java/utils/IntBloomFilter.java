@@ -0,0 +1,103 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A blocked Bloom filter over int keys: it answers "definitely absent" or "maybe present", never wrongly "absent".
+ * <p>
+ * A classic Bloom filter sets k bits spread over the whole bit array, so a lookup touches up to k cache lines. Here
+ * all k bits of a key fall into the same 64-bit word, chosen by the top bits of a 64-bit hash while the lower bits
+ * pick the bits inside the word. A lookup is then one memory access and one mask comparison, at the price of a
+ * somewhat higher false positive rate for the same number of bits (about 2% instead of 1% at 10 bits per key).
+ * <p>
+ * Keys cannot be removed. Owners whose key set changes rebuild the filter with clear() and put() once enough stale
+ * keys have accumulated.
+ * <p>
+ * The filter is thread-safe: words are set with an atomic OR, so concurrent puts never lose each other's bits, and a
+ * key put is seen by every mightContain() that starts after the put returned. A clear() is not atomic as a whole,
+ * readers running alongside may see some words cleared and others not.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * https://www.cs.amherst.edu/~ccmcgeoch/cs34/papers/cacheefficientbloomfilters-jea.pdf
+ */
+public class IntBloomFilter {
+
+    private static final int MAX_HASH_COUNT = 6; // bit positions take 6 hash bits each, the word index the top ones
+
+    private final AtomicLongArray words;
+    private final int wordShift; // 64 - log2(number of words)
+    private final int hashCount;
+    private final int expectedKeys;
+    private final AtomicInteger keyCount = new AtomicInteger();
+
+    /**
+     * Filter sized for the given number of keys at the given bits per key (8 to 16 are typical)
+     */
+    public IntBloomFilter(int expectedKeys, int bitsPerKey) {
+        if (expectedKeys <= 0 || bitsPerKey <= 0) throw new IllegalArgumentException("Sizes must be positive!");
+        long bits = Math.max(64L, (long) expectedKeys * bitsPerKey);
+        int wordCount = 1;
+        while (wordCount < (bits + 63) >>> 6 && wordCount < 1 << 28) wordCount <<= 1; // a power of two, up to 2 GB
+        this.words = new AtomicLongArray(wordCount);
+        this.wordShift = 64 - Integer.numberOfTrailingZeros(wordCount);
+        this.hashCount = Math.max(1, Math.min(MAX_HASH_COUNT, (int) Math.round(bitsPerKey * Math.log(2))));
+        this.expectedKeys = expectedKeys;
+    }
+
+    /* MurmurHash3 finalizer, so that keys alike in some bits still get unrelated words and bits */
+    private static long mix(int key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private long mask(long hash) {
+        long mask = 0L;
+        for (int i = 0; i < this.hashCount; i++) mask |= 1L << (hash >>> (6 * i)); // shifts only use the low 6 bits
+        return mask;
+    }
+
+    private int wordIndex(long hash) {
+        return this.wordShift == 64 ? 0 : (int) (hash >>> this.wordShift);
+    }
+
+    public void put(int key) {
+        long hash = mix(key);
+        long mask = mask(hash);
+        int index = wordIndex(hash);
+        long word = this.words.get(index);
+        while ((word & mask) != mask && !this.words.compareAndSet(index, word, word | mask)) {
+            word = this.words.get(index);
+        }
+        this.keyCount.incrementAndGet();
+    }
+
+    public boolean mightContain(int key) {
+        long hash = mix(key);
+        long mask = mask(hash);
+        return (this.words.get(wordIndex(hash)) & mask) == mask;
+    }
+
+    public void clear() {
+        for (int i = 0; i < this.words.length(); i++) this.words.set(i, 0L);
+        this.keyCount.set(0);
+    }
+
+    /**
+     * Whether more keys were put since the last clear() than the filter was sized for, past which false positives
+     * climb quickly
+     */
+    public boolean isSaturated() {
+        return this.keyCount.get() > this.expectedKeys;
+    }
+
+    public long bitSize() {
+        return (long) this.words.length() << 6;
+    }
+}
@@ -0,0 +1,57 @@
+package utils;
+
+/**
+ * Common surface of the int to int caches in this repository (LRU and LFU flavours alike), so that they can be
+ * swapped behind the same call sites, benchmarked against each other and monitored the same way.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public interface IntCache {
+
+    /**
+     * Return the value cached under the key, marking it as used. A miss is reported by an exception, except for the
+     * LFU caches which follow the LintCode contract and return -1 instead.
+     */
+    int get(int key) throws Exception;
+
+    /**
+     * Return the value cached under the key, marking it as used, or the default value on a miss. Unlike get() a miss
+     * costs no exception. The default implementation checks contains() first and records no miss in the statistics,
+     * caches with an allocation-free lookup override it. Loading caches do not load here, only get() does.
+     */
+    default int getOrDefault(int key, int defaultValue) {
+        if (!contains(key)) return defaultValue;
+        try {
+            return get(key);
+        } catch (Exception e) { // gone in between, removed by another thread or expired
+            return defaultValue;
+        }
+    }
+
+    void set(int key, int value);
+
+    /**
+     * Check whether a key is cached without marking it as used
+     */
+    boolean contains(int key);
+
+    /**
+     * Number of entries currently cached
+     */
+    int size();
+
+    /**
+     * Start recording hits, misses, evictions and latencies into the given counter. Caches that do not support
+     * statistics ignore it.
+     */
+    default void recordStats(StatsCounter statsCounter) {
+    }
+
+    /**
+     * Point in time snapshot of the statistics recorded so far
+     */
+    default CacheStats stats() {
+        return CacheStats.EMPTY;
+    }
+}
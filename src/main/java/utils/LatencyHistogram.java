@@ -0,0 +1,70 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram in the spirit of HdrHistogram, with a relative error of at most 1/64 (about 1.6%) over
+ * the whole long range.
+ * <p>
+ * Values below 128 get a bucket each, exactly. Above that, every power of two [2^m, 2^(m+1)) is split into 64 equally
+ * wide buckets, so the bucket width grows with the value and never exceeds 1/64 of it. The bucket of a value is found with
+ * one leading zero count and two shifts, and the whole long range fits into 3,712 counters.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ * <p>
+ * http://hdrhistogram.org/
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << (SUB_BUCKET_BITS - 1); // 64
+    private static final int BUCKET_COUNT = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    static int bucketIndex(long value) {
+        if (value < 0) value = 0;
+        int shift = Math.max(0, (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1));
+        return SUB_BUCKET_HALF_COUNT * shift + (int) (value >>> shift);
+    }
+
+    /**
+     * Largest value falling into the given bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKET_HALF_COUNT) return index;
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long lowerBound = (long) (index - SUB_BUCKET_HALF_COUNT * shift) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    public void record(long value) {
+        this.counts.incrementAndGet(bucketIndex(value));
+    }
+
+    /**
+     * Copy the counters so that percentiles can be computed from a consistent-enough view without blocking writers
+     */
+    public long[] snapshotCounts() {
+        long[] snapshot = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) snapshot[i] = this.counts.get(i);
+        return snapshot;
+    }
+
+    /**
+     * Value at the given percentile (0-100] of a counts snapshot, reported as the upper bound of its bucket
+     */
+    public static long valueAtPercentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) total += count;
+        if (total == 0) return 0L;
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return bucketUpperBound(i);
+        }
+        return bucketUpperBound(counts.length - 1);
+    }
+}
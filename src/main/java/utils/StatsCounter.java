@@ -0,0 +1,38 @@
+package utils;
+
+/**
+ * Receives the events of a cache. Caches call it on their hot path, so an implementation must be cheap and
+ * thread-safe. The disabled counter does nothing at all, which the JIT compiles down to nothing.
+ *
+ * @author Ruifeng Ma
+ * @since 2026-Oct-17
+ */
+public interface StatsCounter {
+
+    void recordHit();
+
+    void recordMiss();
+
+    void recordEviction();
+
+    /**
+     * Time spent loading a value into the cache after a miss
+     */
+    void recordLoadTime(long loadNanos);
+
+    /**
+     * Time spent serving one cache operation
+     */
+    void recordLatency(long latencyNanos);
+
+    /**
+     * Callers check this before reading the clock, so that a counter without latency tracking costs no System.nanoTime()
+     */
+    boolean isRecordingLatency();
+
+    CacheStats snapshot();
+
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+}